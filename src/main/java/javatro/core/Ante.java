@@ -7,7 +7,7 @@ package javatro.core;
  */
 public class Ante {
     private static final int MAX_ANTE_COUNT = 8;
-    private static int anteCount;
+    private int anteCount;
     private Ante ante;
 
     /** Enum representing different blind levels with associated multipliers and names. */
@@ -92,7 +92,7 @@ public class Ante {
             throw new IllegalArgumentException(
                     "Ante count must be between 1 and " + MAX_ANTE_COUNT);
         }
-        Ante.anteCount = anteCount;
+        this.anteCount = anteCount;
     }
 
     /** Resets the ante to the first round with the small blind. */
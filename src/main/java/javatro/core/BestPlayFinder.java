@@ -0,0 +1,135 @@
+package javatro.core;
+
+import javatro.core.jokers.HeldJokers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Searches every playable subset of a holding hand and ranks the plays by the exact score {@link
+ * Score#getScore} would award. With 8 held cards this is at most 218 subsets of 1 to 5 cards, so a
+ * full search runs in microseconds and can back in-game hints as well as automated players.
+ */
+public final class BestPlayFinder {
+
+    /** Largest number of cards a poker hand can contain. */
+    private static final int MAX_PLAYED_CARDS = 5;
+
+    /** Private constructor to prevent instantiation of this utility class. */
+    private BestPlayFinder() {}
+
+    /**
+     * A candidate play: the chosen card positions, the hand they form and the resulting score.
+     *
+     * @param cardIndices Zero-based positions of the cards in the holding hand, ascending
+     * @param cards The cards played
+     * @param handType The poker hand formed by the cards
+     * @param score The score the play would earn
+     */
+    public record Play(
+            List<Integer> cardIndices, List<Card> cards, PokerHand.HandType handType, long score) {}
+
+    /**
+     * Finds the highest scoring plays for a holding hand.
+     *
+     * @param holdingHand The cards currently held
+     * @param heldJokers The jokers applied when scoring
+     * @param bossType The boss blind in effect
+     * @param minHandSize Minimum number of cards that must be played
+     * @param maxHandSize Maximum number of cards that may be played (capped at 5)
+     * @param topN Number of plays to return
+     * @return Up to {@code topN} plays, best first. Ties prefer plays using fewer cards.
+     * @throws JavatroException If a candidate hand cannot be scored
+     */
+    public static List<Play> findBestPlays(
+            List<Card> holdingHand,
+            HeldJokers heldJokers,
+            BossType bossType,
+            int minHandSize,
+            int maxHandSize,
+            int topN)
+            throws JavatroException {
+        assert holdingHand != null : "Holding hand cannot be null";
+        assert heldJokers != null : "Held jokers cannot be null";
+        assert topN > 0 : "Number of plays to return must be positive";
+
+        int handSize = holdingHand.size();
+        int minCards = Math.max(1, minHandSize);
+        int maxCards = Math.min(Math.min(MAX_PLAYED_CARDS, maxHandSize), handSize);
+        if (minCards > maxCards) {
+            return Collections.emptyList();
+        }
+
+        // Best plays so far, kept sorted by score (descending) as parallel arrays
+        int[] bestMasks = new int[topN];
+        long[] bestScores = new long[topN];
+        int found = 0;
+
+        Score score = new Score(bossType);
+        List<Card> candidate = new ArrayList<>(MAX_PLAYED_CARDS);
+
+        for (int mask = 1; mask < (1 << handSize); mask++) {
+            int cardCount = Integer.bitCount(mask);
+            if (cardCount < minCards || cardCount > maxCards) {
+                continue;
+            }
+
+            candidate.clear();
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                candidate.add(holdingHand.get(Integer.numberOfTrailingZeros(bits)));
+            }
+
+            PokerHand pokerHand = PokerHand.of(TableHandEvaluator.evaluate(candidate));
+            long candidateScore = score.getScore(pokerHand, candidate, heldJokers);
+
+            // Insert into the ranked arrays if it beats the current worst entry
+            int position = found;
+            while (position > 0
+                    && isBetter(candidateScore, mask, bestScores, bestMasks, position)) {
+                position--;
+            }
+            if (position >= topN) {
+                continue;
+            }
+            int last = Math.min(found, topN - 1);
+            System.arraycopy(bestScores, position, bestScores, position + 1, last - position);
+            System.arraycopy(bestMasks, position, bestMasks, position + 1, last - position);
+            bestScores[position] = candidateScore;
+            bestMasks[position] = mask;
+            found = Math.min(found + 1, topN);
+        }
+
+        List<Play> plays = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            plays.add(toPlay(holdingHand, bestMasks[i], bestScores[i]));
+        }
+        return plays;
+    }
+
+    /** Returns whether a candidate ranks above the entry just before {@code position}. */
+    private static boolean isBetter(
+            long score, int mask, long[] bestScores, int[] bestMasks, int position) {
+        long otherScore = bestScores[position - 1];
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        return Integer.bitCount(mask) < Integer.bitCount(bestMasks[position - 1]);
+    }
+
+    /** Expands a card bitmask into a {@link Play}. */
+    private static Play toPlay(List<Card> holdingHand, int mask, long score) {
+        List<Integer> indices = new ArrayList<>(Integer.bitCount(mask));
+        List<Card> cards = new ArrayList<>(Integer.bitCount(mask));
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int index = Integer.numberOfTrailingZeros(bits);
+            indices.add(index);
+            cards.add(holdingHand.get(index));
+        }
+        return new Play(
+                List.copyOf(indices),
+                List.copyOf(cards),
+                TableHandEvaluator.evaluate(cards),
+                score);
+    }
+}
@@ -1,5 +1,7 @@
 package javatro.core;
 
+import java.util.Random;
+
 /**
  * Represents the types of bosses available in the game. Each boss type modifies gameplay rules in
  * specific ways.
@@ -58,4 +60,16 @@ public enum BossType {
         assert randomIndex >= 0 && randomIndex < values().length - 1 : "Random index out of bounds";
         return values()[randomIndex + 1];
     }
+
+    /**
+     * Returns a random boss type (excluding NONE) drawn from the given source of randomness, so
+     * simulations can replay boss choices from a seed.
+     *
+     * @param random Source of randomness
+     * @return A randomly selected boss type
+     */
+    public static BossType getRandomBossType(Random random) {
+        assert random != null : "Random source cannot be null";
+        return values()[random.nextInt(values().length - 1) + 1];
+    }
 }
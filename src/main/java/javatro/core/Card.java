@@ -8,12 +8,54 @@ package javatro.core;
  */
 public record Card(Rank rank, Suit suit) {
 
+    /** Number of distinct card faces (13 ranks × 4 suits). */
+    public static final int DISTINCT_CARDS = 52;
+
+    /** Number of suits, used to pack a rank and suit into a single card index. */
+    public static final int SUIT_COUNT = 4;
+
+    /** Canonical instance of every card face, ordered by {@link #getIndex()}. */
+    private static final Card[] CARDS = new Card[DISTINCT_CARDS];
+
+    static {
+        for (Rank rank : Rank.values()) {
+            for (Suit suit : Suit.values()) {
+                CARDS[rank.ordinal() * SUIT_COUNT + suit.ordinal()] = new Card(rank, suit);
+            }
+        }
+    }
+
     /** Compact constructor to validate card components. */
     public Card {
         assert rank != null : "Rank must not be null";
         assert suit != null : "Suit must not be null";
     }
 
+    /**
+     * Returns the shared instance of the card with the given rank and suit. Cards are immutable, so
+     * the shared instance can be used anywhere a new card would be created.
+     *
+     * @param rank The rank of the card
+     * @param suit The suit of the card
+     * @return The canonical card instance
+     */
+    public static Card of(Rank rank, Suit suit) {
+        assert rank != null : "Rank must not be null";
+        assert suit != null : "Suit must not be null";
+        return CARDS[rank.ordinal() * SUIT_COUNT + suit.ordinal()];
+    }
+
+    /**
+     * Returns the shared instance of the card with the given packed index.
+     *
+     * @param index Packed card index in {@code [0, 52)}, as returned by {@link #getIndex()}
+     * @return The canonical card instance
+     */
+    public static Card fromIndex(int index) {
+        assert index >= 0 && index < DISTINCT_CARDS : "Card index out of range: " + index;
+        return CARDS[index];
+    }
+
     /**
      * Constructs a new card by copying an existing card instance.
      *
@@ -102,6 +144,16 @@ public record Card(Rank rank, Suit suit) {
         return rank.getChips();
     }
 
+    /**
+     * Returns the packed index of this card, {@code rank ordinal × 4 + suit ordinal}. The index lies
+     * in {@code [0, 52)} and identifies the card face, so duplicate cards share an index.
+     *
+     * @return Packed card index
+     */
+    public int getIndex() {
+        return rank.ordinal() * SUIT_COUNT + suit.ordinal();
+    }
+
     /**
      * Returns a human-readable string representation of the card. Format: "[Symbol] of [Suit]"
      * (e.g., "A of Hearts").
@@ -0,0 +1,186 @@
+package javatro.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Converts cards to and from compact primitive codes. A card's code is its packed index ({@link
+ * Card#getIndex()}), which fits in a single byte, so decks, hands and save data can carry cards as
+ * {@code byte} or {@code int} values and turn them back into the shared {@link Card} instances
+ * without allocating. Save-file strings such as {@code "10H"} are parsed with table lookups.
+ */
+public final class CardCodec {
+
+    /** Code returned when a card string cannot be parsed. */
+    public static final int INVALID = -1;
+
+    /** Save-file string of every card, ordered by card index. */
+    private static final String[] CARD_STRINGS = new String[Card.DISTINCT_CARDS];
+
+    /** Rank ordinal for each single rank character, or {@link #INVALID}. */
+    private static final int[] RANK_BY_CHAR = new int[128];
+
+    /** Suit ordinal for each suit character (either case), or {@link #INVALID}. */
+    private static final int[] SUIT_BY_CHAR = new int[128];
+
+    static {
+        Arrays.fill(RANK_BY_CHAR, INVALID);
+        Arrays.fill(SUIT_BY_CHAR, INVALID);
+        for (Card.Rank rank : Card.Rank.values()) {
+            String symbol = rank.getSymbol();
+            if (symbol.length() == 1) {
+                RANK_BY_CHAR[symbol.charAt(0)] = rank.ordinal();
+            }
+        }
+        for (Card.Suit suit : Card.Suit.values()) {
+            char suitChar = suitChar(suit);
+            SUIT_BY_CHAR[suitChar] = suit.ordinal();
+            SUIT_BY_CHAR[Character.toLowerCase(suitChar)] = suit.ordinal();
+        }
+        for (int index = 0; index < Card.DISTINCT_CARDS; index++) {
+            Card card = Card.fromIndex(index);
+            CARD_STRINGS[index] = card.rank().getSymbol() + suitChar(card.suit());
+        }
+    }
+
+    /** Private constructor to prevent instantiation of this utility class. */
+    private CardCodec() {}
+
+    /** Returns the save-file character of a suit. */
+    private static char suitChar(Card.Suit suit) {
+        return switch (suit) {
+            case HEARTS -> 'H';
+            case CLUBS -> 'C';
+            case SPADES -> 'S';
+            case DIAMONDS -> 'D';
+        };
+    }
+
+    /**
+     * Encodes a card as a single byte.
+     *
+     * @param card The card to encode
+     * @return The card's code
+     */
+    public static byte toByte(Card card) {
+        assert card != null : "Card cannot be null";
+        return (byte) card.getIndex();
+    }
+
+    /**
+     * Decodes a card code back into the shared card instance.
+     *
+     * @param code A card code in {@code [0, 52)}
+     * @return The canonical card instance
+     */
+    public static Card decode(int code) {
+        return Card.fromIndex(code);
+    }
+
+    /**
+     * Encodes a list of cards into a byte array, one byte per card.
+     *
+     * @param cards The cards to encode
+     * @return The card codes, in list order
+     */
+    public static byte[] encodeAll(List<Card> cards) {
+        assert cards != null : "Card list cannot be null";
+        byte[] codes = new byte[cards.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = toByte(cards.get(i));
+        }
+        return codes;
+    }
+
+    /**
+     * Decodes card codes and appends the shared card instances to a collection.
+     *
+     * @param codes The card codes
+     * @param offset Position of the first code to decode
+     * @param length Number of codes to decode
+     * @param out Collection the decoded cards are added to
+     */
+    public static void decodeAll(byte[] codes, int offset, int length, Collection<Card> out) {
+        assert codes != null : "Codes cannot be null";
+        assert out != null : "Output collection cannot be null";
+        for (int i = offset; i < offset + length; i++) {
+            out.add(Card.fromIndex(codes[i]));
+        }
+    }
+
+    /**
+     * Returns the save-file string of a card, such as {@code "10H"}. The strings are shared, so no
+     * allocation happens.
+     *
+     * @param card The card to convert
+     * @return The card string
+     */
+    public static String toCardString(Card card) {
+        assert card != null : "Card cannot be null";
+        return CARD_STRINGS[card.getIndex()];
+    }
+
+    /**
+     * Parses a save-file card string into a card code without allocating.
+     *
+     * @param cardString The card string, such as {@code "10H"} or {@code "As"}
+     * @return The card code, or {@link #INVALID} if the string is not a valid card
+     */
+    public static int parseCode(CharSequence cardString) {
+        assert cardString != null : "Card string cannot be null";
+        int rank = parseRank(cardString);
+        int suit = parseSuit(cardString);
+        if (rank == INVALID || suit == INVALID) {
+            return INVALID;
+        }
+        return rank * Card.SUIT_COUNT + suit;
+    }
+
+    /**
+     * Parses a save-file card string into the shared card instance.
+     *
+     * @param cardString The card string, such as {@code "10H"}
+     * @return The canonical card instance
+     * @throws IllegalArgumentException If the card string is invalid
+     */
+    public static Card parse(CharSequence cardString) {
+        assert cardString != null : "Card string cannot be null";
+        assert cardString.length() >= 2 : "Card string is too short";
+
+        int rank = parseRank(cardString);
+        if (rank == INVALID) {
+            throw new IllegalArgumentException(
+                    "Invalid rank: "
+                            + cardString.subSequence(0, Math.max(0, cardString.length() - 1)));
+        }
+        int suit = parseSuit(cardString);
+        if (suit == INVALID) {
+            throw new IllegalArgumentException(
+                    "Invalid suit: " + cardString.charAt(cardString.length() - 1));
+        }
+        return Card.fromIndex(rank * Card.SUIT_COUNT + suit);
+    }
+
+    /** Returns the rank ordinal of a card string, or {@link #INVALID}. */
+    private static int parseRank(CharSequence cardString) {
+        int length = cardString.length();
+        if (length == 2) {
+            char rankChar = cardString.charAt(0);
+            return rankChar < RANK_BY_CHAR.length ? RANK_BY_CHAR[rankChar] : INVALID;
+        }
+        if (length == 3 && cardString.charAt(0) == '1' && cardString.charAt(1) == '0') {
+            return Card.Rank.TEN.ordinal();
+        }
+        return INVALID;
+    }
+
+    /** Returns the suit ordinal of a card string, or {@link #INVALID}. */
+    private static int parseSuit(CharSequence cardString) {
+        if (cardString.length() == 0) {
+            return INVALID;
+        }
+        char suitChar = cardString.charAt(cardString.length() - 1);
+        return suitChar < SUIT_BY_CHAR.length ? SUIT_BY_CHAR[suitChar] : INVALID;
+    }
+}
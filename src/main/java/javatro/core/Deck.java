@@ -1,65 +1,92 @@
 package javatro.core;
 
-import javatro.storage.DataParser;
+import javatro.storage.RunRecord;
 import javatro.storage.Storage;
 import javatro.storage.StorageManager;
-import javatro.storage.utils.CardUtils;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
 
 /*
  * Holds all the free cards the player has
- * Contains an ArrayList of type Card: with 0 being the top of the deck
- * and ArrayList.size() being the bottom
+ * Cards are stored as packed card codes (see CardCodec) in a byte array, with a draw cursor
+ * marking the top of the deck: cards[top] is the top and cards[cards.length - 1] the bottom
  */
 public class Deck {
 
-    private ArrayList<Card> deck;
+    private byte[] cards;
+    private int top;
     private DeckType deckType;
 
+    /** Read-only view of the remaining cards, backed by the card array. */
+    private final List<Card> remainingView = new RemainingCardsView();
+
     /**
      * Initialize the deck with cards that the player owns If no new cards owned or a new game has
      * started, initializes a new deck
      */
     public Deck(DeckType deckType) {
         this.deckType = deckType;
-        this.deck = populateNewDeck(deckType);
+        this.cards = populateNewDeck(deckType);
+        this.top = 0;
+        shuffle();
     }
 
-    /** Copy Constructor for deck class */
+    /**
+     * Initializes a new deck of the given variant, shuffled with the given source of randomness.
+     *
+     * @param deckType The deck variant
+     * @param random Source of randomness for the initial shuffle
+     */
+    public Deck(DeckType deckType, Random random) {
+        this.deckType = deckType;
+        this.cards = populateNewDeck(deckType);
+        this.top = 0;
+        shuffle(random);
+    }
+
+    /** Copy Constructor for deck class, copying only the cards not yet drawn */
     Deck(Deck oldDeck) {
-        this.deck = new ArrayList<Card>(oldDeck.deck.size());
         this.deckType = oldDeck.deckType;
-        for (Card card : oldDeck.deck) {
-            this.deck.add(new Card(card));
-        }
+        this.cards =
+                oldDeck.top == 0
+                        ? oldDeck.cards.clone()
+                        : Arrays.copyOfRange(oldDeck.cards, oldDeck.top, oldDeck.cards.length);
+        this.top = 0;
     }
 
     /** Draws and returns a card from the top of the deck */
     public Card draw() throws JavatroException {
-        try {
-
-            return deck.remove(0);
-        } catch (IndexOutOfBoundsException e) {
+        if (top >= cards.length) {
             throw JavatroException.noCardsRemaining();
         }
+        return CardCodec.decode(cards[top++]);
     }
 
     /** Returns an integer containing the cards left in the deck */
     public int getRemainingCards() {
-        return deck.size();
+        return cards.length - top;
     }
 
     /** Returns an ArrayList containing all the remaining cards in the deck */
     public ArrayList<Card> getWholeDeck() {
-        ArrayList<Card> wholeDeckList = new ArrayList<Card>(deck.size());
-        for (Card card : deck) {
-            wholeDeckList.add(new Card(card));
-        }
+        return new ArrayList<Card>(remainingView);
+    }
 
-        return wholeDeckList;
+    /**
+     * Returns a read-only view of the remaining cards, top of the deck first. The view is backed
+     * by the deck, so it needs no copying and reflects later draws and shuffles.
+     *
+     * @return Unmodifiable live list of the remaining cards
+     */
+    public List<Card> getRemainingCardsView() {
+        return remainingView;
     }
 
     /** Returns an DeckType containing the deck variant you are using */
@@ -69,14 +96,30 @@ public class Deck {
 
     /** Shuffle the deck you are using */
     public void shuffle() {
-        Collections.shuffle(deck);
+        shuffle(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Shuffles the remaining cards with the given source of randomness, so simulations can replay
+     * a deck order from a seed.
+     *
+     * @param random Source of randomness
+     */
+    public void shuffle(Random random) {
+        assert random != null : "Random source cannot be null";
+        // Fisher-Yates shuffle over the cards not yet drawn
+        for (int i = cards.length - 1; i > top; i--) {
+            int j = top + random.nextInt(i - top + 1);
+            byte swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
     }
 
     /** Initialize a new deck for the game, based on the deckType given. */
-    private ArrayList<Card> populateNewDeck(DeckType deckType) {
-        ArrayList<Card> newDeck = new ArrayList<Card>();
+    private byte[] populateNewDeck(DeckType deckType) {
+        byte[] newDeck;
 
-        //
         if (deckType == DeckType.CHECKERED) {
             newDeck = populateNewCheckeredDeck();
         } else if (deckType == DeckType.ABANDONED) {
@@ -93,14 +136,11 @@ public class Deck {
      * Initialize a new shuffled 52 card deck for a new game Consists of the standard Poker Deck: 13
      * Cards of the 4 Suits
      */
-    private ArrayList<Card> populateDefaultDeck() {
-        ArrayList<Card> newDeck = new ArrayList<Card>();
-        for (Card.Rank rank : Card.Rank.values()) {
-            for (Card.Suit suit : Card.Suit.values()) {
-                newDeck.add(new Card(rank, suit));
-            }
+    private byte[] populateDefaultDeck() {
+        byte[] newDeck = new byte[Card.DISTINCT_CARDS];
+        for (int i = 0; i < newDeck.length; i++) {
+            newDeck[i] = (byte) i;
         }
-        Collections.shuffle(newDeck);
         return newDeck;
     }
 
@@ -109,36 +149,29 @@ public class Deck {
         int runIndex = storage.getRunChosen() - 1;
 
         // Retrieve current run data
-        ArrayList<String> runData = StorageManager.getInstance().getRunData(runIndex);
-        assert runData != null : "Run data should not be null";
-        assert runData.size() >= DataParser.START_OF_REST_OF_DECK + 44
-                : "Run data is incomplete or corrupted";
-
-        ArrayList<Card> newDeck = new ArrayList<>();
-
-        // Parse all cards in one go
-        for (int i = DataParser.START_OF_REST_OF_DECK;
-                i < DataParser.START_OF_REST_OF_DECK + 44;
-                i++) {
-            String cardString = runData.get(i);
-
-            if (!cardString.equals("-") && !cardString.equals("NA")) {
-                try {
-                    newDeck.add(CardUtils.parseCardString(cardString));
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Failed to parse card string: " + cardString);
-                }
+        RunRecord run = StorageManager.getInstance().getRun(runIndex);
+        assert run != null : "Run data should not be null";
+
+        byte[] newDeck = new byte[RunRecord.REST_OF_DECK_SIZE];
+        int count = 0;
+
+        // Collect all cards in one go
+        for (int i = 0; i < RunRecord.REST_OF_DECK_SIZE; i++) {
+            Card card = run.getDeckCard(i);
+            if (card != null) {
+                newDeck[count++] = CardCodec.toByte(card);
             }
         }
 
         Storage.isNewDeck = false;
 
         // Shuffle the deck and update the local deck variable
-        Collections.shuffle(newDeck);
-        deck = new ArrayList<>(newDeck);
+        cards = Arrays.copyOf(newDeck, count);
+        top = 0;
+        shuffle();
 
         // Save the updated deck to storage
-        StorageManager.getInstance().saveRunData(runIndex, runData);
+        StorageManager.getInstance().saveRun(runIndex, run);
 
         try {
             storage.updateSaveFile();
@@ -151,41 +184,52 @@ public class Deck {
      * Initialize a new shuffled 52 card deck for a new game Consists of the standard Poker Deck: 26
      * Cards of the 2 Suites: Spades and Hearts.
      */
-    private ArrayList<Card> populateNewCheckeredDeck() {
-        ArrayList<Card> newDeck = new ArrayList<Card>();
+    private byte[] populateNewCheckeredDeck() {
+        byte[] newDeck = new byte[Card.DISTINCT_CARDS];
+        int count = 0;
         for (Card.Rank rank : Card.Rank.values()) {
             // Populate for Hearts
-            Card.Suit suitHeart = Card.Suit.valueOf(Card.Suit.HEARTS.toString());
-            newDeck.add(new Card(rank, suitHeart));
-            newDeck.add(new Card(rank, suitHeart));
+            byte heart = CardCodec.toByte(Card.of(rank, Card.Suit.HEARTS));
+            newDeck[count++] = heart;
+            newDeck[count++] = heart;
             // Populate for Spades
-            Card.Suit suitSpades = Card.Suit.valueOf(Card.Suit.SPADES.toString());
-            newDeck.add(new Card(rank, suitSpades));
-            newDeck.add(new Card(rank, suitSpades));
+            byte spade = CardCodec.toByte(Card.of(rank, Card.Suit.SPADES));
+            newDeck[count++] = spade;
+            newDeck[count++] = spade;
         }
-        Collections.shuffle(newDeck);
         return newDeck;
     }
 
     /**
-     * Initialize a new shuffled 52 card deck for a new game Consists of the standard Poker Deck: 26
-     * Cards of the 2 Suites: Spades and Hearts.
+     * Initialize a new shuffled 40 card deck for a new game Consists of the standard Poker Deck
+     * without the Face Cards (Kings, Queens and Jacks).
      */
-    private ArrayList<Card> populateNewAbandonedDeck() {
-        ArrayList<Card> newDeck = new ArrayList<Card>();
-        Arrays.stream(Card.Rank.values())
-                .filter(
-                        rank ->
-                                rank != Card.Rank.KING
-                                        && rank != Card.Rank.QUEEN
-                                        && rank != Card.Rank.JACK)
-                .forEach(
-                        rank -> {
-                            Arrays.stream(Card.Suit.values())
-                                    .forEach(suit -> newDeck.add(new Card(rank, suit)));
-                        });
-        Collections.shuffle(newDeck);
-        return newDeck;
+    private byte[] populateNewAbandonedDeck() {
+        byte[] newDeck = new byte[Card.DISTINCT_CARDS];
+        int count = 0;
+        for (Card.Rank rank : Card.Rank.values()) {
+            if (rank == Card.Rank.KING || rank == Card.Rank.QUEEN || rank == Card.Rank.JACK) {
+                continue;
+            }
+            for (Card.Suit suit : Card.Suit.values()) {
+                newDeck[count++] = CardCodec.toByte(Card.of(rank, suit));
+            }
+        }
+        return Arrays.copyOf(newDeck, count);
+    }
+
+    /** Unmodifiable list over the cards between the draw cursor and the bottom of the deck. */
+    private class RemainingCardsView extends AbstractList<Card> implements RandomAccess {
+        @Override
+        public Card get(int index) {
+            Objects.checkIndex(index, size());
+            return CardCodec.decode(cards[top + index]);
+        }
+
+        @Override
+        public int size() {
+            return cards.length - top;
+        }
     }
 
     /**
@@ -0,0 +1,191 @@
+package javatro.core;
+
+import javatro.core.jokers.HeldJokers;
+import javatro.core.round.Round;
+import javatro.storage.RunRecord;
+import javatro.storage.Storage;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds all the state of one game run: the ante, round count, current round, deck, held jokers,
+ * planet card levels and poker hand play counts.
+ *
+ * <p>The command line game uses a single persistent context, returned by {@link #getDefault()},
+ * whose changes are written to the save file. Contexts created with {@link #GameContext()} are
+ * headless: they never touch storage, so many games can run side by side in one process for
+ * simulations and tests.
+ */
+public class GameContext {
+
+    /** The context backing the command line game, created on first use. */
+    private static GameContext defaultContext;
+
+    /** Whether changes to this context are written to the save file. */
+    private final boolean persistent;
+
+    /** Current enhancement level of each poker hand type. */
+    private final Map<PokerHand.HandType, Integer> planetLevels =
+            new EnumMap<>(PokerHand.HandType.class);
+
+    /** Number of times each poker hand type has been played. */
+    private final Map<PokerHand.HandType, Integer> playCounts =
+            new EnumMap<>(PokerHand.HandType.class);
+
+    private Ante ante;
+    private int roundCount;
+    private Round currentRound;
+    private Deck deck;
+    private HeldJokers heldJokers;
+    private int totalPlays = 4;
+
+    /** Creates a headless game context that is never saved. */
+    public GameContext() {
+        this(false);
+    }
+
+    /**
+     * Creates a game context.
+     *
+     * @param persistent Whether changes are written to the save file
+     */
+    private GameContext(boolean persistent) {
+        this.persistent = persistent;
+        this.ante = new Ante();
+        this.heldJokers = new HeldJokers(this);
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            planetLevels.put(handType, 1);
+            playCounts.put(handType, 0);
+        }
+    }
+
+    /**
+     * Returns the persistent context used by the command line game. Creating it does not touch
+     * storage; planet levels are loaded through {@link #loadPlanetLevels} once a run is chosen.
+     *
+     * @return The default game context
+     */
+    public static synchronized GameContext getDefault() {
+        if (defaultContext == null) {
+            defaultContext = new GameContext(true);
+        }
+        return defaultContext;
+    }
+
+    /**
+     * Loads planet levels from a saved run.
+     *
+     * @param run The saved chosen run
+     */
+    public void loadPlanetLevels(RunRecord run) {
+        assert run != null : "Run data should not be null";
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            planetLevels.put(handType, run.getPlanetLevel(handType));
+        }
+    }
+
+    /**
+     * Returns whether changes to this context should be written to the save file. Saving can also
+     * be switched off globally through {@link Storage#saveActive}.
+     *
+     * @return {@code true} if changes are persisted
+     */
+    public boolean isPersistent() {
+        return persistent && Storage.saveActive;
+    }
+
+    public Ante getAnte() {
+        return ante;
+    }
+
+    public void setAnte(Ante ante) {
+        this.ante = ante;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public void setRoundCount(int roundCount) {
+        this.roundCount = roundCount;
+    }
+
+    public Round getCurrentRound() {
+        return currentRound;
+    }
+
+    public void setCurrentRound(Round currentRound) {
+        this.currentRound = currentRound;
+    }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    public void setDeck(Deck deck) {
+        this.deck = deck;
+    }
+
+    public HeldJokers getHeldJokers() {
+        return heldJokers;
+    }
+
+    /** Replaces the held jokers with an empty set bound to this context. */
+    public void resetHeldJokers() {
+        this.heldJokers = new HeldJokers(this);
+    }
+
+    public int getTotalPlays() {
+        return totalPlays;
+    }
+
+    public void setTotalPlays(int totalPlays) {
+        this.totalPlays = totalPlays;
+    }
+
+    /**
+     * Returns the live map of planet levels, keyed by poker hand type.
+     *
+     * @return Mutable map of planet levels
+     */
+    public Map<PokerHand.HandType, Integer> getPlanetLevels() {
+        return planetLevels;
+    }
+
+    /**
+     * Gets the current enhancement level for a hand type.
+     *
+     * @param handType Poker hand type to check
+     * @return Current level (minimum 1)
+     */
+    public int getPlanetLevel(PokerHand.HandType handType) {
+        return planetLevels.get(handType);
+    }
+
+    /**
+     * Raises the enhancement level of a hand type by one.
+     *
+     * @param handType Poker hand type to enhance
+     */
+    public void levelUpPlanet(PokerHand.HandType handType) {
+        planetLevels.merge(handType, 1, Integer::sum);
+    }
+
+    /** Resets the play count of every poker hand type to zero. */
+    public void resetPlayCounts() {
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            playCounts.put(handType, 0);
+        }
+    }
+
+    /** Gets the play count for a specific hand type */
+    public int getPlayCount(PokerHand.HandType handType) {
+        return playCounts.getOrDefault(handType, 0);
+    }
+
+    /** Increments the play count for a specific hand type */
+    public void incrementPlayCount(PokerHand.HandType handType) {
+        playCounts.merge(handType, 1, Integer::sum);
+    }
+}
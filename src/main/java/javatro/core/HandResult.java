@@ -34,6 +34,36 @@ import java.util.Map;
  */
 public class HandResult {
 
+    /** The evaluator used by {@link #evaluateHand(List)}. */
+    private static volatile Engine engine = Engine.TABLE;
+
+    /** Available hand evaluation engines. Both give identical results for 1 to 5 cards. */
+    public enum Engine {
+        /** Map-based evaluator that counts ranks and suits in hash maps. */
+        CLASSIC,
+        /** Allocation-free evaluator backed by {@link TableHandEvaluator}. */
+        TABLE
+    }
+
+    /**
+     * Selects the engine used by {@link #evaluateHand(List)}.
+     *
+     * @param engine The engine to use from now on
+     */
+    public static void setEngine(Engine engine) {
+        assert engine != null : "Engine cannot be null";
+        HandResult.engine = engine;
+    }
+
+    /**
+     * Returns the engine currently used by {@link #evaluateHand(List)}.
+     *
+     * @return The active engine
+     */
+    public static Engine getEngine() {
+        return engine;
+    }
+
     /**
      * Evaluates the poker hand based on the given list of cards.
      *
@@ -47,6 +77,19 @@ public class HandResult {
             throw JavatroException.invalidPlayedHand(1, 5);
         }
 
+        if (engine == Engine.TABLE) {
+            return PokerHand.of(TableHandEvaluator.evaluate(cards));
+        }
+        return evaluateClassic(cards);
+    }
+
+    /**
+     * Evaluates the poker hand using the map-based classic engine.
+     *
+     * @param cards A list of 1 to 5 cards to evaluate.
+     * @return A `PokerHand` object representing the evaluated hand.
+     */
+    private static PokerHand evaluateClassic(List<Card> cards) {
         // First check for Flush Five (all cards identical)
         if (isFlushFive(cards)) {
             return new PokerHand(FLUSH_FIVE);
@@ -7,47 +7,41 @@ package javatro.core;
 import javatro.core.Deck.DeckType;
 import javatro.core.jokers.HeldJokers;
 import javatro.core.round.Round;
-import javatro.storage.DataParser;
+import javatro.storage.RunRecord;
 import javatro.storage.Storage;
 import javatro.storage.StorageManager;
 import javatro.storage.utils.CardUtils;
 
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
-/** The core game logic class that manages the game state and rounds. */
+/**
+ * The core game logic class that manages the game state and rounds. All run state lives in a
+ * {@link GameContext}; the static accessors read the context of the command line game.
+ */
 public class JavatroCore {
 
-    // 1. Constants (Static Final)
     /** The Storage instance used for saving and retrieving data. */
     private static final Storage storage = Storage.getStorageInstance();
 
-    /** Stores the play counts for each poker hand type */
-    private static final Map<PokerHand.HandType, Integer> pokerHandPlayCounts =
-            new EnumMap<>(PokerHand.HandType.class);
-
-    /** The current round count of the game. */
-    protected static int roundCount;
-
-    // 3. Static Protected Variables (Protected APIs)
-    /** The current ante for the game. */
-    protected static Ante ante;
+    /** The game whose rounds this instance drives. */
+    private final GameContext context;
 
-    // 2. Static Public Variables (Public APIs)
-    /** The current active round in the game. */
-    public static Round currentRound;
-
-    /** The deck used throughout the game. (A copy of this deck is made for every new Round) */
-    public static Deck deck;
-
-    /** The held jokers used throughout the game. */
-    public static HeldJokers heldJokers;
+    /** Creates a game core driving the command line game. */
+    public JavatroCore() {
+        this(GameContext.getDefault());
+    }
 
-    /** The number of plays given per round (Default value = 4). */
-    public static int totalPlays;
+    /**
+     * Creates a game core driving the given game.
+     *
+     * @param context The game to drive
+     */
+    public JavatroCore(GameContext context) {
+        assert context != null : "Game context cannot be null";
+        this.context = context;
+    }
 
     // @author swethaiscool
     /**
@@ -56,7 +50,7 @@ public class JavatroCore {
      * @return the current {@link Ante} instance
      */
     public static Ante getAnte() {
-        return ante;
+        return GameContext.getDefault().getAnte();
     }
 
     /**
@@ -65,35 +59,100 @@ public class JavatroCore {
      * @return the current round count
      */
     public static int getRoundCount() {
-        return roundCount;
+        return GameContext.getDefault().getRoundCount();
+    }
+
+    /**
+     * Retrieves the current active round in the game.
+     *
+     * @return the current {@link Round}
+     */
+    public static Round getCurrentRound() {
+        return GameContext.getDefault().getCurrentRound();
+    }
+
+    /**
+     * Sets the current active round in the game.
+     *
+     * @param round the round to make current
+     */
+    public static void setCurrentRound(Round round) {
+        GameContext.getDefault().setCurrentRound(round);
+    }
+
+    /**
+     * Retrieves the deck used throughout the game. A copy of this deck is made for every new Round.
+     *
+     * @return the game's {@link Deck}
+     */
+    public static Deck getDeck() {
+        return GameContext.getDefault().getDeck();
+    }
+
+    /**
+     * Sets the deck used throughout the game.
+     *
+     * @param deck the new deck
+     */
+    public static void setDeck(Deck deck) {
+        GameContext.getDefault().setDeck(deck);
+    }
+
+    /**
+     * Retrieves the held jokers used throughout the game.
+     *
+     * @return the game's {@link HeldJokers}
+     */
+    public static HeldJokers getHeldJokers() {
+        return GameContext.getDefault().getHeldJokers();
+    }
+
+    /**
+     * Retrieves the number of plays given per round (Default value = 4).
+     *
+     * @return the number of plays per round
+     */
+    public static int getTotalPlays() {
+        return GameContext.getDefault().getTotalPlays();
+    }
+
+    /**
+     * Returns the game this instance drives.
+     *
+     * @return the game context
+     */
+    public GameContext getContext() {
+        return context;
     }
 
     /** Advances the game to the next round, updating the ante and incrementing the round count. */
     public void nextRound() {
+        Ante ante = context.getAnte();
         ante.nextRound();
-        roundCount++;
+        context.setRoundCount(context.getRoundCount() + 1);
         Round nextRound = classicRound();
 
-        // Prepare all the data to be saved
+        // Update the saved run with the new round
         int runIndex = storage.getRunChosen() - 1;
-
-        List<String> roundData = new ArrayList<>();
-        roundData.add(String.valueOf(roundCount)); // Update Round Count
-        roundData.add(String.valueOf(ante.getAnteCount())); // Update Ante Count
-        roundData.add(ante.getBlind().getName()); // Update Blind
-
-        // Update Holding Hand
-        for (int i = 0; i < 8; i++) {
-            assert nextRound != null;
-            Card currentCard = nextRound.getPlayerHandCards().get(i);
-            roundData.add(CardUtils.cardToString(currentCard)); // Update Holding Hand Cards
-        }
-
-        // Delegate the update to StorageManager
-        StorageManager.getInstance().updateRoundData(runIndex, roundData);
+        assert nextRound != null;
+        StorageManager.getInstance()
+                .updateRun(
+                        runIndex,
+                        run -> {
+                            run.setRoundNumber(context.getRoundCount());
+                            run.setAnteNumber(ante.getAnteCount());
+                            run.setBlind(ante.getBlind());
+
+                            // Update Holding Hand
+                            for (int i = 0; i < RunRecord.HOLDING_HAND_SIZE; i++) {
+                                run.setHoldingCard(i, nextRound.getPlayerHandCards().get(i));
+                            }
+                        });
 
         // Update deck
-        deck = new Deck(CardUtils.deckFromKey(storage.getValue(runIndex, DataParser.DECK_INDEX)));
+        DeckType deckType = StorageManager.getInstance().getRunSummary(runIndex).getDeck();
+        assert deckType != null : "Run should have a deck";
+        context.setDeck(new Deck(deckType));
         Storage.isNewDeck = true;
 
         startNewRound(nextRound);
@@ -105,30 +164,30 @@ public class JavatroCore {
      * @param deckType The type of deck to be used for the new game.
      */
     public void setupNewGame(DeckType deckType) {
-        ante = new Ante();
+        Ante ante = new Ante();
+        context.setAnte(ante);
 
         // Fetch all relevant data for the current run in one go
         int runIndex = storage.getRunChosen() - 1;
-        ArrayList<String> runData = StorageManager.getInstance().getRunData(runIndex);
+        RunRecord run = StorageManager.getInstance().getRun(runIndex);
 
-        assert runData != null : "Run data should not be null";
-        assert runData.size() > DataParser.JOKER_HAND_START_INDEX + 5
-                : "Run data is incomplete or corrupted";
+        assert run != null : "Run data should not be null";
+        assert run.getBlind() != null : "Run data is incomplete or corrupted";
 
         // Initialize ante and round count
-        ante.setBlind(CardUtils.blindFromKey(runData.get(DataParser.BLIND_INDEX)));
-        ante.setAnteCount(Integer.parseInt(runData.get(DataParser.ANTE_NUMBER_INDEX)));
-        roundCount = Integer.parseInt(runData.get(DataParser.ROUND_NUMBER_INDEX));
+        ante.setBlind(run.getBlind());
+        ante.setAnteCount(run.getAnteNumber());
+        context.setRoundCount(run.getRoundNumber());
+        context.loadPlanetLevels(run);
 
-        totalPlays = 4;
-        heldJokers = new HeldJokers();
+        context.setTotalPlays(4);
+        context.resetHeldJokers();
+        HeldJokers heldJokers = context.getHeldJokers();
 
         // Update Jokers
-        for (int i = DataParser.JOKER_HAND_START_INDEX;
-                i < DataParser.JOKER_HAND_START_INDEX + 5;
-                i++) {
-            String jokerString = runData.get(i);
-            if (jokerString.equals("-") || jokerString.equals("NA")) {
+        for (int i = 0; i < RunRecord.JOKER_SLOTS; i++) {
+            String jokerString = run.getJoker(i);
+            if (jokerString == null) {
                 continue;
             }
 
@@ -139,25 +198,24 @@ public class JavatroCore {
             }
         }
 
-        deck = new Deck(deckType);
+        context.setDeck(new Deck(deckType));
     }
 
     /**
      * Starts a new round and assigns it to the current round.
      *
-     * @param round The new round to start.
+     * @param currentRound The new round to start.
      */
-    private static void startNewRound(Round round) {
-        currentRound = round;
+    private void startNewRound(Round currentRound) {
+        context.setCurrentRound(currentRound);
+        Deck deck = context.getDeck();
         // Set round number, discards and hands
         assert currentRound != null;
 
-        int savedPlays =
-                Integer.parseInt(
-                        storage.getValue(storage.getRunChosen() - 1, DataParser.HAND_INDEX));
-        int savedDiscards =
-                Integer.parseInt(
-                        storage.getValue(storage.getRunChosen() - 1, DataParser.DISCARD_INDEX));
+        int runIndex = storage.getRunChosen() - 1;
+        RunRecord run = StorageManager.getInstance().getRun(runIndex);
+        int savedPlays = run.getHands();
+        int savedDiscards = run.getDiscards();
 
         if (savedPlays == -1) {
             savedPlays = 4;
@@ -175,15 +233,15 @@ public class JavatroCore {
                         ? savedDiscards + 1
                         : savedDiscards);
 
-        // Collect all the data that needs to be updated
-        int runIndex = storage.getRunChosen() - 1;
-        List<String> roundData = new ArrayList<>();
-        roundData.add(String.valueOf(currentRound.getRemainingPlays())); // HAND_INDEX
-        roundData.add(String.valueOf(currentRound.getRemainingDiscards())); // DISCARD_INDEX
-        roundData.add(String.valueOf(currentRound.getCurrentScore())); // ROUND_SCORE_INDEX
-
-        // Update StorageManager in one go
-        StorageManager.getInstance().updateNewRoundData(runIndex, roundData);
+        // Update the saved run in one go
+        StorageManager.getInstance()
+                .updateRun(
+                        runIndex,
+                        saved -> {
+                            saved.setHands(currentRound.getRemainingPlays());
+                            saved.setDiscards(currentRound.getRemainingDiscards());
+                            saved.setRoundScore(currentRound.getCurrentScore());
+                        });
 
         try {
             storage.updateSaveFile();
@@ -197,13 +255,22 @@ public class JavatroCore {
      *
      * @return A {@code Round} instance configured as a classic round.
      */
-    private static Round classicRound() {
+    private Round classicRound() {
+        Ante ante = context.getAnte();
         Deck d;
         try {
-            d = new Deck(deck);
+            d = new Deck(context.getDeck());
             d.shuffle();
-            return new Round(
-                    ante, 4, d, heldJokers, ante.getBlind().getName(), ante.getBlind().getName());
+            Round round =
+                    new Round(
+                            ante,
+                            4,
+                            d,
+                            context.getHeldJokers(),
+                            ante.getBlind().getName(),
+                            ante.getBlind().getName());
+            round.setPersistent(context.isPersistent());
+            return round;
         } catch (JavatroException javatroException) {
             System.out.println(javatroException.getMessage());
         }
@@ -217,34 +284,28 @@ public class JavatroCore {
     public void beginGame() {
         Round newRound = Objects.requireNonNull(classicRound());
 
+        RunRecord run = StorageManager.getInstance().getRun(storage.getRunChosen() - 1);
+
         // Update Score
-        newRound.setCurrentScore(
-                Integer.parseInt(
-                        storage.getValue(
-                                storage.getRunChosen() - 1, DataParser.ROUND_SCORE_INDEX)));
+        newRound.setCurrentScore(Math.toIntExact(run.getRoundScore()));
 
-        // Check if the deck is empty (all "NA")
+        // Check if the deck is empty
         boolean allRestOfDeckEmpty = true;
-        for (int i = DataParser.START_OF_REST_OF_DECK;
-                i < DataParser.START_OF_REST_OF_DECK + 44;
-                i++) {
-            String cardValue = storage.getValue(storage.getRunChosen() - 1, i);
-            if (!cardValue.equals("-") && !cardValue.equals("NA")) {
+        for (int i = 0; i < RunRecord.REST_OF_DECK_SIZE; i++) {
+            if (run.getDeckCard(i) != null) {
                 allRestOfDeckEmpty = false;
                 break;
             }
         }
 
-        // Check if the holding hand is empty (all "NA")
+        // Check if the holding hand is empty
         boolean allHoldingHandEmpty = true;
         List<Card> savedCards = new ArrayList<>();
-        for (int i = DataParser.HOLDING_HAND_START_INDEX;
-                i < DataParser.HOLDING_HAND_START_INDEX + 8;
-                i++) {
-            String cardValue = storage.getValue(storage.getRunChosen() - 1, i);
-            if (!cardValue.equals("-") && !cardValue.equals("NA")) {
+        for (int i = 0; i < RunRecord.HOLDING_HAND_SIZE; i++) {
+            Card card = run.getHoldingCard(i);
+            if (card != null) {
                 allHoldingHandEmpty = false;
-                savedCards.add(CardUtils.parseCardString(cardValue));
+                savedCards.add(card);
             }
         }
 
@@ -255,13 +316,11 @@ public class JavatroCore {
         }
 
         // Update Jokers
-        for (int i = DataParser.JOKER_HAND_START_INDEX;
-                i < DataParser.JOKER_HAND_START_INDEX + 5;
-                i++) {
-            String jokerName = storage.getValue(storage.getRunChosen() - 1, i);
-            if (!jokerName.equals("-") && !jokerName.equals("NA")) {
+        for (int i = 0; i < RunRecord.JOKER_SLOTS; i++) {
+            String jokerName = run.getJoker(i);
+            if (jokerName != null) {
                 try {
-                    heldJokers.add(CardUtils.parseJokerString(jokerName));
+                    context.getHeldJokers().add(CardUtils.parseJokerString(jokerName));
                 } catch (JavatroException e) {
                     throw new RuntimeException(e);
                 }
@@ -273,18 +332,16 @@ public class JavatroCore {
 
     /** Initializes poker hand play counts at game start */
     public static void initializePokerHandStats() {
-        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
-            pokerHandPlayCounts.put(handType, 0);
-        }
+        GameContext.getDefault().resetPlayCounts();
     }
 
     /** Gets the play count for a specific hand type */
     public static int getPlayCount(PokerHand.HandType handType) {
-        return pokerHandPlayCounts.getOrDefault(handType, 0);
+        return GameContext.getDefault().getPlayCount(handType);
     }
 
     /** Increments the play count for a specific hand type */
     public static void incrementPlayCount(PokerHand.HandType handType) {
-        pokerHandPlayCounts.put(handType, getPlayCount(handType) + 1);
+        GameContext.getDefault().incrementPlayCount(handType);
     }
 }
@@ -1,29 +1,27 @@
 // @@author Markneoneo
 package javatro.core;
 
-import javatro.storage.DataParser;
 import javatro.storage.Storage;
 import javatro.storage.StorageManager;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Represents a planet card associated with a specific poker hand type. Each card provides chip and
- * multiplier increments and can be leveled up to increase these bonuses. Maintains static level
- * tracking for all hand types.
+ * multiplier increments and can be leveled up to increase these bonuses. Levels are tracked per
+ * game by {@link GameContext}.
  *
  * <p>Predefined cards are initialized statically and accessed through factory methods. Level
  * management affects all instances of a particular hand type.
  */
 public class PlanetCard {
     /**
-     * Maps each poker hand type to its current enhancement level. Initialized to level 1 for all
-     * hand types.
+     * Maps each poker hand type to its current enhancement level in the command line game. This is
+     * the live level map of {@link GameContext#getDefault()}.
      */
     public static final Map<PokerHand.HandType, Integer> LEVELS =
-            new EnumMap<>(PokerHand.HandType.class);
+            GameContext.getDefault().getPlanetLevels();
 
     /**
      * Registry of all predefined planet cards mapped to their corresponding hand types. Populated
@@ -33,63 +31,6 @@ public class PlanetCard {
             new EnumMap<>(PokerHand.HandType.class);
 
     static {
-        Storage storage = Storage.getStorageInstance();
-        int runIndex = storage.getRunChosen() - 1;
-
-        if (runIndex >= 0 && runIndex < storage.getNumberOfRuns()) {
-            // Fetch all relevant data for the current run in one go
-            ArrayList<String> runData = StorageManager.getInstance().getRunData(runIndex);
-
-            assert runData != null : "Run data should not be null";
-            assert runData.size() > DataParser.FLUSH_FIVE_INDEX
-                    : "Run data is incomplete or corrupted";
-
-            // Load levels from storage
-            LEVELS.put(
-                    PokerHand.HandType.HIGH_CARD,
-                    Integer.parseInt(runData.get(DataParser.HIGH_CARD_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.PAIR, Integer.parseInt(runData.get(DataParser.PAIR_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.TWO_PAIR,
-                    Integer.parseInt(runData.get(DataParser.TWO_PAIR_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.THREE_OF_A_KIND,
-                    Integer.parseInt(runData.get(DataParser.THREE_OF_A_KIND_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.STRAIGHT,
-                    Integer.parseInt(runData.get(DataParser.STRAIGHT_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.FLUSH,
-                    Integer.parseInt(runData.get(DataParser.FLUSH_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.FULL_HOUSE,
-                    Integer.parseInt(runData.get(DataParser.FULL_HOUSE_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.FOUR_OF_A_KIND,
-                    Integer.parseInt(runData.get(DataParser.FOUR_OF_A_KIND_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.STRAIGHT_FLUSH,
-                    Integer.parseInt(runData.get(DataParser.STRAIGHT_FLUSH_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.ROYAL_FLUSH,
-                    Integer.parseInt(runData.get(DataParser.ROYAL_FLUSH_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.FIVE_OF_A_KIND,
-                    Integer.parseInt(runData.get(DataParser.FIVE_OF_A_KIND_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.FLUSH_HOUSE,
-                    Integer.parseInt(runData.get(DataParser.FLUSH_HOUSE_INDEX)));
-            LEVELS.put(
-                    PokerHand.HandType.FLUSH_FIVE,
-                    Integer.parseInt(runData.get(DataParser.FLUSH_FIVE_INDEX)));
-        } else {
-            // Set default levels if no valid run data is found
-            for (PokerHand.HandType handType : PokerHand.HandType.values()) {
-                LEVELS.put(handType, 1);
-            }
-        }
-
         // Populate predefined planet cards with their configurations
         CARDS.put(
                 PokerHand.HandType.HIGH_CARD,
@@ -192,7 +133,7 @@ public class PlanetCard {
      * @return Current level (minimum 1)
      */
     public static int getLevel(PokerHand.HandType handType) {
-        return LEVELS.get(handType);
+        return GameContext.getDefault().getPlanetLevel(handType);
     }
 
     /**
@@ -234,64 +175,39 @@ public class PlanetCard {
     }
 
     /**
-     * Enhances this card's associated hand type by one level. Affects all instances using this hand
-     * type.
+     * Enhances this card's associated hand type by one level in the command line game. Affects all
+     * instances using this hand type.
      */
     public void apply() {
+        apply(GameContext.getDefault());
+    }
+
+    /**
+     * Enhances this card's associated hand type by one level in the given game, saving the new
+     * levels if the game is persistent.
+     *
+     * @param context The game whose planet levels are raised
+     */
+    public void apply(GameContext context) {
+        assert context != null : "Game context cannot be null";
         // Increment the level for the specified hand type
-        LEVELS.put(handType, LEVELS.get(handType) + 1);
+        context.levelUpPlanet(handType);
+        if (!context.isPersistent()) {
+            return;
+        }
 
         Storage storage = Storage.getStorageInstance();
         int runIndex = storage.getRunChosen() - 1;
 
-        // Fetch current run data from StorageManager
-        ArrayList<String> runData = StorageManager.getInstance().getRunData(runIndex);
-        assert runData != null : "Run data should not be null";
-        assert runData.size() > DataParser.FLUSH_FIVE_INDEX : "Run data is incomplete or corrupted";
-
-        // Update Planet Card Levels in the runData list
-        runData.set(
-                DataParser.HIGH_CARD_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.HIGH_CARD)));
-        runData.set(
-                DataParser.PAIR_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.PAIR)));
-        runData.set(
-                DataParser.TWO_PAIR_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.TWO_PAIR)));
-        runData.set(
-                DataParser.THREE_OF_A_KIND_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.THREE_OF_A_KIND)));
-        runData.set(
-                DataParser.STRAIGHT_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.STRAIGHT)));
-        runData.set(
-                DataParser.FLUSH_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.FLUSH)));
-        runData.set(
-                DataParser.FULL_HOUSE_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.FULL_HOUSE)));
-        runData.set(
-                DataParser.FOUR_OF_A_KIND_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.FOUR_OF_A_KIND)));
-        runData.set(
-                DataParser.STRAIGHT_FLUSH_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.STRAIGHT_FLUSH)));
-        runData.set(
-                DataParser.ROYAL_FLUSH_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.ROYAL_FLUSH)));
-        runData.set(
-                DataParser.FIVE_OF_A_KIND_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.FIVE_OF_A_KIND)));
-        runData.set(
-                DataParser.FLUSH_HOUSE_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.FLUSH_HOUSE)));
-        runData.set(
-                DataParser.FLUSH_FIVE_INDEX,
-                String.valueOf(PlanetCard.getLevel(PokerHand.HandType.FLUSH_FIVE)));
-
-        // Save the updated run data back to the storage manager in one operation
-        StorageManager.getInstance().saveRunData(runIndex, runData);
+        // Update Planet Card Levels in the run in one operation
+        StorageManager.getInstance()
+                .updateRun(
+                        runIndex,
+                        run -> {
+                            for (PokerHand.HandType type : PokerHand.HandType.values()) {
+                                run.setPlanetLevel(type, context.getPlanetLevel(type));
+                            }
+                        });
 
         // Update save file
         try {
@@ -10,6 +10,27 @@ package javatro.core;
  */
 public record PokerHand(HandType handType) {
 
+    /** Shared instances, one per hand type, indexed by ordinal. */
+    private static final PokerHand[] CACHED = new PokerHand[HandType.values().length];
+
+    static {
+        for (HandType handType : HandType.values()) {
+            CACHED[handType.ordinal()] = new PokerHand(handType);
+        }
+    }
+
+    /**
+     * Returns the shared {@code PokerHand} for a hand type. The record holds no per-hand state, so
+     * one instance per type can be reused freely.
+     *
+     * @param handType The hand type to look up
+     * @return Cached instance for the hand type
+     */
+    public static PokerHand of(HandType handType) {
+        assert handType != null : "Hand type cannot be null";
+        return CACHED[handType.ordinal()];
+    }
+
     /**
      * Calculates the total chip value adjusted by the hand's current progression level. Formula:
      * base_chips + (current_level - 1) * level_increment
@@ -17,8 +38,17 @@ public record PokerHand(HandType handType) {
      * @return Total chips adjusted for current level
      */
     public int getChips() {
+        return getChips(PlanetCard.getLevel(handType));
+    }
+
+    /**
+     * Calculates the total chip value of the hand at the given progression level.
+     *
+     * @param level The planet level of the hand type
+     * @return Total chips adjusted for the level
+     */
+    public int getChips(int level) {
         int base = handType.getChips();
-        int level = PlanetCard.getLevel(handType);
         assert level >= 1 : "Level must be ≥ 1";
         int chipIncrement = PlanetCard.getChipIncrement(handType);
 
@@ -32,8 +62,17 @@ public record PokerHand(HandType handType) {
      * @return Total multiplier adjusted for current level
      */
     public int getMultiplier() {
+        return getMultiplier(PlanetCard.getLevel(handType));
+    }
+
+    /**
+     * Calculates the multiplier value of the hand at the given progression level.
+     *
+     * @param level The planet level of the hand type
+     * @return Total multiplier adjusted for the level
+     */
+    public int getMultiplier(int level) {
         int base = handType.getMultiplier();
-        int level = PlanetCard.getLevel(handType);
         assert level >= 1 : "Level must be ≥ 1";
         int multiIncrement = PlanetCard.getMultiIncrement(handType);
 
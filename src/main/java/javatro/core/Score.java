@@ -3,16 +3,15 @@ package javatro.core;
 import javatro.core.jokers.HeldJokers;
 import javatro.core.jokers.Joker;
 
-import java.util.ArrayList;
 import java.util.List;
 
-/** Contains the algorithm for calculating the final score and played hand. */
+/**
+ * Contains the algorithm for calculating the final score and played hand. A Score holds no state
+ * between hands: each call to {@link #getScore} works on its own {@link ScoreContext}, so one
+ * instance can be shared by many threads.
+ */
 public class Score {
     private final BossType bossType;
-    public static List<Card> playedCardsList;
-    public ArrayList<Joker> jokerList;
-    public double totalChips = 0;
-    public double totalMultiplier = 0;
 
     /** Default constructor */
     public Score() {
@@ -38,101 +37,40 @@ public class Score {
         return (long) Math.ceil(Math.round(totalChips) * Math.round(totalMultiplier));
     }
 
-    /** Returns the score of the played hand by calculating the value of the hand. */
+    /**
+     * Returns the score of the played hand by calculating the value of the hand. Card and joker
+     * effects are read from the {@link ScoringPlan} cached by {@code heldJokers}, which is only
+     * recompiled when the jokers or the boss blind change. Safe to call from multiple threads.
+     */
     public long getScore(PokerHand pokerHand, List<Card> playedCardList, HeldJokers heldJokers)
             throws JavatroException {
 
-        // Highlight any boss blind effects that apply here
-        // Cannot play suits, cannot play Face Cards, Must play 5 cards
-        jokerList = heldJokers.getJokers();
-        playedCardsList = playedCardList;
+        // Boss blind effects (cannot play suits, cannot play face cards) are compiled into the plan
+        ScoringPlan plan = heldJokers.getScoringPlan(bossType);
 
-        // First add pokerHand's chip and mult base to the scores.
-        totalChips = pokerHand.getChips();
-        totalMultiplier = pokerHand.getMultiplier();
+        // First add pokerHand's chip and mult base, at the planet level of the jokers' game.
+        int level = heldJokers.getContext().getPlanetLevel(pokerHand.handType());
+        ScoreContext context =
+                new ScoreContext(
+                        playedCardList,
+                        plan.getJokers(),
+                        pokerHand.getChips(level),
+                        pokerHand.getMultiplier(level));
 
-        // Score the cards and apply any Jokers that have effects on play here.
-        for (Card currentCard : playedCardList) {
-            if (isValidCard(currentCard)) {
-                scoreCard(currentCard);
-            }
+        // Score the cards together with any Jokers that have effects on play.
+        for (int i = 0; i < playedCardList.size(); i++) {
+            int cardIndex = playedCardList.get(i).getIndex();
+            context.totalChips += plan.getCardChips(cardIndex);
+            context.totalMultiplier += plan.getCardMultiplier(cardIndex);
         }
 
-        // From here, check each joker in heldJokers applies post round effects, in the order they
-        // are placed.
-        for (int i = 0; i < jokerList.size(); i++) {
-            Joker currentJoker = jokerList.get(i);
-            if (currentJoker.scoreType == Joker.ScoreType.AFTERHANDPLAY) {
-                currentJoker.interact(this, null);
-            }
+        // From here, apply each joker's post round effects, in the order they are placed.
+        List<Joker> afterHandSteps = plan.getAfterHandSteps();
+        for (int i = 0; i < afterHandSteps.size(); i++) {
+            afterHandSteps.get(i).interact(context, null);
         }
 
         // Round the score and return the correct score value.
-        return calculateFinalScore(totalChips, totalMultiplier);
-    }
-
-    /**
-     * Returns whether the card should be considered for scoring. This boolean will return false if
-     * the card falls under boss blind conditions.
-     *
-     * @param card The card to be checked for validity
-     */
-    private boolean isValidCard(Card card) {
-        // Apply boss blind logic to return this as true or false based on the card's
-        // characteristics
-        switch (bossType) {
-            case THE_CLUB:
-                // The Club: All Club Cards cannot score
-                if (card.suit() == Card.Suit.CLUBS) {
-                    return false;
-                }
-                break;
-            case THE_WINDOW:
-                // The Window: All Diamond Cards cannot score
-                if (card.suit() == Card.Suit.DIAMONDS) {
-                    return false;
-                }
-                break;
-            case THE_HEAD:
-                // The Head: All Heart Cards cannot score
-                if (card.suit() == Card.Suit.HEARTS) {
-                    return false;
-                }
-                break;
-            case THE_GOAD:
-                // The Goad: All Spade Cards cannot score
-                if (card.suit() == Card.Suit.SPADES) {
-                    return false;
-                }
-                break;
-            case THE_PLANT:
-                // The Plant: All face(K,Q,J) cards cannot score
-                Card.Rank rank = card.rank();
-                if (rank == Card.Rank.KING || rank == Card.Rank.QUEEN || rank == Card.Rank.JACK) {
-                    return false;
-                }
-                break;
-            default:
-                // No restrictions for other boss types
-                break;
-        }
-        return true;
-    }
-
-    /**
-     * Adds the card's value to the score, and check for any joker interactions with the card.
-     *
-     * @param card The card to be scored
-     */
-    private void scoreCard(Card card) {
-        totalChips += card.getChips();
-        // From here, check each joker in heldJokers can apply effects on card play, in the
-        // order they are placed.
-        for (int i = 0; i < jokerList.size(); i++) {
-            Joker currentJoker = jokerList.get(i);
-            if (currentJoker.scoreType == Joker.ScoreType.ONCARDPLAY) {
-                currentJoker.interact(this, card);
-            }
-        }
+        return calculateFinalScore(context.totalChips, context.totalMultiplier);
     }
 }
@@ -0,0 +1,39 @@
+package javatro.core;
+
+import javatro.core.jokers.Joker;
+
+import java.util.List;
+
+/**
+ * Holds the state of a single hand being scored: the played cards, the held jokers and the running
+ * chip and mult totals. A new context is created for every evaluation and handed to each {@link
+ * Joker}, so hands can be scored on many threads at once without sharing any mutable state.
+ */
+public class ScoreContext {
+    /** Cards played in the hand being scored. */
+    public final List<Card> playedCards;
+
+    /** Jokers held while the hand is scored, in the order they are placed. */
+    public final List<Joker> jokers;
+
+    public double totalChips;
+    public double totalMultiplier;
+
+    /**
+     * Creates a scoring context for one hand.
+     *
+     * @param playedCards The cards played
+     * @param jokers The held jokers
+     * @param totalChips The starting chip total
+     * @param totalMultiplier The starting multiplier total
+     */
+    public ScoreContext(
+            List<Card> playedCards, List<Joker> jokers, double totalChips, double totalMultiplier) {
+        assert playedCards != null : "Played cards cannot be null";
+        assert jokers != null : "Joker list cannot be null";
+        this.playedCards = playedCards;
+        this.jokers = jokers;
+        this.totalChips = totalChips;
+        this.totalMultiplier = totalMultiplier;
+    }
+}
@@ -0,0 +1,179 @@
+package javatro.core;
+
+import javatro.core.jokers.Joker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable scoring plan compiled from a list of held jokers and a boss blind.
+ *
+ * <p>Every {@link Joker.ScoreType#ONCARDPLAY} joker only adds chips or mult based on the card being
+ * scored, so its effect on each of the 52 card faces is measured once at compile time and folded
+ * into flat per-card delta tables, together with the card's own chips and the boss restrictions.
+ * {@link Joker.ScoreType#AFTERHANDPLAY} jokers depend on the whole hand, so they are kept as an
+ * ordered list of steps. Scoring a card then costs two array lookups.
+ *
+ * <p>A plan never changes after it is compiled, so it can be shared by threads scoring in parallel.
+ */
+public final class ScoringPlan {
+
+    /** The boss blind this plan was compiled for. */
+    private final BossType bossType;
+
+    /** Chips added when the card with a given index is played (card chips plus jokers). */
+    private final double[] cardChips;
+
+    /** Mult added when the card with a given index is played. */
+    private final double[] cardMultiplier;
+
+    /** Jokers applied after all cards are scored, in the order they are held. */
+    private final List<Joker> afterHandSteps;
+
+    /** Snapshot of all jokers the plan was compiled from. */
+    private final List<Joker> jokers;
+
+    private ScoringPlan(
+            BossType bossType,
+            List<Joker> jokers,
+            double[] cardChips,
+            double[] cardMultiplier,
+            List<Joker> afterHandSteps) {
+        this.bossType = bossType;
+        this.jokers = jokers;
+        this.cardChips = cardChips;
+        this.cardMultiplier = cardMultiplier;
+        this.afterHandSteps = afterHandSteps;
+    }
+
+    /**
+     * Compiles a scoring plan for the given jokers and boss blind.
+     *
+     * @param jokers The held jokers, in the order they are placed
+     * @param bossType The boss blind in effect
+     * @return A new immutable scoring plan
+     */
+    public static ScoringPlan compile(List<Joker> jokers, BossType bossType) {
+        assert jokers != null : "Joker list cannot be null";
+        assert bossType != null : "Boss type cannot be null";
+
+        List<Joker> snapshot = List.copyOf(jokers);
+        double[] cardChips = new double[Card.DISTINCT_CARDS];
+        double[] cardMultiplier = new double[Card.DISTINCT_CARDS];
+        List<Joker> afterHandSteps = new ArrayList<>();
+
+        List<Joker> onCardPlay = new ArrayList<>();
+        for (Joker joker : snapshot) {
+            if (joker.scoreType == Joker.ScoreType.ONCARDPLAY) {
+                onCardPlay.add(joker);
+            } else if (joker.scoreType == Joker.ScoreType.AFTERHANDPLAY) {
+                afterHandSteps.add(joker);
+            }
+        }
+
+        // Measure each on-card joker against every card face with a scratch context
+        ScoreContext probe = new ScoreContext(List.of(), snapshot, 0, 0);
+        for (int index = 0; index < Card.DISTINCT_CARDS; index++) {
+            Card card = Card.fromIndex(index);
+            if (!isValidCard(card, bossType)) {
+                continue; // Cards blocked by the boss score nothing
+            }
+
+            probe.totalChips = card.getChips();
+            probe.totalMultiplier = 0;
+            for (Joker joker : onCardPlay) {
+                joker.interact(probe, card);
+            }
+            cardChips[index] = probe.totalChips;
+            cardMultiplier[index] = probe.totalMultiplier;
+        }
+
+        return new ScoringPlan(
+                bossType,
+                snapshot,
+                cardChips,
+                cardMultiplier,
+                Collections.unmodifiableList(afterHandSteps));
+    }
+
+    /**
+     * Returns whether the card should be considered for scoring. This boolean will return false if
+     * the card falls under boss blind conditions.
+     *
+     * @param card The card to be checked for validity
+     * @param bossType The boss blind in effect
+     */
+    static boolean isValidCard(Card card, BossType bossType) {
+        // Apply boss blind logic to return this as true or false based on the card's
+        // characteristics
+        switch (bossType) {
+            case THE_CLUB:
+                // The Club: All Club Cards cannot score
+                return card.suit() != Card.Suit.CLUBS;
+            case THE_WINDOW:
+                // The Window: All Diamond Cards cannot score
+                return card.suit() != Card.Suit.DIAMONDS;
+            case THE_HEAD:
+                // The Head: All Heart Cards cannot score
+                return card.suit() != Card.Suit.HEARTS;
+            case THE_GOAD:
+                // The Goad: All Spade Cards cannot score
+                return card.suit() != Card.Suit.SPADES;
+            case THE_PLANT:
+                // The Plant: All face(K,Q,J) cards cannot score
+                Card.Rank rank = card.rank();
+                return rank != Card.Rank.KING && rank != Card.Rank.QUEEN && rank != Card.Rank.JACK;
+            default:
+                // No restrictions for other boss types
+                return true;
+        }
+    }
+
+    /**
+     * Returns the boss blind this plan was compiled for.
+     *
+     * @return The boss type
+     */
+    public BossType getBossType() {
+        return bossType;
+    }
+
+    /**
+     * Returns the jokers the plan was compiled from, in the order they are placed.
+     *
+     * @return Unmodifiable snapshot of the held jokers
+     */
+    public List<Joker> getJokers() {
+        return jokers;
+    }
+
+    /**
+     * Returns the chips added when a card is played, including its own chip value.
+     *
+     * @param cardIndex Packed index of the card (see {@link Card#getIndex()})
+     * @return Chips added to the hand
+     */
+    public double getCardChips(int cardIndex) {
+        return cardChips[cardIndex];
+    }
+
+    /**
+     * Returns the mult added when a card is played.
+     *
+     * @param cardIndex Packed index of the card (see {@link Card#getIndex()})
+     * @return Mult added to the hand
+     */
+    public double getCardMultiplier(int cardIndex) {
+        return cardMultiplier[cardIndex];
+    }
+
+    /**
+     * Returns the jokers applied after the cards are scored, in order.
+     *
+     * @return Unmodifiable list of after-hand jokers
+     */
+    public List<Joker> getAfterHandSteps() {
+        return afterHandSteps;
+    }
+}
@@ -0,0 +1,167 @@
+package javatro.core;
+
+import static javatro.core.PokerHand.HandType.FIVE_OF_A_KIND;
+import static javatro.core.PokerHand.HandType.FLUSH;
+import static javatro.core.PokerHand.HandType.FLUSH_FIVE;
+import static javatro.core.PokerHand.HandType.FLUSH_HOUSE;
+import static javatro.core.PokerHand.HandType.FOUR_OF_A_KIND;
+import static javatro.core.PokerHand.HandType.FULL_HOUSE;
+import static javatro.core.PokerHand.HandType.HIGH_CARD;
+import static javatro.core.PokerHand.HandType.PAIR;
+import static javatro.core.PokerHand.HandType.ROYAL_FLUSH;
+import static javatro.core.PokerHand.HandType.STRAIGHT;
+import static javatro.core.PokerHand.HandType.STRAIGHT_FLUSH;
+import static javatro.core.PokerHand.HandType.THREE_OF_A_KIND;
+import static javatro.core.PokerHand.HandType.TWO_PAIR;
+
+import java.util.List;
+
+/**
+ * Table-driven poker hand evaluator working on packed card indices (see {@link Card#getIndex()}).
+ *
+ * <p>Each evaluation builds a 13-slot rank histogram packed into a {@code long} (4 bits per rank),
+ * a 13-bit rank mask and a 4-bit suit mask, then classifies the hand using tables precomputed at
+ * class load. No objects are allocated per call, and the results are the shared {@link
+ * PokerHand.HandType} constants. Classification matches {@link HandResult} exactly for every 1 to
+ * 5 card input.
+ */
+public final class TableHandEvaluator {
+
+    /** Number of card ranks. */
+    private static final int RANK_COUNT = 13;
+
+    /** Bits used per rank in the packed histogram. */
+    private static final int HISTOGRAM_BITS = 4;
+
+    /** Rank mask of a Ten-to-Ace hand. */
+    private static final int ROYAL_MASK = 0b1_1111_0000_0000;
+
+    /** Rank mask of an Ace-low (A-2-3-4-5) straight. */
+    private static final int WHEEL_MASK = 0b1_0000_0000_1111;
+
+    /** {@code STRAIGHTS[rankMask]} is true when the mask is five consecutive ranks. */
+    private static final boolean[] STRAIGHTS = new boolean[1 << RANK_COUNT];
+
+    /** {@code SINGLE_SUIT[suitMask]} is true when exactly one suit is present. */
+    private static final boolean[] SINGLE_SUIT = new boolean[1 << Card.SUIT_COUNT];
+
+    static {
+        for (int low = 0; low + 5 <= RANK_COUNT; low++) {
+            STRAIGHTS[0b1_1111 << low] = true;
+        }
+        STRAIGHTS[WHEEL_MASK] = true;
+
+        for (int suit = 0; suit < Card.SUIT_COUNT; suit++) {
+            SINGLE_SUIT[1 << suit] = true;
+        }
+    }
+
+    /** Private constructor to prevent instantiation of this utility class. */
+    private TableHandEvaluator() {}
+
+    /**
+     * Evaluates a hand given as packed card indices.
+     *
+     * @param cards Array holding packed card indices
+     * @param count Number of cards to read from the start of {@code cards} (1 to 5)
+     * @return The hand type of the played cards
+     */
+    public static PokerHand.HandType evaluate(int[] cards, int count) {
+        assert cards != null : "Card array cannot be null";
+        assert count >= 1 && count <= 5 && count <= cards.length : "Invalid card count: " + count;
+
+        long histogram = 0;
+        int rankMask = 0;
+        int suitMask = 0;
+        for (int i = 0; i < count; i++) {
+            int rank = cards[i] / Card.SUIT_COUNT;
+            histogram += 1L << (rank * HISTOGRAM_BITS);
+            rankMask |= 1 << rank;
+            suitMask |= 1 << (cards[i] % Card.SUIT_COUNT);
+        }
+        return classify(histogram, rankMask, suitMask, count);
+    }
+
+    /**
+     * Evaluates a hand given as a list of cards without copying it.
+     *
+     * @param cards The played cards (1 to 5)
+     * @return The hand type of the played cards
+     */
+    public static PokerHand.HandType evaluate(List<Card> cards) {
+        assert cards != null : "Card list cannot be null";
+        int count = cards.size();
+        assert count >= 1 && count <= 5 : "Invalid card count: " + count;
+
+        long histogram = 0;
+        int rankMask = 0;
+        int suitMask = 0;
+        for (int i = 0; i < count; i++) {
+            Card card = cards.get(i);
+            int rank = card.rank().ordinal();
+            histogram += 1L << (rank * HISTOGRAM_BITS);
+            rankMask |= 1 << rank;
+            suitMask |= 1 << card.suit().ordinal();
+        }
+        return classify(histogram, rankMask, suitMask, count);
+    }
+
+    /**
+     * Classifies a hand from its packed histogram and masks, mirroring the priority order of {@link
+     * HandResult}.
+     */
+    private static PokerHand.HandType classify(
+            long histogram, int rankMask, int suitMask, int count) {
+        int distinctRanks = Integer.bitCount(rankMask);
+        boolean isFlush = count == 5 && SINGLE_SUIT[suitMask];
+
+        // Five identical cards, then five of the same rank
+        if (count == 5 && distinctRanks == 1) {
+            return isFlush ? FLUSH_FIVE : FIVE_OF_A_KIND;
+        }
+
+        // Count how many ranks appear exactly 2, 3 and 4 times
+        int pairs = 0;
+        int trips = 0;
+        int quads = 0;
+        for (long h = histogram; h != 0; h >>>= HISTOGRAM_BITS) {
+            int rankCount = (int) (h & 0xF);
+            if (rankCount == 2) {
+                pairs++;
+            } else if (rankCount == 3) {
+                trips++;
+            } else if (rankCount == 4) {
+                quads++;
+            }
+        }
+
+        if (isFlush && distinctRanks == 2 && trips == 1 && pairs == 1) {
+            return FLUSH_HOUSE;
+        }
+        if (count == 1) {
+            return HIGH_CARD;
+        }
+
+        boolean isStraight = STRAIGHTS[rankMask];
+        if (isFlush && rankMask == ROYAL_MASK) {
+            return ROYAL_FLUSH;
+        } else if (isFlush && isStraight) {
+            return STRAIGHT_FLUSH;
+        } else if (quads > 0) {
+            return FOUR_OF_A_KIND;
+        } else if (trips > 0 && pairs > 0) {
+            return FULL_HOUSE;
+        } else if (isFlush) {
+            return FLUSH;
+        } else if (isStraight) {
+            return STRAIGHT;
+        } else if (trips > 0) {
+            return THREE_OF_A_KIND;
+        } else if (pairs == 2) {
+            return TWO_PAIR;
+        } else if (pairs > 0) {
+            return PAIR;
+        }
+        return HIGH_CARD;
+    }
+}
@@ -1,12 +1,17 @@
 package javatro.core.jokers;
 
+import javatro.core.BossType;
+import javatro.core.GameContext;
 import javatro.core.JavatroException;
-import javatro.storage.DataParser;
+import javatro.core.ScoringPlan;
+import javatro.storage.RunRecord;
 import javatro.storage.Storage;
 import javatro.storage.StorageManager;
 import javatro.storage.utils.CardUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 // @@author jwyk
 
@@ -14,10 +19,27 @@ import java.util.ArrayList;
 public class HeldJokers {
     // By Default, HOLDING_LIMIT is 5.
     public static final int HOLDING_LIMIT = 5;
-    public ArrayList<Joker> heldJokers;
+    /** Jokers in the order they were added, only changed through add and remove. */
+    private final ArrayList<Joker> heldJokers;
 
-    /** Constructor for the HeldJokers Class. */
+    /** Scoring plan compiled from the current jokers, or null if it must be rebuilt. */
+    private volatile ScoringPlan scoringPlan;
+
+    /** The game these jokers belong to, or null for the command line game. */
+    private final GameContext context;
+
+    /** Constructor for the HeldJokers Class, holding the jokers of the command line game. */
     public HeldJokers() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty set of held jokers for the given game.
+     *
+     * @param context The game the jokers belong to, or null for the command line game
+     */
+    public HeldJokers(GameContext context) {
+        this.context = context;
         heldJokers = new ArrayList<Joker>(5);
     }
 
@@ -27,29 +49,30 @@ public class HeldJokers {
             throw JavatroException.exceedsMaxJokers();
         }
         heldJokers.add(joker);
+        scoringPlan = null;
+
+        if (!getContext().isPersistent()) {
+            return;
+        }
 
         Storage storage = Storage.getStorageInstance();
         int runIndex = storage.getRunChosen() - 1;
 
-        // Retrieve current run data
-        ArrayList<String> runData = StorageManager.getInstance().getRunData(runIndex);
-        assert runData != null : "Run data should not be null";
-        assert runData.size() > DataParser.JOKER_HAND_START_INDEX + HeldJokers.HOLDING_LIMIT - 1
-                : "Run data is incomplete or corrupted";
+        assert RunRecord.JOKER_SLOTS >= HeldJokers.HOLDING_LIMIT : "Run has too few joker slots";
 
         // Update Joker entries in one go
-        for (int j = 0; j < HeldJokers.HOLDING_LIMIT; j++) {
-            if (heldJokers.isEmpty() || j >= heldJokers.size()) {
-                runData.set(DataParser.JOKER_HAND_START_INDEX + j, "-");
-            } else {
-                runData.set(
-                        DataParser.JOKER_HAND_START_INDEX + j,
-                        CardUtils.jokerToString(heldJokers.get(j)));
-            }
+        List<String> jokers = new ArrayList<>(heldJokers.size());
+        for (Joker heldJoker : heldJokers) {
+            jokers.add(CardUtils.jokerToString(heldJoker));
         }
-
-        // Save updated data back to storage manager
-        StorageManager.getInstance().saveRunData(runIndex, runData);
+        StorageManager.getInstance()
+                .updateRun(
+                        runIndex,
+                        run -> {
+                            for (int j = 0; j < HeldJokers.HOLDING_LIMIT; j++) {
+                                run.setJoker(j, j < jokers.size() ? jokers.get(j) : null);
+                            }
+                        });
 
         // Persist changes to the save file
         try {
@@ -65,10 +88,39 @@ public class HeldJokers {
             throw JavatroException.indexOutOfBounds(index);
         }
         heldJokers.remove(index);
+        scoringPlan = null;
+    }
+
+    /**
+     * Returns the scoring plan for the current jokers under the given boss blind. The plan is
+     * cached and only recompiled after a joker is added or removed, or when the boss changes.
+     *
+     * @param bossType The boss blind in effect
+     * @return The compiled scoring plan
+     */
+    public ScoringPlan getScoringPlan(BossType bossType) {
+        ScoringPlan plan = scoringPlan;
+        if (plan == null || plan.getBossType() != bossType) {
+            plan = ScoringPlan.compile(heldJokers, bossType);
+            scoringPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the game these jokers belong to.
+     *
+     * @return The owning game context
+     */
+    public GameContext getContext() {
+        return context != null ? context : GameContext.getDefault();
     }
 
-    /** Returns a soft copy of the ArrayList of HeldJokers. */
-    public ArrayList<Joker> getJokers() {
-        return heldJokers;
+    /**
+     * Returns a read-only view of the held jokers. Jokers are changed through {@link #add} and
+     * {@link #remove}, which keep the scoring plan up to date.
+     */
+    public List<Joker> getJokers() {
+        return Collections.unmodifiableList(heldJokers);
     }
 }
@@ -2,7 +2,7 @@ package javatro.core.jokers;
 
 // @@author jwyk
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 
 /**
  * Represents a Joker card. Each Joker card has a description and a string representation of the
@@ -27,10 +27,11 @@ public abstract class Joker {
      *
      * @param playedCard Card Class containing the card played and to be interacted with (if at
      *     all).
-     * @param scoreClass Score Class containing relevant information such as totalChips,
-     *     totalMultiplier.
+     * @param scoreContext Context of the hand being scored, containing the played cards, held
+     *     jokers, totalChips and totalMultiplier. Each evaluation has its own context, so jokers
+     *     must not keep scoring state in their own fields.
      */
-    public abstract void interact(Score scoreClass, Card playedCard);
+    public abstract void interact(ScoreContext scoreContext, Card playedCard);
 
     public String getName() {
         return name;
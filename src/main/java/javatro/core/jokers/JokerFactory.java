@@ -36,6 +36,16 @@ public class JokerFactory {
      * @return A Joker from the List of Jokers above.
      */
     public static Joker createRandomJoker() {
+        return createRandomJoker(random);
+    }
+
+    /**
+     * Returns a random Joker drawn with the given source of randomness.
+     *
+     * @param random Source of randomness
+     * @return A Joker from the List of Jokers above.
+     */
+    public static Joker createRandomJoker(Random random) {
         return jokerSuppliers.get(random.nextInt(jokerSuppliers.size())).get();
     }
 }
@@ -9,7 +9,7 @@ import static javatro.display.UI.END;
 import static javatro.display.UI.YELLOW;
 
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 import javatro.core.jokers.Joker;
 
 /** Represents a OddToddJoker Joker */
@@ -29,9 +29,9 @@ public class OddToddJoker extends Joker {
     }
 
     @Override
-    public void interact(Score scoreClass, Card playedCard) {
+    public void interact(ScoreContext scoreContext, Card playedCard) {
         if ((playedCard.getChips()) % 2 != 0) {
-            scoreClass.totalChips += 31;
+            scoreContext.totalChips += 31;
         }
     }
 
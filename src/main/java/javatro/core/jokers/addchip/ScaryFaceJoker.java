@@ -9,7 +9,7 @@ import static javatro.display.UI.END;
 import static javatro.display.UI.YELLOW;
 
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 import javatro.core.jokers.Joker;
 
 /** Represents a AbstractJoker Joker, based off the Abstract Joker of Balatro. */
@@ -28,11 +28,11 @@ public class ScaryFaceJoker extends Joker {
     }
 
     @Override
-    public void interact(Score scoreClass, Card playedCard) {
+    public void interact(ScoreContext scoreContext, Card playedCard) {
         if (playedCard.rank() == Card.Rank.KING
                 || playedCard.rank() == Card.Rank.QUEEN
                 || playedCard.rank() == Card.Rank.JACK) {
-            scoreClass.totalChips += 30;
+            scoreContext.totalChips += 30;
         }
     }
 
@@ -9,12 +9,12 @@ import static javatro.display.UI.RED;
 import static javatro.display.UI.YELLOW;
 
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 import javatro.core.jokers.Joker;
 
 /** Represents a AbstractJoker Joker, based off the Abstract Joker of Balatro. */
 public class AbstractJoker extends Joker {
-    private int numberOfJokers;
+    private volatile int numberOfJokers;
 
     public AbstractJoker() {
         super();
@@ -43,26 +43,31 @@ public class AbstractJoker extends Joker {
     }
 
     @Override
-    public void interact(Score scoreClass, Card playedCard) {
-        this.numberOfJokers = scoreClass.jokerList.size();
-        description =
-                String.format(
-                        "%s%s+3 Mult%s%s for each %s%sJoker%s%s card held (Currently %s%s+%d"
-                                + " Mult%s%s)",
-                        RED,
-                        BOLD,
-                        END,
-                        BLACK_B,
-                        YELLOW,
-                        BOLD,
-                        END,
-                        BLACK_B,
-                        RED,
-                        BOLD,
-                        numberOfJokers * 3,
-                        END,
-                        BLACK_B);
-        scoreClass.totalMultiplier += numberOfJokers * 3;
+    public void interact(ScoreContext scoreContext, Card playedCard) {
+        int jokerCount = scoreContext.jokers.size();
+        scoreContext.totalMultiplier += jokerCount * 3;
+
+        // Only refresh the shown count when it changes, as hands may be scored concurrently
+        if (jokerCount != numberOfJokers) {
+            numberOfJokers = jokerCount;
+            description =
+                    String.format(
+                            "%s%s+3 Mult%s%s for each %s%sJoker%s%s card held (Currently %s%s+%d"
+                                    + " Mult%s%s)",
+                            RED,
+                            BOLD,
+                            END,
+                            BLACK_B,
+                            YELLOW,
+                            BOLD,
+                            END,
+                            BLACK_B,
+                            RED,
+                            BOLD,
+                            jokerCount * 3,
+                            END,
+                            BLACK_B);
+        }
     }
 
     @Override
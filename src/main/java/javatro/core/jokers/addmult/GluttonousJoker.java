@@ -9,7 +9,7 @@ import static javatro.display.UI.END;
 import static javatro.display.UI.RED;
 
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 import javatro.core.jokers.Joker;
 
 /** Represents a GluttonousJoker Joker. */
@@ -28,9 +28,9 @@ public class GluttonousJoker extends Joker {
     }
 
     @Override
-    public void interact(Score scoreClass, Card playedCard) {
+    public void interact(ScoreContext scoreContext, Card playedCard) {
         if (playedCard.suit() == Card.Suit.CLUBS) {
-            scoreClass.totalMultiplier += 3;
+            scoreContext.totalMultiplier += 3;
         }
     }
 
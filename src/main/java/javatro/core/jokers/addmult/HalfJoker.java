@@ -9,7 +9,7 @@ import static javatro.display.UI.RED;
 import static javatro.display.UI.YELLOW;
 
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 import javatro.core.jokers.Joker;
 
 /** Represents a HalfJoker Joker. */
@@ -27,9 +27,9 @@ public class HalfJoker extends Joker {
     }
 
     @Override
-    public void interact(Score scoreClass, Card playedCard) {
-        if (scoreClass.playedCardsList.size() <= 3) {
-            scoreClass.totalMultiplier += 20;
+    public void interact(ScoreContext scoreContext, Card playedCard) {
+        if (scoreContext.playedCards.size() <= 3) {
+            scoreContext.totalMultiplier += 20;
         }
     }
 
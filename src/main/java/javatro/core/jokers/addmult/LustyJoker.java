@@ -8,7 +8,7 @@ import static javatro.display.UI.END;
 import static javatro.display.UI.RED;
 
 import javatro.core.Card;
-import javatro.core.Score;
+import javatro.core.ScoreContext;
 import javatro.core.jokers.Joker;
 
 /** Represents a LustyJoker Joker. */
@@ -27,9 +27,9 @@ public class LustyJoker extends Joker {
     }
 
     @Override
-    public void interact(Score scoreClass, Card playedCard) {
+    public void interact(ScoreContext scoreContext, Card playedCard) {
         if (playedCard.suit() == Card.Suit.HEARTS) {
-            scoreClass.totalMultiplier += 3;
+            scoreContext.totalMultiplier += 3;
         }
     }
 
@@ -8,14 +8,20 @@
  * <h2>Classes in this package:</h2>
  *
  * <ul>
+ *   <li>{@link javatro.core.BestPlayFinder} - Ranks every playable subset of the holding hand.
  *   <li>{@link javatro.core.Card} - Represents an individual playing card.
+ *   <li>{@link javatro.core.CardCodec} - Packs cards into primitive codes and parses card strings.
  *   <li>{@link javatro.core.Deck} - Manages the deck of cards used in the game.
+ *   <li>{@link javatro.core.GameContext} - Holds the state of one game run.
  *   <li>{@link javatro.core.HandResult} - Stores and evaluates the result of a player's hand.
+ *   <li>{@link javatro.core.TableHandEvaluator} - Allocation-free, table-driven hand evaluator.
  *   <li>{@link javatro.core.HoldingHand} - Represents the player's current hand.
  *   <li>{@link javatro.core.JavatroCore} - The main game model responsible for game state and round
  *       management.
  *   <li>{@link javatro.core.PokerHand} - Defines and evaluates different types of poker hands.
  *   <li>{@link javatro.core.Round} - Represents an individual game round.
+ *   <li>{@link javatro.core.ScoreContext} - Per-hand scoring state passed to jokers.
+ *   <li>{@link javatro.core.ScoringPlan} - Joker and boss effects compiled into per-card tables.
  * </ul>
  */
 package javatro.core;
@@ -1,6 +1,7 @@
 package javatro.core.round;
 
 import javatro.core.Ante;
+import javatro.core.BestPlayFinder;
 import javatro.core.BossType;
 import javatro.core.Card;
 import javatro.core.Deck;
@@ -14,6 +15,7 @@ import javatro.core.round.RoundActions.ActionResult;
 
 import java.beans.PropertyChangeListener;
 import java.util.List;
+import java.util.Random;
 
 /** Represents a round in the Javatro game. */
 public class Round {
@@ -44,6 +46,31 @@ public class Round {
             String roundName,
             String roundDescription)
             throws JavatroException {
+        this(ante, remainingPlays, deck, heldJokers, roundName, roundDescription, null);
+    }
+
+    /**
+     * Constructs a new round whose boss blind is drawn from the given source of randomness, so
+     * simulated runs can be replayed from a seed.
+     *
+     * @param ante The ante configuration containing the target score for this round
+     * @param remainingPlays The initial number of plays allowed in this round
+     * @param deck The deck of cards to be used for this round
+     * @param heldJokers The player's collection of jokers available for this round
+     * @param roundName The display name for this round
+     * @param roundDescription A detailed description of the round's rules or theme
+     * @param random Source of randomness for the boss blind, or null to use the default source
+     * @throws JavatroException If any of the provided parameters are invalid
+     */
+    public Round(
+            Ante ante,
+            int remainingPlays,
+            Deck deck,
+            HeldJokers heldJokers,
+            String roundName,
+            String roundDescription,
+            Random random)
+            throws JavatroException {
 
         validateParameters(ante, remainingPlays, deck);
 
@@ -59,7 +86,7 @@ public class Round {
         applyDeckVariants(deck);
 
         // Apply special rules based on ante configuration
-        applyAnteInvariants(ante);
+        applyAnteInvariants(ante, random);
 
         // Apply boss type
         applyBossVariants();
@@ -86,7 +113,7 @@ public class Round {
         this(ante, remainingPlays, deck, heldJokers, "Default Round", "Default Description");
         resetVarients();
         applyDeckVariants(deck);
-        applyAnteInvariants(ante);
+        applyAnteInvariants(ante, null);
         setBossType(bossType);
     }
 
@@ -99,6 +126,16 @@ public class Round {
         this(ante, remainingPlays, deck, heldJokers, "Default Round", "Default Description");
     }
 
+    /**
+     * Sets whether changes to this round are written to the save file. Rounds are headless unless
+     * the game that creates them is saved.
+     *
+     * @param persistent {@code true} if the round belongs to the saved game
+     */
+    public void setPersistent(boolean persistent) {
+        observable.setPersistent(persistent);
+    }
+
     /** Resets the boss type and deck variants to their default values. */
     private void resetVarients() {
         this.config.setBossType(BossType.NONE);
@@ -148,10 +185,14 @@ public class Round {
      * Applies special rules based on the ante configuration.
      *
      * @param ante The ante configuration to check for special rules
+     * @param random Source of randomness for the boss blind, or null to use the default source
      */
-    private void applyAnteInvariants(Ante ante) {
+    private void applyAnteInvariants(Ante ante, Random random) {
         if (ante.getBlind() == Ante.Blind.BOSS_BLIND) {
-            BossType randomBoss = BossType.getRandomBossType();
+            BossType randomBoss =
+                    random == null
+                            ? BossType.getRandomBossType()
+                            : BossType.getRandomBossType(random);
             this.config.setBossType(randomBoss);
         }
     }
@@ -448,6 +489,24 @@ public class Round {
         return HandResult.evaluateHand(state.getChosenCards());
     }
 
+    /**
+     * Finds the highest scoring plays available from the current holding hand, respecting this
+     * round's boss and hand size limits.
+     *
+     * @param topN The number of plays to return
+     * @return Up to {@code topN} plays, best first
+     * @throws JavatroException If a candidate hand cannot be scored
+     */
+    public List<BestPlayFinder.Play> findBestPlays(int topN) throws JavatroException {
+        return BestPlayFinder.findBestPlays(
+                state.getPlayerHandCards(),
+                state.getPlayerJokers(),
+                config.getBossType(),
+                config.getMinHandSize(),
+                config.getMaxHandSize(),
+                topN);
+    }
+
     /**
      * {@code @warn} This method will be deprecated in future versions. Reordering of player hands
      * should be done in UI and not in Round class. Updates the player hand.
@@ -4,21 +4,21 @@ import javatro.core.Ante;
 import javatro.core.Card;
 import javatro.core.JavatroCore;
 import javatro.core.JavatroException;
-import javatro.storage.DataParser;
+import javatro.storage.RunRecord;
 import javatro.storage.Storage;
 import javatro.storage.StorageManager;
-import javatro.storage.utils.CardUtils;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.ArrayList;
+import java.util.List;
 
 /** Handles observer notifications for round state changes without direct Round dependencies. */
 class RoundObservable {
     /** The property change support for the observer pattern. */
     private final PropertyChangeSupport support;
 
-    private final Storage storage = Storage.getStorageInstance();
+    /** Whether round changes are written to the save file. */
+    private boolean persistent;
 
     /**
      * Creates a new observable with the given source object.
@@ -29,6 +29,16 @@ class RoundObservable {
         this.support = new PropertyChangeSupport(source);
     }
 
+    /**
+     * Sets whether round changes are written to the save file. Saving can still be switched off
+     * globally through {@link Storage#saveActive}.
+     *
+     * @param persistent {@code true} if the round belongs to the saved game
+     */
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
     /**
      * Registers an observer to listen for property changes.
      *
@@ -53,108 +63,99 @@ class RoundObservable {
         support.firePropertyChange("holdingHand", null, state.getPlayerHandCards());
         support.firePropertyChange("currentScore", null, state.getCurrentScore());
 
-        if (Storage.saveActive) {
+        if (persistent && Storage.saveActive) {
             Storage storage = Storage.getStorageInstance();
             int runIndex = storage.getRunChosen() - 1;
 
-            // Retrieve the run data
-            ArrayList<String> runData = StorageManager.getInstance().getRunData(runIndex);
-            assert runData != null : "Run data should not be null";
-
-            // Update play counts, discards, and round score in the runData list
-            runData.set(DataParser.HAND_INDEX, Integer.toString(state.getRemainingPlays()));
-            runData.set(DataParser.DISCARD_INDEX, Integer.toString(state.getRemainingDiscards()));
-            runData.set(DataParser.ROUND_SCORE_INDEX, Long.toString(state.getCurrentScore()));
-
-            // Update Holding Hand Cards
-            int cardIndex = DataParser.HOLDING_HAND_START_INDEX;
-            for (Card c : state.getPlayerHandCards()) {
-                runData.set(cardIndex, CardUtils.cardToString(c));
-                cardIndex++;
-            }
-
-            // Update Rest of the Deck Cards
-            ArrayList<Card> restOfTheCards = JavatroCore.currentRound.getDeck().getWholeDeck();
-
-            for (int j = DataParser.START_OF_REST_OF_DECK;
-                    j < DataParser.START_OF_REST_OF_DECK + 44;
-                    j++) {
-                int idx = j - DataParser.START_OF_REST_OF_DECK;
-                if (idx >= restOfTheCards.size()) {
-                    runData.set(j, "-");
-                } else {
-                    runData.set(j, CardUtils.cardToString(restOfTheCards.get(idx)));
-                }
-            }
-
-            // Update Wins or Losses if applicable
-            if (JavatroCore.currentRound.isRoundOver() && JavatroCore.currentRound.isWon()) {
-                int currentWins = Integer.parseInt(runData.get(DataParser.WINS_INDEX));
-                runData.set(DataParser.WINS_INDEX, String.valueOf(currentWins + 1));
-                runData.set(DataParser.HAND_INDEX, Integer.toString(-1));
-                runData.set(DataParser.DISCARD_INDEX, Integer.toString(-1));
-
-                Ante.Blind nextBlind = JavatroCore.getAnte().getNextBlind();
-                int anteCount = JavatroCore.getAnte().getAnteCount();
-                if (nextBlind == Ante.Blind.SMALL_BLIND
-                        && JavatroCore.getAnte().getBlind() == Ante.Blind.BOSS_BLIND) {
-                    anteCount = anteCount + 1;
-                }
-
-                runData.set(DataParser.BLIND_INDEX, nextBlind.getName());
-                runData.set(DataParser.ANTE_NUMBER_INDEX, String.valueOf(anteCount));
-                runData.set(
-                        DataParser.ROUND_NUMBER_INDEX,
-                        String.valueOf(JavatroCore.getRoundCount() + 1));
-
-                // Set all Holding Hand cards to "NA"
-                for (int i = DataParser.HOLDING_HAND_START_INDEX;
-                        i < DataParser.HOLDING_HAND_START_INDEX + 8;
-                        i++) {
-                    runData.set(i, "NA");
-                }
-
-                // Set all Rest of Deck cards to "NA"
-                for (int i = DataParser.START_OF_REST_OF_DECK;
-                        i < DataParser.START_OF_REST_OF_DECK + 44;
-                        i++) {
-                    runData.set(i, "NA");
-                }
-
-                runData.set(DataParser.ROUND_SCORE_INDEX, Long.toString(0));
-            }
-
-            if (JavatroCore.currentRound.isRoundOver() && JavatroCore.currentRound.isLost()) {
-                int currentLosses = Integer.parseInt(runData.get(DataParser.LOSSES_INDEX));
-                runData.set(DataParser.LOSSES_INDEX, String.valueOf(currentLosses + 1));
-                runData.set(DataParser.HAND_INDEX, Integer.toString(-1));
-                runData.set(DataParser.DISCARD_INDEX, Integer.toString(-1));
-
-                // Set all Holding Hand cards to "NA"
-                for (int i = DataParser.HOLDING_HAND_START_INDEX;
-                        i < DataParser.HOLDING_HAND_START_INDEX + 8;
-                        i++) {
-                    runData.set(i, "NA");
-                }
-
-                // Set all Rest of Deck cards to "NA"
-                for (int i = DataParser.START_OF_REST_OF_DECK;
-                        i < DataParser.START_OF_REST_OF_DECK + 44;
-                        i++) {
-                    runData.set(i, "NA");
-                }
-
-                runData.set(DataParser.ROUND_SCORE_INDEX, Long.toString(0));
-            }
-
-            // Save all updated data at once
-            StorageManager.getInstance().saveRunData(runIndex, runData);
+            List<Card> holdingCards = state.getPlayerHandCards();
+            List<Card> restOfTheCards =
+                    JavatroCore.getCurrentRound().getDeck().getRemainingCardsView();
+            Round currentRound = JavatroCore.getCurrentRound();
+
+            // Update all the run data at once, so no other update lands part way through
+            StorageManager.getInstance()
+                    .updateRun(
+                            runIndex,
+                            run -> {
+                                // Update play counts, discards, and round score
+                                run.setHands(state.getRemainingPlays());
+                                run.setDiscards(state.getRemainingDiscards());
+                                run.setRoundScore(state.getCurrentScore());
+
+                                // Update Holding Hand Cards
+                                int cardIndex = 0;
+                                for (Card c : holdingCards) {
+                                    run.setHoldingCard(cardIndex, c);
+                                    cardIndex++;
+                                }
+
+                                // Update Rest of the Deck Cards
+                                for (int idx = 0; idx < RunRecord.REST_OF_DECK_SIZE; idx++) {
+                                    run.setDeckCard(
+                                            idx,
+                                            idx < restOfTheCards.size()
+                                                    ? restOfTheCards.get(idx)
+                                                    : null);
+                                }
+
+                                // Update Wins or Losses if applicable
+                                if (currentRound.isRoundOver() && currentRound.isWon()) {
+                                    recordWin(run);
+                                }
+                                if (currentRound.isRoundOver() && currentRound.isLost()) {
+                                    run.setLosses(run.getLosses() + 1);
+                                    run.setHands(-1);
+                                    run.setDiscards(-1);
+                                    clearRoundCards(run);
+                                }
+                            });
 
             try {
                 storage.updateSaveFile();
+                if (currentRound.isRoundOver()) {
+                    storage.flushSaveFile();
+                }
             } catch (JavatroException e) {
                 System.out.println("Failed to Save To System");
             }
         }
     }
+
+    /**
+     * Counts a won round and moves the saved run on to the next blind.
+     *
+     * @param run The saved run to update
+     */
+    private static void recordWin(RunRecord run) {
+        run.setWins(run.getWins() + 1);
+        run.setHands(-1);
+        run.setDiscards(-1);
+
+        Ante.Blind nextBlind = JavatroCore.getAnte().getNextBlind();
+        int anteCount = JavatroCore.getAnte().getAnteCount();
+        if (nextBlind == Ante.Blind.SMALL_BLIND
+                && JavatroCore.getAnte().getBlind() == Ante.Blind.BOSS_BLIND) {
+            anteCount = anteCount + 1;
+        }
+
+        run.setBlind(nextBlind);
+        run.setAnteNumber(anteCount);
+        run.setRoundNumber(JavatroCore.getRoundCount() + 1);
+        clearRoundCards(run);
+    }
+
+    /**
+     * Empties the saved hand and deck and resets the round score once a round is over.
+     *
+     * @param run The saved run to clear
+     */
+    private static void clearRoundCards(RunRecord run) {
+        for (int i = 0; i < RunRecord.HOLDING_HAND_SIZE; i++) {
+            run.setHoldingCard(i, null);
+        }
+        for (int i = 0; i < RunRecord.REST_OF_DECK_SIZE; i++) {
+            run.setDeckCard(i, null);
+        }
+        run.setRoundScore(0);
+    }
 }
@@ -0,0 +1,70 @@
+package javatro.core.simulation;
+
+import javatro.core.BestPlayFinder;
+import javatro.core.JavatroException;
+import javatro.core.PokerHand;
+import javatro.core.round.Round;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays the highest scoring hand available, discarding first when the best hand is weak and cannot
+ * reach the blind on its own.
+ *
+ * <p>Discards never take so many cards from the deck that a later play could not be refilled, so a
+ * round always ends by winning or running out of plays.
+ */
+public class GreedyPlayPolicy implements PlayPolicy {
+
+    /** Largest number of cards a single play or discard can take from the deck. */
+    private static final int MAX_CARDS_PER_ACTION = 5;
+
+    @Override
+    public Decision decide(Round round, Random random) throws JavatroException {
+        List<BestPlayFinder.Play> bestPlays = round.findBestPlays(1);
+        if (bestPlays.isEmpty()) {
+            // No legal play exists; play every card so the round rejects it and ends the run
+            List<Integer> allCards = new ArrayList<>();
+            for (int i = 0; i < round.getPlayerHandCards().size(); i++) {
+                allCards.add(i);
+            }
+            return Decision.play(allCards);
+        }
+
+        BestPlayFinder.Play best = bestPlays.get(0);
+        long scoreNeeded = round.getBlindScore() - round.getCurrentScore();
+        if (best.score() >= scoreNeeded || !isWeak(best.handType())) {
+            return Decision.play(best.cardIndices());
+        }
+
+        int spareCards =
+                round.getDeck().getRemainingCards()
+                        - MAX_CARDS_PER_ACTION * round.getRemainingPlays();
+        int discardLimit = Math.min(spareCards, MAX_CARDS_PER_ACTION);
+        if (round.getRemainingDiscards() <= 0 || discardLimit <= 0) {
+            return Decision.play(best.cardIndices());
+        }
+
+        // Keep the cards of the best play and throw away the rest
+        List<Integer> discards = new ArrayList<>(discardLimit);
+        for (int i = 0; i < round.getPlayerHandCards().size() && discards.size() < discardLimit;
+                i++) {
+            if (!best.cardIndices().contains(i)) {
+                discards.add(i);
+            }
+        }
+        return discards.isEmpty() ? Decision.play(best.cardIndices()) : Decision.discard(discards);
+    }
+
+    /**
+     * Returns whether a hand is worth discarding to improve on.
+     *
+     * @param handType The best hand currently available
+     * @return {@code true} for a high card or a pair
+     */
+    private static boolean isWeak(PokerHand.HandType handType) {
+        return handType == PokerHand.HandType.HIGH_CARD || handType == PokerHand.HandType.PAIR;
+    }
+}
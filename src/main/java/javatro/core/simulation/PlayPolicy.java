@@ -0,0 +1,54 @@
+package javatro.core.simulation;
+
+import javatro.core.JavatroException;
+import javatro.core.round.Round;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Decides the next action of a simulated player. Policies are shared by every run of a simulation,
+ * so they must be stateless or thread-safe; any randomness must come from the given source so runs
+ * can be replayed from their seed.
+ */
+public interface PlayPolicy {
+
+    /**
+     * Chooses whether to play or discard, and which cards, for the current state of a round.
+     *
+     * @param round The round being played, which is not yet over
+     * @param random The run's source of randomness
+     * @return The action to take
+     * @throws JavatroException If the round cannot be evaluated
+     */
+    Decision decide(Round round, Random random) throws JavatroException;
+
+    /**
+     * An action chosen by a policy.
+     *
+     * @param isDiscard {@code true} to discard the cards, {@code false} to play them
+     * @param cardIndices Zero-based positions of the chosen cards in the holding hand
+     */
+    record Decision(boolean isDiscard, List<Integer> cardIndices) {
+
+        /**
+         * Creates a decision to play the given cards.
+         *
+         * @param cardIndices Positions of the cards to play
+         * @return The play decision
+         */
+        public static Decision play(List<Integer> cardIndices) {
+            return new Decision(false, List.copyOf(cardIndices));
+        }
+
+        /**
+         * Creates a decision to discard the given cards.
+         *
+         * @param cardIndices Positions of the cards to discard
+         * @return The discard decision
+         */
+        public static Decision discard(List<Integer> cardIndices) {
+            return new Decision(true, List.copyOf(cardIndices));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package javatro.core.simulation;
+
+import javatro.core.Ante;
+import javatro.core.Deck;
+import javatro.core.GameContext;
+import javatro.core.JavatroException;
+import javatro.core.PlanetCard;
+import javatro.core.PokerHand;
+import javatro.core.jokers.HeldJokers;
+import javatro.core.jokers.JokerFactory;
+import javatro.core.round.Round;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays complete runs from ante 1 to the final boss blind without a player, to measure how
+ * balanced each deck is.
+ *
+ * <p>Every run uses its own headless {@link GameContext}, so runs never touch the save file or
+ * the terminal and can be spread across a {@link ForkJoinPool}. Each run draws all its randomness
+ * (deck shuffles, boss blinds and rewards) from a {@link Random} seeded from the simulation seed
+ * and the run number, so a report depends only on the seed and not on how many threads ran it.
+ */
+public class RunSimulator {
+
+    /** The ante whose boss blind ends a run with a win. */
+    static final int FINAL_ANTE = 8;
+
+    /** Runs below this count are played in one task instead of being split further. */
+    private static final int RUNS_PER_TASK = 32;
+
+    private static final PokerHand.HandType[] HAND_TYPES = PokerHand.HandType.values();
+
+    private final PlayPolicy policy;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a simulator running on the common pool.
+     *
+     * @param policy The policy deciding every play and discard
+     */
+    public RunSimulator(PlayPolicy policy) {
+        this(policy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a simulator running on the given pool.
+     *
+     * @param policy The policy deciding every play and discard
+     * @param pool The pool that plays the runs
+     */
+    public RunSimulator(PlayPolicy policy, ForkJoinPool pool) {
+        assert policy != null : "Play policy cannot be null";
+        assert pool != null : "Fork join pool cannot be null";
+        this.policy = policy;
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates runs with one deck.
+     *
+     * @param deckType The deck every run uses
+     * @param runs Number of runs to play
+     * @param seed Seed from which every run's randomness is derived
+     * @return The aggregated results
+     */
+    public SimulationReport simulate(Deck.DeckType deckType, int runs, long seed) {
+        assert deckType != null : "Deck type cannot be null";
+        assert runs >= 0 : "Number of runs cannot be negative";
+        long[] runScores = new long[runs];
+        Tally tally = pool.invoke(new RunTask(deckType, seed, runScores, 0, runs));
+        return new SimulationReport(
+                deckType, tally.wins, tally.anteReachedCounts, tally.handTypeCounts, runScores);
+    }
+
+    /**
+     * Simulates runs with every deck a player can choose.
+     *
+     * @param runs Number of runs to play per deck
+     * @param seed Seed from which every run's randomness is derived
+     * @return The results of each deck
+     */
+    public Map<Deck.DeckType, SimulationReport> simulateAllDecks(int runs, long seed) {
+        Map<Deck.DeckType, SimulationReport> reports = new EnumMap<>(Deck.DeckType.class);
+        for (Deck.DeckType deckType : Deck.DeckType.values()) {
+            if (deckType != Deck.DeckType.DEFAULT) {
+                reports.put(deckType, simulate(deckType, runs, seed));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Derives the seed of one run, spreading nearby run numbers across the whole seed space.
+     *
+     * @param seed The simulation seed
+     * @param run The run number
+     * @return The run's seed
+     */
+    static long runSeed(long seed, int run) {
+        // SplitMix64 finaliser
+        long z = seed + (run + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays one run to the end, adding its outcome to the tally.
+     *
+     * @param deckType The deck the run uses
+     * @param random The run's source of randomness
+     * @param tally The tally to add the run's results to
+     * @return The total score of the run
+     */
+    private long playRun(Deck.DeckType deckType, Random random, Tally tally) {
+        GameContext context = new GameContext();
+        Ante ante = context.getAnte();
+        long totalScore = 0;
+        boolean isWon = false;
+
+        try {
+            while (true) {
+                Round round =
+                        new Round(
+                                ante,
+                                context.getTotalPlays(),
+                                new Deck(deckType, random),
+                                context.getHeldJokers(),
+                                ante.getBlind().getName(),
+                                ante.getBlind().getName(),
+                                random);
+                context.setCurrentRound(round);
+                playRound(round, random, tally);
+                totalScore += round.getCurrentScore();
+
+                if (!round.isWon()) {
+                    break;
+                }
+                if (ante.getBlind() == Ante.Blind.BOSS_BLIND
+                        && ante.getAnteCount() == FINAL_ANTE) {
+                    isWon = true;
+                    break;
+                }
+                collectReward(context, random);
+                ante.nextRound();
+                context.setRoundCount(context.getRoundCount() + 1);
+            }
+        } catch (JavatroException e) {
+            // A play the round rejects, or an exhausted deck, ends the run as a loss
+        }
+
+        if (isWon) {
+            tally.wins++;
+        }
+        tally.anteReachedCounts[ante.getAnteCount()]++;
+        return totalScore;
+    }
+
+    /**
+     * Lets the policy play a round until it is won or out of plays.
+     *
+     * @param round The round to play
+     * @param random The run's source of randomness
+     * @param tally The tally to record played hands in
+     * @throws JavatroException If the policy chooses an action the round rejects
+     */
+    private void playRound(Round round, Random random, Tally tally) throws JavatroException {
+        while (!round.isRoundOver()) {
+            PlayPolicy.Decision decision = policy.decide(round, random);
+            if (decision.isDiscard()) {
+                round.discardCards(decision.cardIndices());
+            } else {
+                round.playCards(decision.cardIndices());
+                tally.handTypeCounts[round.getPlayedHand().handType().ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Grants the reward for beating a blind, as the game does: a joker for a boss blind while
+     * there is room for one, otherwise a planet card for a random poker hand.
+     *
+     * @param context The game being played
+     * @param random The run's source of randomness
+     * @throws JavatroException If the joker cannot be added
+     */
+    private static void collectReward(GameContext context, Random random)
+            throws JavatroException {
+        HeldJokers heldJokers = context.getHeldJokers();
+        if (context.getAnte().getBlind() == Ante.Blind.BOSS_BLIND) {
+            if (heldJokers.getJokers().size() < HeldJokers.HOLDING_LIMIT) {
+                heldJokers.add(JokerFactory.createRandomJoker(random));
+            }
+        } else {
+            PlanetCard.getForHand(HAND_TYPES[random.nextInt(HAND_TYPES.length)]).apply(context);
+        }
+    }
+
+    /** Counts gathered from a batch of runs. */
+    private static final class Tally {
+        private long wins;
+        private final long[] anteReachedCounts = new long[FINAL_ANTE + 1];
+        private final long[] handTypeCounts = new long[HAND_TYPES.length];
+
+        /**
+         * Adds another batch's counts to this one.
+         *
+         * @param other The counts to add
+         * @return This tally
+         */
+        private Tally merge(Tally other) {
+            wins += other.wins;
+            for (int i = 0; i < anteReachedCounts.length; i++) {
+                anteReachedCounts[i] += other.anteReachedCounts[i];
+            }
+            for (int i = 0; i < handTypeCounts.length; i++) {
+                handTypeCounts[i] += other.handTypeCounts[i];
+            }
+            return this;
+        }
+    }
+
+    /** Plays a range of runs, splitting it in half until it is small enough for one thread. */
+    private final class RunTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final Deck.DeckType deckType;
+        private final long seed;
+        private final long[] runScores;
+        private final int from;
+        private final int to;
+
+        private RunTask(Deck.DeckType deckType, long seed, long[] runScores, int from, int to) {
+            this.deckType = deckType;
+            this.seed = seed;
+            this.runScores = runScores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= RUNS_PER_TASK) {
+                Tally tally = new Tally();
+                for (int run = from; run < to; run++) {
+                    Random random = new Random(runSeed(seed, run));
+                    runScores[run] = playRun(deckType, random, tally);
+                }
+                return tally;
+            }
+
+            int middle = (from + to) >>> 1;
+            RunTask left = new RunTask(deckType, seed, runScores, from, middle);
+            RunTask right = new RunTask(deckType, seed, runScores, middle, to);
+            left.fork();
+            return right.compute().merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package javatro.core.simulation;
+
+import javatro.core.Deck;
+import javatro.core.PokerHand;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aggregated results of simulating many runs with one deck: win rate, how far runs got, which poker
+ * hands were played and how the total score of a run is distributed.
+ */
+public final class SimulationReport {
+
+    private final Deck.DeckType deckType;
+    private final int runs;
+    private final long wins;
+    /** Number of runs that ended in each ante, indexed by ante number. */
+    private final long[] anteReachedCounts;
+    private final Map<PokerHand.HandType, Long> handTypeCounts;
+    /** Total score of every run, ascending. */
+    private final long[] sortedScores;
+
+    /**
+     * Creates a report from merged run results.
+     *
+     * @param deckType The deck the runs used
+     * @param wins Number of runs that beat the final boss blind
+     * @param anteReachedCounts Number of runs ending in each ante, indexed by ante number
+     * @param handTypeCounts Number of hands played of each type, indexed by hand type ordinal
+     * @param runScores Total score of every run; sorted in place
+     */
+    SimulationReport(
+            Deck.DeckType deckType,
+            long wins,
+            long[] anteReachedCounts,
+            long[] handTypeCounts,
+            long[] runScores) {
+        assert handTypeCounts.length == PokerHand.HandType.values().length
+                : "Hand type counts must cover every hand type";
+        this.deckType = deckType;
+        this.runs = runScores.length;
+        this.wins = wins;
+        this.anteReachedCounts = anteReachedCounts.clone();
+
+        Map<PokerHand.HandType, Long> counts = new EnumMap<>(PokerHand.HandType.class);
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            counts.put(handType, handTypeCounts[handType.ordinal()]);
+        }
+        this.handTypeCounts = Collections.unmodifiableMap(counts);
+
+        Arrays.sort(runScores);
+        this.sortedScores = runScores;
+    }
+
+    public Deck.DeckType getDeckType() {
+        return deckType;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the fraction of runs that beat the final boss blind.
+     *
+     * @return Win rate between 0 and 1, or 0 if no runs were simulated
+     */
+    public double getWinRate() {
+        return runs == 0 ? 0 : (double) wins / runs;
+    }
+
+    /**
+     * Returns the number of runs that ended in an ante, whether by losing a blind in it or, for
+     * the final ante, by winning the run.
+     *
+     * @param ante Ante number, starting at 1
+     * @return Number of runs ending in that ante
+     */
+    public long getAnteReachedCount(int ante) {
+        return ante >= 1 && ante < anteReachedCounts.length ? anteReachedCounts[ante] : 0;
+    }
+
+    /**
+     * Returns the average ante reached per run.
+     *
+     * @return Mean ante, or 0 if no runs were simulated
+     */
+    public double getAverageAnteReached() {
+        long anteSum = 0;
+        for (int ante = 1; ante < anteReachedCounts.length; ante++) {
+            anteSum += ante * anteReachedCounts[ante];
+        }
+        return runs == 0 ? 0 : (double) anteSum / runs;
+    }
+
+    /**
+     * Returns how many hands of each type were played across all runs.
+     *
+     * @return Unmodifiable map of play counts by hand type
+     */
+    public Map<PokerHand.HandType, Long> getHandTypeCounts() {
+        return handTypeCounts;
+    }
+
+    /**
+     * Returns the total score of a run at a percentile, using the nearest-rank method.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return The run score at that percentile, or 0 if no runs were simulated
+     */
+    public long getScorePercentile(double percentile) {
+        assert percentile >= 0 && percentile <= 100 : "Percentile must be between 0 and 100";
+        if (runs == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * runs);
+        return sortedScores[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Contains the headless run simulator used to measure game balance.
+ *
+ * <p>The {@code javatro.core.simulation} package plays complete runs without a player, the save
+ * file or the terminal, and aggregates the results of many runs per deck.
+ *
+ * <p>The package includes:
+ *
+ * <ul>
+ *   <li>{@link javatro.core.simulation.RunSimulator} - Plays seeded runs in parallel on a fork join
+ *       pool.
+ *   <li>{@link javatro.core.simulation.PlayPolicy} - Decides each play or discard of a simulated
+ *       player.
+ *   <li>{@link javatro.core.simulation.GreedyPlayPolicy} - Plays the best available hand,
+ *       discarding weak hands first.
+ *   <li>{@link javatro.core.simulation.SimulationReport} - Win rate, antes reached, hand types
+ *       played and score percentiles of a deck.
+ * </ul>
+ */
+package javatro.core.simulation;
@@ -0,0 +1,114 @@
+package javatro.display;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Holds the ANSI art in the {@code /ansi} resources, read once and kept as bytes ready to write.
+ *
+ * <p>{@link #preload()} reads every {@code .txt} file in the directory on a background thread,
+ * so jokers, planet cards, the logo and the end screens are in memory before they are first
+ * shown. Art asked for before the preload reaches it is read on the spot instead, and each file
+ * is only ever read once.
+ */
+public final class AnsiArtCache {
+
+    private static final String DIRECTORY = "/ansi/";
+
+    /** Bytes of each file read, by file name. */
+    private static final Map<String, byte[]> ART = new ConcurrentHashMap<>();
+
+    private static boolean isPreloading;
+
+    private AnsiArtCache() {}
+
+    /** Starts reading every ANSI art file in the background, if it has not been started yet. */
+    public static synchronized void preload() {
+        if (isPreloading) {
+            return;
+        }
+        isPreloading = true;
+        Thread preloadThread = new Thread(AnsiArtCache::loadAll, "javatro-ansi-preload");
+        preloadThread.setDaemon(true); // Art not yet read is loaded when it is shown
+        preloadThread.start();
+    }
+
+    /**
+     * Returns the bytes of an ANSI art file. The array is shared, so it must not be changed.
+     *
+     * @param fileName The name of the file in the ansi resources directory
+     * @return The UTF-8 bytes of the file, or null if there is no such file
+     */
+    static byte[] get(String fileName) {
+        assert fileName != null && !fileName.isEmpty() : "Filename cannot be null or empty";
+        return ART.computeIfAbsent(fileName, AnsiArtCache::read);
+    }
+
+    /**
+     * Returns whether an ANSI art file has been read.
+     *
+     * @param fileName The name of the file in the ansi resources directory
+     * @return {@code true} if the file is in memory
+     */
+    static boolean isLoaded(String fileName) {
+        return ART.containsKey(fileName);
+    }
+
+    private static void loadAll() {
+        for (String fileName : listFiles()) {
+            get(fileName);
+        }
+    }
+
+    /** Returns the names of the art files, whether the resources are a directory or a jar. */
+    private static List<String> listFiles() {
+        List<String> fileNames = new ArrayList<>();
+        URL directory = AnsiArtCache.class.getResource(DIRECTORY);
+        if (directory == null) {
+            return fileNames;
+        }
+        try {
+            URI uri = directory.toURI();
+            if (uri.getScheme().equals("jar")) {
+                try (FileSystem jar = FileSystems.newFileSystem(uri, Map.of())) {
+                    addFileNames(jar.getPath(DIRECTORY), fileNames);
+                }
+            } else {
+                addFileNames(Path.of(uri), fileNames);
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            // Nothing is preloaded, and each file is read when it is first shown
+            fileNames.clear();
+        }
+        return fileNames;
+    }
+
+    private static void addFileNames(Path directory, List<String> fileNames) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".txt"))
+                    .forEach(fileNames::add);
+        }
+    }
+
+    private static byte[] read(String fileName) {
+        try (InputStream inputStream =
+                AnsiArtCache.class.getResourceAsStream(DIRECTORY + fileName)) {
+            return inputStream == null ? null : inputStream.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -28,7 +28,13 @@ import java.util.Arrays;
 public final class CardRenderer {
 
     /** Number of lines in the rendered card art. */
-    private static final int CARD_HEIGHT = 5;
+    static final int CARD_HEIGHT = 5;
+
+    /** Number of card ranks, used to index the pre-rendered art. */
+    private static final int RANK_COUNT = Card.Rank.values().length;
+
+    /** Art of every card, drawn once and indexed by suit then rank. */
+    private static final String[][] CARD_ART = drawAllCards();
 
     /**
      * Renders a card as an array of strings representing ASCII art lines.
@@ -41,18 +47,52 @@ public final class CardRenderer {
      *   <li>White background with colored symbols
      * </ul>
      *
+     * <p>The art of all 52 cards is drawn when the class loads, so this only copies it.
+     *
      * @param card the card to render (cannot be null)
      * @return String array of length 5 containing the rendered card lines
      * @throws NullPointerException if card parameter is null
      */
     public static String[] renderCard(Card card) {
         assert card != null : "Card cannot be null";
+        return cardArt(card).clone();
+    }
+
+    /**
+     * Returns one line of a card's pre-rendered art without copying the whole card.
+     *
+     * @param card the card to render
+     * @param line the line of the art, from 0 to 4
+     * @return the rendered line
+     */
+    static String renderLine(Card card, int line) {
+        assert card != null : "Card cannot be null";
+        assert line >= 0 && line < CARD_HEIGHT : "Card art line out of range: " + line;
+        return cardArt(card)[line];
+    }
+
+    private static String[] cardArt(Card card) {
         assert card.rank() != null : "Card rank cannot be null";
         assert card.suit() != null : "Card suit cannot be null";
+        return CARD_ART[card.suit().ordinal() * RANK_COUNT + card.rank().ordinal()];
+    }
+
+    private static String[][] drawAllCards() {
+        Card.Suit[] suits = Card.Suit.values();
+        Card.Rank[] ranks = Card.Rank.values();
+        String[][] art = new String[suits.length * ranks.length][];
+        for (Card.Suit suit : suits) {
+            for (Card.Rank rank : ranks) {
+                art[suit.ordinal() * ranks.length + rank.ordinal()] = drawCard(rank, suit);
+            }
+        }
+        return art;
+    }
 
-        String rank = card.rank().getSymbol();
-        String suitSymbol = getSuitSymbol(card.suit());
-        String colour = getColour(card.suit());
+    private static String[] drawCard(Card.Rank cardRank, Card.Suit suit) {
+        String rank = cardRank.getSymbol();
+        String suitSymbol = getSuitSymbol(suit);
+        String colour = getColour(suit);
 
         String[] cardArt = new String[CARD_HEIGHT];
         cardArt[0] = WHITE_B + String.format(" %s%s%-2s      ", colour, BOLD, rank) + END;
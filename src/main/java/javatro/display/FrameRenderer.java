@@ -0,0 +1,446 @@
+package javatro.display;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draws whole screens as frames, keeping the previous frame so a redraw can send only what
+ * changed.
+ *
+ * <p>Every frame first has its redundant style codes removed by {@link SgrEmitter}. In {@link
+ * Mode#FULL} mode the frame is then printed whole, scrolling the terminal like plain output. In
+ * {@link Mode#DIFF} mode the first frame is drawn at the top of a cleared terminal, and each later
+ * frame only sends a cursor move and the changed span of every line that differs from the frame
+ * before it. Output printed between frames, such as prompts, is counted, and the next frame is
+ * drawn in full if it may have scrolled the previous one off its place.
+ *
+ * <p>The mode is read from the {@code javatro.render} system property, and the terminal height
+ * from {@code javatro.rows}, the {@code LINES} environment variable or {@code stty size}, in that
+ * order. Setting {@code javatro.render.stats} prints the bytes of every frame to the error stream.
+ */
+public class FrameRenderer {
+
+    /** How frames are sent to the terminal. */
+    public enum Mode {
+        /** Print every frame in full, as plain scrolling output. */
+        FULL,
+        /** Redraw frames in place, sending only the changed spans. */
+        DIFF
+    }
+
+    /**
+     * Bytes of one or more frames.
+     *
+     * @param frameBytes Bytes of the frames as drawn by the screens
+     * @param sentBytes Bytes sent to the terminal for the frames
+     */
+    public record FrameStats(long frameBytes, long sentBytes) {
+        /**
+         * Returns the bytes saved by sending only the changes.
+         *
+         * @return The bytes not sent
+         */
+        public long savedBytes() {
+            return frameBytes - sentBytes;
+        }
+    }
+
+    private static final String ESC = "\033[";
+    private static final String RESET = ESC + "0m";
+    private static final String CLEAR_SCREEN = ESC + "H" + ESC + "2J";
+    private static final String CLEAR_LINE_END = ESC + "K";
+    private static final String CLEAR_SCREEN_END = ESC + "J";
+    /** Height assumed when the terminal cannot be asked, tall enough for the game screen. */
+    static final int DEFAULT_ROWS = 50;
+    private static final long STTY_TIMEOUT_MILLIS = 1000;
+
+    private final Mode mode;
+    private final int rows;
+    private final boolean printStats;
+
+    /** Lines of the frame on the terminal, or null if the terminal must be redrawn. */
+    private List<String> previousLines;
+    /** Lines printed outside frames since the last frame, if tracked. */
+    private LineCounter strayLines;
+    private FrameStats lastFrame = new FrameStats(0, 0);
+    private long totalFrameBytes;
+    private long totalSentBytes;
+
+    /**
+     * Creates a renderer configured by the system properties.
+     *
+     * @return The renderer
+     */
+    public static FrameRenderer fromSystemProperties() {
+        String name = System.getProperty("javatro.render", Mode.FULL.name());
+        Mode mode;
+        try {
+            mode = Mode.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown render mode " + name + ", using " + Mode.FULL);
+            mode = Mode.FULL;
+        }
+        // Only diff mode needs the height, so full mode never asks the terminal
+        int rows = mode == Mode.DIFF ? terminalRows() : DEFAULT_ROWS;
+        FrameRenderer renderer =
+                new FrameRenderer(mode, rows, Boolean.getBoolean("javatro.render.stats"));
+        if (mode == Mode.DIFF) {
+            renderer.trackStrayLines();
+        }
+        return renderer;
+    }
+
+    /**
+     * Creates a renderer.
+     *
+     * @param mode How frames are sent
+     * @param rows The height of the terminal in lines
+     * @param printStats Whether to print the bytes of every frame to the error stream
+     */
+    public FrameRenderer(Mode mode, int rows, boolean printStats) {
+        assert mode != null : "Render mode cannot be null";
+        assert rows > 0 : "Terminal height must be positive";
+        this.mode = mode;
+        this.rows = rows;
+        this.printStats = printStats;
+    }
+
+    /**
+     * Draws a frame, capturing everything the given drawing prints to standard output.
+     *
+     * @param draw Prints the frame
+     */
+    public void render(Runnable draw) {
+        assert draw != null : "Frame drawing cannot be null";
+        PrintStream out = System.out;
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(frame, true, StandardCharsets.UTF_8));
+        try {
+            draw.run();
+        } finally {
+            System.setOut(out);
+        }
+        String output = encode(frame.toString(StandardCharsets.UTF_8));
+        out.print(output);
+        out.flush();
+        if (strayLines != null) {
+            strayLines.reset();
+        }
+        if (printStats) {
+            System.err.printf(
+                    "Frame: %d bytes drawn, %d bytes sent%n",
+                    lastFrame.frameBytes(), lastFrame.sentBytes());
+        }
+    }
+
+    /**
+     * Returns what to send to the terminal to show a frame, and records the frame as shown.
+     *
+     * @param frame The full text of the frame
+     * @return The text to send
+     */
+    public String encode(String frame) {
+        assert frame != null : "Frame cannot be null";
+        String minimized = SgrEmitter.minimize(frame);
+        String output;
+        if (mode == Mode.FULL) {
+            output = minimized;
+        } else {
+            List<String> lines = splitLines(minimized);
+            if (previousLines == null || mayHaveScrolled(lines.size())) {
+                output = CLEAR_SCREEN + minimized;
+            } else {
+                output = diff(previousLines, lines);
+            }
+            previousLines = lines;
+        }
+
+        long frameBytes = frame.getBytes(StandardCharsets.UTF_8).length;
+        long sentBytes = output.getBytes(StandardCharsets.UTF_8).length;
+        lastFrame = new FrameStats(frameBytes, sentBytes);
+        totalFrameBytes += frameBytes;
+        totalSentBytes += sentBytes;
+        return output;
+    }
+
+    /** Makes the next frame redraw the whole terminal, such as after it was cleared. */
+    public void invalidate() {
+        previousLines = null;
+    }
+
+    /**
+     * Returns the bytes of the last frame.
+     *
+     * @return The bytes drawn and sent for the last frame
+     */
+    public FrameStats getLastFrameStats() {
+        return lastFrame;
+    }
+
+    /**
+     * Returns the bytes of every frame so far.
+     *
+     * @return The bytes drawn and sent for all frames
+     */
+    public FrameStats getTotalStats() {
+        return new FrameStats(totalFrameBytes, totalSentBytes);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns whether output printed since the last frame may have scrolled it, counting the line
+     * the player's input moves down by.
+     */
+    private boolean mayHaveScrolled(int newHeight) {
+        int stray = strayLines == null ? 0 : strayLines.get() + 1;
+        return Math.max(previousLines.size() + stray, newHeight) >= rows;
+    }
+
+    /** Counts the lines printed to standard output from now on, outside frames. */
+    private void trackStrayLines() {
+        strayLines = new LineCounter(System.out);
+        System.setOut(new PrintStream(strayLines, true, StandardCharsets.UTF_8));
+    }
+
+    private static String diff(List<String> oldLines, List<String> newLines) {
+        StringBuilder out = new StringBuilder();
+        String style = "";
+        for (int row = 0; row < newLines.size(); row++) {
+            String line = newLines.get(row);
+            String old = row < oldLines.size() ? oldLines.get(row) : null;
+            if (!line.equals(old)) {
+                appendChangedSpan(out, row, old == null ? "" : old, line, style);
+            }
+            style = styleAfter(style, line);
+        }
+        // Leave the cursor below the frame and clear what was printed there
+        out.append(ESC).append(newLines.size() + 1).append(";1H");
+        out.append(RESET).append(CLEAR_SCREEN_END);
+        return out.toString();
+    }
+
+    /**
+     * Sends the part of a line that changed: from the first difference to the last one when the
+     * line keeps its width, or to the end of the line otherwise.
+     */
+    private static void appendChangedSpan(
+            StringBuilder out, int row, String old, String line, String style) {
+        BitSet oldBoundaries = boundaries(old);
+        BitSet newBoundaries = boundaries(line);
+
+        int start = commonPrefix(old, line);
+        while (!newBoundaries.get(start) || !oldBoundaries.get(start)) {
+            start--;
+        }
+        int column = width(line, 0, start);
+        if (column < 0) {
+            start = 0;
+            column = 0;
+        }
+
+        int oldWidth = width(old, 0, old.length());
+        int newWidth = width(line, 0, line.length());
+        int end = line.length();
+        boolean sameWidth = oldWidth >= 0 && oldWidth == newWidth;
+        if (sameWidth) {
+            int suffix = commonSuffix(old, line, start);
+            end = line.length() - suffix;
+            while (!newBoundaries.get(end)
+                    || !oldBoundaries.get(old.length() - (line.length() - end))) {
+                end++;
+            }
+        }
+
+        out.append(ESC).append(row + 1).append(';').append(column + 1).append('H');
+        out.append(RESET).append(styleAfter(style, line.substring(0, start)));
+        out.append(line, start, end);
+        if (!sameWidth) {
+            out.append(RESET).append(CLEAR_LINE_END);
+        }
+    }
+
+    /** Returns the text positions that are not inside an escape sequence or surrogate pair. */
+    private static BitSet boundaries(String text) {
+        BitSet positions = new BitSet(text.length() + 1);
+        for (int i = 0; i < text.length(); i = nextToken(text, i)) {
+            positions.set(i);
+        }
+        positions.set(text.length());
+        return positions;
+    }
+
+    /** Returns where the escape sequence or character starting at a position ends. */
+    private static int nextToken(String text, int i) {
+        if (text.startsWith(ESC, i)) {
+            int end = i + ESC.length();
+            while (end < text.length() && !Character.isLetter(text.charAt(end))) {
+                end++;
+            }
+            return Math.min(end + 1, text.length());
+        }
+        return Character.isHighSurrogate(text.charAt(i)) && i + 1 < text.length() ? i + 2 : i + 1;
+    }
+
+    /**
+     * Returns the columns a part of a line takes, or -1 if it holds characters whose width the
+     * terminal decides, such as the hair spaces used to align card art.
+     */
+    private static int width(String text, int from, int to) {
+        int columns = 0;
+        int i = from;
+        while (i < to) {
+            int next = nextToken(text, i);
+            char c = text.charAt(i);
+            if (c == '\u200A' || c == '\u2009') {
+                return -1;
+            }
+            if (c != '\033') {
+                columns += next - i == 2 ? 2 : 1;
+            }
+            i = next;
+        }
+        return columns;
+    }
+
+    /** Returns the styles in effect after a part of a line, given those before it. */
+    private static String styleAfter(String style, String text) {
+        StringBuilder active = new StringBuilder(style);
+        int i = text.indexOf(ESC);
+        while (i >= 0) {
+            int end = nextToken(text, i);
+            String sequence = text.substring(i, end);
+            if (sequence.endsWith("m")) {
+                if (sequence.equals(RESET)) {
+                    active.setLength(0);
+                } else {
+                    active.append(sequence);
+                }
+            }
+            i = text.indexOf(ESC, end);
+        }
+        return active.toString();
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Returns the length of the common end of two strings, not reaching before {@code from}. */
+    private static int commonSuffix(String a, String b, int from) {
+        int limit = Math.min(a.length(), b.length()) - from;
+        int i = 0;
+        while (i < limit && a.charAt(a.length() - 1 - i) == b.charAt(b.length() - 1 - i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static List<String> splitLines(String frame) {
+        List<String> lines = new ArrayList<>(List.of(frame.split("\n", -1)));
+        if (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+
+    private static int terminalRows() {
+        String rows = System.getProperty("javatro.rows", System.getenv("LINES"));
+        if (rows != null) {
+            try {
+                return Math.max(1, Integer.parseInt(rows.trim()));
+            } catch (NumberFormatException e) {
+                // Fall back to asking the terminal
+            }
+        }
+        int queried = queryTerminalRows();
+        return queried > 0 ? queried : DEFAULT_ROWS;
+    }
+
+    /**
+     * Asks the terminal for its height with {@code stty}, reading from {@code /dev/tty} since
+     * standard input is not passed to the child process. Its output is small enough to stay in the
+     * pipe, so it is only read once the process has exited, and one that hangs is killed.
+     *
+     * @return The height in lines, or 0 if there is no terminal or it cannot be asked
+     */
+    private static int queryTerminalRows() {
+        if (System.console() == null) {
+            return 0;
+        }
+        Process stty = null;
+        try {
+            stty =
+                    new ProcessBuilder("sh", "-c", "stty size < /dev/tty")
+                            .redirectError(ProcessBuilder.Redirect.DISCARD)
+                            .start();
+            if (!stty.waitFor(STTY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    || stty.exitValue() != 0) {
+                return 0;
+            }
+            String size = new String(stty.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            // stty prints the rows, then the columns
+            return Integer.parseInt(size.trim().split("\\s+")[0]);
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            if (stty != null) {
+                stty.destroyForcibly();
+            }
+        }
+    }
+
+    /** Passes output through while counting the lines it ends. */
+    private static final class LineCounter extends FilterOutputStream {
+        private int lines;
+
+        LineCounter(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (b == '\n') {
+                lines++;
+            }
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+            out.write(b, off, len);
+        }
+
+        int get() {
+            return lines;
+        }
+
+        void reset() {
+            lines = 0;
+        }
+    }
+}
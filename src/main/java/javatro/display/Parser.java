@@ -57,12 +57,12 @@ public class Parser {
     }
 
     /**
-     * Handles user input for menu navigation and notifies observers.
+     * Handles user input for menu navigation and notifies observers. The options are shown with
+     * the screen's frame.
      *
      * <p>This method:
      *
      * <ul>
-     *   <li>Displays current screen options
      *   <li>Validates input is within allowed range
      *   <li>Notifies listeners of valid input
      *   <li>Handles input errors with appropriate error messages
@@ -79,8 +79,6 @@ public class Parser {
             throw JavatroException.invalidOptionsSize();
         }
 
-        getCurrentScreen().displayOptions();
-
         while (!JavatroManager.runningTests) {
             try {
                 System.out.printf(MENU_PROMPT, maxRange);
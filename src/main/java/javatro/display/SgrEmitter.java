@@ -0,0 +1,278 @@
+package javatro.display;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rewrites styled text so it only sends the SGR escape codes that change the terminal's
+ * attributes.
+ *
+ * <p>The screens wrap nearly every fragment in its own colour and {@link UI#END} codes, so most
+ * codes they print either repeat the attributes already set or are cancelled before any text uses
+ * them. The emitter follows the attributes the text asks for, and before each character writes a
+ * single code moving the terminal from its current attributes to the wanted ones, choosing
+ * whichever of switching single attributes off or resetting and setting the rest is shorter.
+ *
+ * <p>Nothing is assumed about the attributes in effect before the text, so the first character
+ * written is preceded by a full reset. The text leaves the terminal with the same attributes as
+ * the original would.
+ */
+public final class SgrEmitter {
+
+    private static final String CSI = "\033[";
+
+    private final StringBuilder out = new StringBuilder();
+    /** Attributes of the terminal, or null before anything is written. */
+    private Attributes current;
+    /** Attributes asked for by the codes read since the last character. */
+    private Attributes wanted = new Attributes();
+
+    /**
+     * Rewrites text with the fewest SGR codes giving the same output.
+     *
+     * @param text The styled text
+     * @return The text with redundant codes removed
+     */
+    public static String minimize(String text) {
+        assert text != null : "Text cannot be null";
+        if (text.indexOf('\033') < 0) {
+            return text;
+        }
+        SgrEmitter emitter = new SgrEmitter().append(text);
+        // Codes with no text to style are left for whatever is printed after them
+        return emitter.current == null ? text : emitter.finish();
+    }
+
+    /**
+     * Reads styled text, writing its characters with only the codes they need.
+     *
+     * @param text The styled text
+     * @return This emitter
+     */
+    public SgrEmitter append(String text) {
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\033' && text.startsWith(CSI, i)) {
+                int end = i + CSI.length();
+                while (end < text.length() && !isFinalByte(text.charAt(end))) {
+                    end++;
+                }
+                if (end == text.length()) {
+                    // An unfinished sequence is passed on as it is
+                    writeStyle();
+                    out.append(text, i, end);
+                    return this;
+                }
+                if (text.charAt(end) == 'm') {
+                    wanted.apply(text.substring(i + CSI.length(), end));
+                } else {
+                    // Erasing fills with the background, so the attributes must be current
+                    writeStyle();
+                    out.append(text, i, end + 1);
+                }
+                i = end + 1;
+            } else {
+                writeStyle();
+                out.append(c);
+                i++;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes any attributes still wanted at the end and returns the rewritten text.
+     *
+     * @return The text written so far
+     */
+    public String finish() {
+        if (current != null) {
+            writeStyle();
+        }
+        return out.toString();
+    }
+
+    /** Writes the code moving the terminal to the wanted attributes, if they differ. */
+    private void writeStyle() {
+        if (wanted.equals(current)) {
+            return;
+        }
+        List<String> reset = new ArrayList<>();
+        reset.add("0");
+        wanted.addSetParameters(reset);
+        String code = toCode(reset);
+        if (current != null) {
+            List<String> changes = current.changesTo(wanted);
+            if (changes != null && toCode(changes).length() < code.length()) {
+                code = toCode(changes);
+            }
+        }
+        out.append(code);
+        current = wanted.copy();
+    }
+
+    private static String toCode(List<String> parameters) {
+        return CSI + String.join(";", parameters) + "m";
+    }
+
+    private static boolean isFinalByte(char c) {
+        return c >= '@' && c <= '~';
+    }
+
+    /** The SGR attributes that affect how the screens look. */
+    private static final class Attributes {
+        private boolean bold;
+        private boolean italic;
+        private boolean underline;
+        /** Foreground parameters, or null for the default colour. */
+        private String foreground;
+        /** Background parameters, or null for the default colour. */
+        private String background;
+        /** Other parameters, which only a reset switches off. */
+        private String others = "";
+
+        /** Applies the parameters of one SGR code. */
+        void apply(String parameters) {
+            String[] values = parameters.isEmpty() ? new String[] {"0"} : parameters.split(";");
+            for (int i = 0; i < values.length; i++) {
+                String value = values[i].isEmpty() ? "0" : values[i];
+                switch (value) {
+                    case "0" -> reset();
+                    case "1" -> bold = true;
+                    case "3" -> italic = true;
+                    case "4" -> underline = true;
+                    case "22" -> bold = false;
+                    case "23" -> italic = false;
+                    case "24" -> underline = false;
+                    case "39" -> foreground = null;
+                    case "49" -> background = null;
+                    case "38", "48" -> {
+                        int length = colourLength(values, i);
+                        String colour = String.join(";", List.of(values).subList(i, i + length));
+                        if (value.equals("38")) {
+                            foreground = colour;
+                        } else {
+                            background = colour;
+                        }
+                        i += length - 1;
+                    }
+                    default -> applyColour(value);
+                }
+            }
+        }
+
+        private void applyColour(String value) {
+            int code;
+            try {
+                code = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                code = -1;
+            }
+            if (code >= 30 && code <= 37 || code >= 90 && code <= 97) {
+                foreground = value;
+            } else if (code >= 40 && code <= 47 || code >= 100 && code <= 107) {
+                background = value;
+            } else {
+                others = others + ";" + value;
+            }
+        }
+
+        /** Returns how many parameters an extended colour starting at an index takes. */
+        private static int colourLength(String[] values, int start) {
+            int length = start + 1 < values.length && values[start + 1].equals("5") ? 3 : 5;
+            return Math.min(length, values.length - start);
+        }
+
+        private void reset() {
+            bold = false;
+            italic = false;
+            underline = false;
+            foreground = null;
+            background = null;
+            others = "";
+        }
+
+        /** Adds the parameters setting these attributes after a reset. */
+        void addSetParameters(List<String> parameters) {
+            if (bold) {
+                parameters.add("1");
+            }
+            if (italic) {
+                parameters.add("3");
+            }
+            if (underline) {
+                parameters.add("4");
+            }
+            if (foreground != null) {
+                parameters.add(foreground);
+            }
+            if (background != null) {
+                parameters.add(background);
+            }
+            if (!others.isEmpty()) {
+                parameters.add(others.substring(1));
+            }
+        }
+
+        /**
+         * Returns the parameters changing these attributes into others without a reset, or null
+         * if that needs one.
+         */
+        List<String> changesTo(Attributes target) {
+            if (!others.equals(target.others)) {
+                return null;
+            }
+            List<String> parameters = new ArrayList<>();
+            if (bold != target.bold) {
+                parameters.add(target.bold ? "1" : "22");
+            }
+            if (italic != target.italic) {
+                parameters.add(target.italic ? "3" : "23");
+            }
+            if (underline != target.underline) {
+                parameters.add(target.underline ? "4" : "24");
+            }
+            if (!Objects.equals(foreground, target.foreground)) {
+                parameters.add(target.foreground == null ? "39" : target.foreground);
+            }
+            if (!Objects.equals(background, target.background)) {
+                parameters.add(target.background == null ? "49" : target.background);
+            }
+            return parameters;
+        }
+
+        Attributes copy() {
+            Attributes copy = new Attributes();
+            copy.bold = bold;
+            copy.italic = italic;
+            copy.underline = underline;
+            copy.foreground = foreground;
+            copy.background = background;
+            copy.others = others;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Attributes other)) {
+                return false;
+            }
+            return bold == other.bold
+                    && italic == other.italic
+                    && underline == other.underline
+                    && Objects.equals(foreground, other.foreground)
+                    && Objects.equals(background, other.background)
+                    && others.equals(other.others);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bold, italic, underline, foreground, background, others);
+        }
+    }
+}
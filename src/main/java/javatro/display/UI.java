@@ -19,12 +19,10 @@ import javatro.display.screens.StartScreen;
 import javatro.display.screens.WinGameScreen;
 import javatro.display.screens.WinRoundScreen;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
 
 /**
  * The {@code UI} class is responsible for managing and displaying different screens in the
@@ -83,6 +81,24 @@ public class UI {
     /** Parser instance for handling user input. */
     private static final Parser PARSER = new Parser();
 
+    /** Number of measured texts whose display length is remembered. */
+    private static final int DISPLAY_LENGTH_CACHE_SIZE = 512;
+
+    /** Display lengths of recently measured text, least recently used first. */
+    private static final Map<String, Integer> DISPLAY_LENGTHS =
+            new LinkedHashMap<>(DISPLAY_LENGTH_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                    return size() > DISPLAY_LENGTH_CACHE_SIZE;
+                }
+            };
+
+    /** Gap printed between cards laid out side by side. */
+    private static final String CARD_SEPARATOR = BLACK_B + "  " + END;
+
+    /** Renderer drawing each screen as a frame. */
+    private static final FrameRenderer FRAME_RENDERER = FrameRenderer.fromSystemProperties();
+
     // region SCREEN INSTANCES
     /** Predefined game-related screens. */
     private static final GameScreen GAME_SCREEN;
@@ -123,6 +139,8 @@ public class UI {
             e.printStackTrace();
             throw new RuntimeException("Failed to initialize screens", e);
         }
+        // Read the art the screens show while the first one waits for input
+        AnsiArtCache.preload();
     }
     // endregion
 
@@ -198,7 +216,8 @@ public class UI {
         // Bottom border
         output.append(BLACK_B).append(bottomBorder).append(END).append("\n");
 
-        System.out.print(output);
+        // Drop the colour codes each line repeats from the one before it
+        System.out.print(SgrEmitter.minimize(output.toString()));
     }
 
     /**
@@ -222,16 +241,13 @@ public class UI {
         int paddingSize = (width - displayLength - 2) / 2;
         int extraPadding = (width - displayLength - 2) % 2;
 
-        return String.format(
-                "%s%s%s%s%s%s%s%s",
-                BLACK_B,
-                VERTICAL,
-                " ".repeat(paddingSize),
-                text,
-                BLACK_B,
-                " ".repeat(paddingSize + extraPadding),
-                VERTICAL,
-                END);
+        StringBuilder line =
+                new StringBuilder(text.length() + width + 2 * BLACK_B.length() + END.length());
+        line.append(BLACK_B).append(VERTICAL);
+        appendSpaces(line, paddingSize);
+        line.append(text).append(BLACK_B);
+        appendSpaces(line, paddingSize + extraPadding);
+        return line.append(VERTICAL).append(END).toString();
     }
 
     /**
@@ -248,25 +264,57 @@ public class UI {
         if (getDisplayLength(text) > width) {
             return text.substring(0, width);
         }
-        return String.format("%-" + width + "s", text);
+        if (text.length() >= width) {
+            return text;
+        }
+        StringBuilder padded = new StringBuilder(width).append(text);
+        appendSpaces(padded, width - text.length());
+        return padded.toString();
+    }
+
+    private static void appendSpaces(StringBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(' ');
+        }
     }
 
     /**
      * Calculates the visible length of text, ignoring ANSI codes and special Unicode characters.
      *
+     * <p>Most text measured is the same borders, titles and option lines on every redraw, so the
+     * lengths of recently measured text are remembered.
+     *
      * @param text The text to measure
      * @return The effective display length
      */
     public static int getDisplayLength(String text) {
         assert text != null : "Text cannot be null";
 
-        // Remove ANSI escape sequences
-        String strippedText = text.replaceAll("\033\\[[;\\d]*m", "");
+        synchronized (DISPLAY_LENGTHS) {
+            Integer cached = DISPLAY_LENGTHS.get(text);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        int length = measureDisplayLength(text);
+        synchronized (DISPLAY_LENGTHS) {
+            DISPLAY_LENGTHS.put(text, length);
+        }
+        return length;
+    }
 
+    /** Measures text in one pass, skipping colour codes as they are reached. */
+    private static int measureDisplayLength(String text) {
         double length = 0;
-        for (int i = 0; i < strippedText.length(); i++) {
-            char c = strippedText.charAt(i);
-
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int codeEnd = c == '\033' ? colourCodeEnd(text, i) : -1;
+
+            if (codeEnd >= 0) { // ANSI colour code
+                i = codeEnd;
+                continue;
+            }
             // Handle special Unicode characters
             if (c == '\u200A') { // Hair space
                 length += 0.3;
@@ -278,13 +326,37 @@ public class UI {
             } else { // Regular character
                 length += 1;
             }
+            i++;
         }
         return (int) Math.round(length);
     }
 
+    /**
+     * Returns where the colour code starting at a position ends, or -1 if there is none. Only
+     * codes made of digits and semicolons are taken as colour codes.
+     */
+    private static int colourCodeEnd(String text, int start) {
+        if (start + 1 >= text.length() || text.charAt(start + 1) != '[') {
+            return -1;
+        }
+        for (int i = start + 2; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == 'm') {
+                return i + 1;
+            }
+            if (c != ';' && (c < '0' || c > '9')) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Generates ASCII art lines for displaying cards.
      *
+     * <p>The lines only join the pre-rendered art of each card. Their repeated colour codes are
+     * removed when they are printed, by the frame or bordered content holding them.
+     *
      * @param holdingHand The list of cards to render
      * @return List of strings representing card art lines
      */
@@ -292,22 +364,19 @@ public class UI {
         assert holdingHand != null : "Card list cannot be null";
         assert !holdingHand.isEmpty() : "Card list cannot be empty";
 
-        List<String> cardArtLines = new ArrayList<>();
-        final int CARD_LINE_COUNT = 5; // Number of lines per card
-
-        // Render all cards first
-        String[][] renderedCards = new String[holdingHand.size()][CARD_LINE_COUNT];
-        for (int i = 0; i < holdingHand.size(); i++) {
-            renderedCards[i] = CardRenderer.renderCard(holdingHand.get(i));
-        }
+        List<String> cardArtLines = new ArrayList<>(CardRenderer.CARD_HEIGHT);
 
-        // Combine lines horizontally
-        for (int line = 0; line < CARD_LINE_COUNT; line++) {
-            StringBuilder combinedLine = new StringBuilder();
-            for (int cardIdx = 0; cardIdx < renderedCards.length; cardIdx++) {
-                combinedLine.append(renderedCards[cardIdx][line]);
-                if (cardIdx < renderedCards.length - 1) {
-                    combinedLine.append(BLACK_B).append("  ").append(END);
+        // Join the pre-rendered lines of every card horizontally
+        for (int line = 0; line < CardRenderer.CARD_HEIGHT; line++) {
+            int capacity = CARD_SEPARATOR.length() * (holdingHand.size() - 1);
+            for (Card card : holdingHand) {
+                capacity += CardRenderer.renderLine(card, line).length();
+            }
+            StringBuilder combinedLine = new StringBuilder(capacity);
+            for (int cardIdx = 0; cardIdx < holdingHand.size(); cardIdx++) {
+                combinedLine.append(CardRenderer.renderLine(holdingHand.get(cardIdx), line));
+                if (cardIdx < holdingHand.size() - 1) {
+                    combinedLine.append(CARD_SEPARATOR);
                 }
             }
             cardArtLines.add(combinedLine.toString());
@@ -316,21 +385,22 @@ public class UI {
     }
 
     /**
-     * Prints ANSI art from a resource file.
+     * Prints ANSI art from a resource file. The art is read once by {@link AnsiArtCache} and
+     * written as it is stored.
      *
      * @param fileName The name of the file in the ansi resources directory
      */
     public static void printANSI(String fileName) {
         assert fileName != null && !fileName.isEmpty() : "Filename cannot be null or empty";
 
-        try (InputStream inputStream = UI.class.getResourceAsStream("/ansi/" + fileName)) {
-            if (inputStream == null) {
+        try {
+            byte[] art = AnsiArtCache.get(fileName);
+            if (art == null) {
                 throw JavatroException.errorLoadingLogo(fileName);
             }
-            try (Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8)) {
-                System.out.println(scanner.useDelimiter("\\A").next());
-            }
-        } catch (IOException | JavatroException e) {
+            System.out.write(art, 0, art.length);
+            System.out.println();
+        } catch (JavatroException e) {
             System.err.println("Error loading ANSI art: " + e.getMessage());
             System.out.println("ANSI TEXT"); // Fallback output
         }
@@ -362,7 +432,11 @@ public class UI {
         //                ORANGE, UNDERLINE, screen.getClass().getSimpleName(), END);
 
         currentScreen = screen;
-        currentScreen.displayScreen();
+        FRAME_RENDERER.render(
+                () -> {
+                    screen.displayScreen();
+                    screen.displayOptions();
+                });
         PARSER.getOptionInput();
     }
 
@@ -370,6 +444,7 @@ public class UI {
     public static void clearScreen() {
         System.out.print("\033[H\033[2J");
         System.out.flush();
+        FRAME_RENDERER.invalidate();
     }
     // endregion
 
@@ -389,6 +464,13 @@ public class UI {
         return previousScreen;
     }
 
+    /**
+     * @return The renderer drawing the screens
+     */
+    public static FrameRenderer getFrameRenderer() {
+        return FRAME_RENDERER;
+    }
+
     /**
      * @return The input parser instance
      */
@@ -44,7 +44,12 @@
  * <ul>
  *   <li>{@link javatro.display.CardRenderer} - Renders individual cards as ASCII art
  *   <li>{@link javatro.display.UI} formatting methods - Handle complex text layout and borders
- *   <li>ANSI art loading and display functionality
+ *   <li>{@link javatro.display.FrameRenderer} - Draws each screen as a frame, optionally sending
+ *       only the lines that changed since the last one
+ *   <li>{@link javatro.display.SgrEmitter} - Removes colour codes that do not change the
+ *       terminal's attributes from styled text
+ *   <li>{@link javatro.display.AnsiArtCache} - Reads the ANSI art resources once, in the
+ *       background at startup, and keeps them ready to print
  * </ul>
  *
  * <h3>ASCII Art Resources</h3>
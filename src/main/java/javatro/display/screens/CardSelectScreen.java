@@ -84,7 +84,7 @@ public abstract class CardSelectScreen extends Screen {
      * @param sortOrder Desired sorting order (null preserves current order)
      */
     public void updateHoldingHand(SortOrder sortOrder) {
-        this.holdingHand = new ArrayList<>(JavatroCore.currentRound.getPlayerHandCards());
+        this.holdingHand = new ArrayList<>(JavatroCore.getCurrentRound().getPlayerHandCards());
         this.currentSortOrder = sortOrder != null ? sortOrder : SortOrder.ORIGINAL;
 
         if (sortOrder != null && sortOrder != SortOrder.ORIGINAL) {
@@ -108,7 +108,7 @@ public abstract class CardSelectScreen extends Screen {
                     : "Sorting should not change card count";
         }
 
-        JavatroCore.currentRound.setPlayerHandCards(this.holdingHand);
+        JavatroCore.getCurrentRound().setPlayerHandCards(this.holdingHand);
     }
 
     /**
@@ -33,7 +33,7 @@ import javatro.core.JavatroCore;
 import javatro.core.JavatroException;
 import javatro.manager.options.ReturnOption;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Displays the current deck composition in a formatted table view showing card distribution by suit
@@ -102,10 +102,10 @@ public class DeckViewScreen extends Screen {
      */
     @Override
     public void displayScreen() {
-        Deck deck = JavatroCore.currentRound.getDeck();
+        Deck deck = JavatroCore.getCurrentRound().getDeck();
         assert deck != null : "Current deck should not be null";
 
-        ArrayList<Card> remainingCards = deck.getWholeDeck();
+        List<Card> remainingCards = deck.getRemainingCardsView();
         assert remainingCards != null : "Deck card list should not be null";
 
         // Build count matrix and calculate totals
@@ -121,7 +121,7 @@ public class DeckViewScreen extends Screen {
      * @param cards List of cards in the deck
      * @return DeckCountData containing counts and totals
      */
-    DeckCountData buildCountMatrix(ArrayList<Card> cards) {
+    DeckCountData buildCountMatrix(List<Card> cards) {
         int[][] counts = new int[SUIT_COUNT][RANK_COUNT];
         int[] suitTotals = new int[SUIT_COUNT];
         int[] rankTotals = new int[RANK_COUNT];
@@ -132,7 +132,7 @@ public class GameScreen extends Screen implements PropertyChangeListener {
             colourb = BLUE_B;
         } else if (Objects.equals(roundName, "LARGE BLIND")) {
             colourb = ORANGE_B;
-        } else if (Objects.equals(roundName, JavatroCore.currentRound.getRoundName())) {
+        } else if (Objects.equals(roundName, JavatroCore.getCurrentRound().getRoundName())) {
             colourb = PURPLE_B;
         }
 
@@ -259,14 +259,14 @@ public class GameScreen extends Screen implements PropertyChangeListener {
         // Build extra content lines for deck name and joker effects.
         List<String> extraContent = new ArrayList<>();
         extraContent.add(BOLD + "Current Deck:");
-        extraContent.add(ITALICS + JavatroCore.deck.getDeckName().getName());
+        extraContent.add(ITALICS + JavatroCore.getDeck().getDeckName().getName());
         extraContent.add("");
         extraContent.add("");
         extraContent.add(BOLD + "Jokers' Effects:");
 
         // Iterate through held jokers and add their effect description or "Empty Joker Slot" if
         // null.
-        List<Joker> jokers = JavatroCore.heldJokers.getJokers();
+        List<Joker> jokers = JavatroCore.getHeldJokers().getJokers();
         for (int i = 0; i < 5; i++) {
             if (i < jokers.size() && jokers.get(i) != null) {
                 extraContent.add(ITALICS + jokers.get(i).toString());
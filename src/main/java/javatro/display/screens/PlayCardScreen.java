@@ -2,6 +2,7 @@
 package javatro.display.screens;
 
 import javatro.core.JavatroException;
+import javatro.manager.options.HintOption;
 
 /**
  * The {@code PlayCardScreen} class represents a screen where the user selects cards to play. It
@@ -20,6 +21,9 @@ public class PlayCardScreen extends CardSelectScreen {
      */
     public PlayCardScreen() throws JavatroException {
         super("Select Cards to Play");
+
+        // Offer a hint just before the option to return to the game
+        commandMap.add(commandMap.size() - 1, new HintOption(this));
     }
 
     /**
@@ -38,8 +38,11 @@ public class RunListScreen extends Screen {
         // Fetch the total number of saved runs
         int numberOfRuns = storage.getNumberOfRuns();
 
-        // Create menu options for each run and add them to the command map
+        // Create menu options for each readable run and add them to the command map
         for (int i = 1; i <= numberOfRuns; i++) {
+            if (storage.isRunCorrupted(i - 1)) {
+                continue;
+            }
             ViewRunOption newRunOption = new ViewRunOption();
             newRunOption.setRunNumber(i);
             super.commandMap.add(newRunOption);
@@ -75,12 +75,14 @@ public class RunSelectScreen extends Screen {
 
     /**
      * Displays the screen content based on whether saved runs are available or not. If runs are
-     * found, formatted run information is displayed. Otherwise, a message prompting the user to
-     * start a new run is shown.
+     * found, formatted run information is displayed, skipping to the next run that can be read.
+     * Otherwise, a message prompting the user to start a new run is shown.
      */
     @Override
     public void displayScreen() {
-        if (storage.getNumberOfRuns() > 0) {
+        int readableRun = storage.findReadableRun(runNumber, 1);
+        if (readableRun > 0) {
+            runNumber = readableRun;
             List<String> optionLines = DisplayFormatter.formatRunInformation(storage, runNumber);
             printBorderedContent("RUN #" + runNumber, optionLines);
         } else {
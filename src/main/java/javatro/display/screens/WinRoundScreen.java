@@ -76,7 +76,7 @@ public class WinRoundScreen extends Screen {
                 "You got a " + CYAN + BOLD + randomJoker.getName() + END + BLACK_B + " Joker card!";
 
         try {
-            JavatroCore.heldJokers.add(randomJoker);
+            JavatroCore.getHeldJokers().add(randomJoker);
             printBorderedContent(title, List.of(">> " + randomJoker.getDescription() + " <<"));
         } catch (JavatroException e) {
             printBorderedContent(title, List.of("Limit for Jokers has been reached!"));
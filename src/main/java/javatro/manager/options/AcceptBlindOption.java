@@ -32,8 +32,8 @@ public class AcceptBlindOption implements Option {
     @Override
     public void execute() throws JavatroException {
         JavatroManager.jc.beginGame();
-        JavatroCore.currentRound.addPropertyChangeListener(javatro.display.UI.getGameScreen());
-        JavatroCore.currentRound.updateRoundVariables();
+        JavatroCore.getCurrentRound().addPropertyChangeListener(javatro.display.UI.getGameScreen());
+        JavatroCore.getCurrentRound().updateRoundVariables();
         Storage.getStorageInstance().updateSaveFile();
         JavatroManager.setScreen(UI.getGameScreen());
     }
@@ -79,7 +79,7 @@ public class CardSelectOption implements Option {
         // Get validated card selection from user
         List<Integer> userInput =
                 Parser.getCardInput(
-                        JavatroCore.currentRound.getPlayerHandCards().size(), selectionLimit);
+                        JavatroCore.getCurrentRound().getPlayerHandCards().size(), selectionLimit);
 
         // Validate input assumptions
         assert userInput != null : "Card input must not be null";
@@ -89,15 +89,16 @@ public class CardSelectOption implements Option {
         // Process selection based on current screen context
         if (UI.getCurrentScreen() instanceof PlayCardScreen) {
             // Play selected cards as part of poker hand
-            JavatroCore.currentRound.playCards(userInput);
+            JavatroCore.getCurrentRound().playCards(userInput);
 
             // Display played hand information
-            PokerHand playedHand = JavatroCore.currentRound.getPlayedHand();
+            PokerHand playedHand = JavatroCore.getCurrentRound().getPlayedHand();
             String handName =
                     String.format(
                             "Achieved: %s%s<%s>%s%s Hand",
                             BOLD, YELLOW, playedHand.getHandName(), END, BLACK_B);
-            List<String> cardArtLines = getCardArtLines(JavatroCore.currentRound.getPlayedCards());
+            List<String> cardArtLines =
+                    getCardArtLines(JavatroCore.getCurrentRound().getPlayedCards());
             printBorderedContent(handName, cardArtLines);
 
             // Update statistics for played hand type
@@ -105,24 +106,25 @@ public class CardSelectOption implements Option {
 
         } else if (UI.getCurrentScreen() instanceof DiscardCardScreen) {
             // Remove selected cards from play
-            JavatroCore.currentRound.discardCards(userInput);
+            JavatroCore.getCurrentRound().discardCards(userInput);
 
             // Display discard confirmation
             String handName = String.format("%sCards Discarded%s%s", BOLD, END, BLACK_B);
-            List<String> cardArtLines = getCardArtLines(JavatroCore.currentRound.getPlayedCards());
+            List<String> cardArtLines =
+                    getCardArtLines(JavatroCore.getCurrentRound().getPlayedCards());
             printBorderedContent(handName, cardArtLines);
         }
 
         // Handle game progression based on round outcome
-        if (JavatroCore.currentRound.isWon()
+        if (JavatroCore.getCurrentRound().isWon()
                 && JavatroCore.getAnte().getAnteCount() == 8
                 && JavatroCore.getAnte().getBlind() == Ante.Blind.BOSS_BLIND) {
             // Final victory condition: Defeated boss blind at maximum ante
             JavatroManager.setScreen(UI.getWinGameScreen());
-        } else if (JavatroCore.currentRound.isLost()) {
+        } else if (JavatroCore.getCurrentRound().isLost()) {
             // Game over condition: Failed current round
             JavatroManager.setScreen(UI.getLoseScreen());
-        } else if (JavatroCore.currentRound.isWon()) {
+        } else if (JavatroCore.getCurrentRound().isWon()) {
             // Round victory: Advance to next round
             JavatroManager.setScreen(UI.getWinRoundScreen());
         } else {
@@ -56,12 +56,12 @@ public class DeckSelectOption implements Option {
     public void execute() throws JavatroException {
         // Initialize core game deck
         Storage storage = Storage.getStorageInstance();
-        JavatroCore.deck = new Deck(deckType);
+        JavatroCore.setDeck(new Deck(deckType));
         storage.setValue(storage.getRunChosen() - 1, DataParser.DECK_INDEX, deckType.getName());
         JavatroManager.beginGame(
                 (CardUtils.deckFromKey(
                         storage.getValue(storage.getRunChosen() - 1, DataParser.DECK_INDEX))));
-        assert JavatroCore.deck != null : "Deck initialization failed";
+        assert JavatroCore.getDeck() != null : "Deck initialization failed";
 
         // Start game session with selected deck
         // JavatroManager.beginGame(deckType);
@@ -3,6 +3,7 @@ package javatro.manager.options;
 
 import javatro.core.JavatroException;
 import javatro.display.UI;
+import javatro.storage.Storage;
 
 import java.util.List;
 
@@ -37,6 +38,13 @@ public class ExitGameOption implements Option {
         final List<String> message = List.of(UI.RED + "WE KNOW YOU WILL BE BACK SOON ;)" + UI.END);
         UI.printBorderedContent(header, message);
 
+        // Write any queued save before the JVM stops
+        try {
+            Storage.getStorageInstance().flushSaveFile();
+        } catch (JavatroException e) {
+            System.out.println("Failed to Save To System");
+        }
+
         // Terminate JVM with normal status
         System.exit(0);
     }
@@ -0,0 +1,82 @@
+package javatro.manager.options;
+
+import static javatro.display.UI.BLACK_B;
+import static javatro.display.UI.BOLD;
+import static javatro.display.UI.END;
+import static javatro.display.UI.YELLOW;
+import static javatro.display.UI.printBorderedContent;
+
+import javatro.core.BestPlayFinder;
+import javatro.core.JavatroCore;
+import javatro.core.JavatroException;
+import javatro.display.screens.CardSelectScreen;
+import javatro.manager.JavatroManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suggests the highest scoring plays for the current holding hand. The suggestions take held
+ * jokers, planet card levels and the active boss blind into account.
+ */
+public class HintOption implements Option {
+
+    /** Number of plays suggested at once. */
+    private static final int HINT_COUNT = 3;
+
+    /** The card selection screen to return to. */
+    private final CardSelectScreen screen;
+
+    /**
+     * Creates a hint option for the specified card screen.
+     *
+     * @param screen Card display interface to refresh after the hint
+     */
+    public HintOption(CardSelectScreen screen) {
+        assert screen != null : "Card screen must be initialized";
+        this.screen = screen;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return Constant description "Show Best Plays"
+     */
+    @Override
+    public String getDescription() {
+        return "Show Best Plays";
+    }
+
+    /**
+     * {@inheritDoc} Lists the best plays by card position, then refreshes the card display.
+     *
+     * @throws JavatroException if the plays cannot be scored or the display update fails
+     */
+    @Override
+    public void execute() throws JavatroException {
+        List<BestPlayFinder.Play> plays = JavatroCore.getCurrentRound().findBestPlays(HINT_COUNT);
+
+        List<String> hintLines = new ArrayList<>(plays.size());
+        for (BestPlayFinder.Play play : plays) {
+            StringBuilder line = new StringBuilder();
+            for (int index : play.cardIndices()) {
+                line.append(YELLOW).append(BOLD).append("<").append(index + 1).append("> ");
+            }
+            line.append(END)
+                    .append(BLACK_B)
+                    .append(play.handType().getHandName())
+                    .append(" - ")
+                    .append(play.score())
+                    .append(" points");
+            hintLines.add(line.toString());
+        }
+        if (hintLines.isEmpty()) {
+            hintLines.add("No playable hands available");
+        }
+
+        printBorderedContent(BOLD + "BEST PLAYS" + END + BLACK_B, hintLines);
+
+        // Refresh display so the player can select cards straight away
+        JavatroManager.setScreen(screen);
+    }
+}
@@ -23,8 +23,8 @@ public class NextRoundOption implements Option {
     public void execute() throws JavatroException {
         // Instantiate next round
         jc.nextRound();
-        JavatroCore.currentRound.addPropertyChangeListener(javatro.display.UI.getGameScreen());
-        JavatroCore.currentRound.updateRoundVariables();
+        JavatroCore.getCurrentRound().addPropertyChangeListener(javatro.display.UI.getGameScreen());
+        JavatroCore.getCurrentRound().updateRoundVariables();
         JavatroManager.setScreen(UI.getGameScreen());
     }
 }
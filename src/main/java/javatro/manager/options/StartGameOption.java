@@ -47,14 +47,14 @@ public class StartGameOption implements Option {
 
         /*
         // Return to game if there is an existing game.
-        if (JavatroCore.currentRound == null || JavatroCore.currentRound.isLost()) {
-            if (JavatroCore.currentRound == null) Storage.getStorageInstance().addNewRun();
-            JavatroCore.currentRound = null;
+        if (JavatroCore.getCurrentRound() == null || JavatroCore.getCurrentRound().isLost()) {
+            if (JavatroCore.getCurrentRound() == null) Storage.getStorageInstance().addNewRun();
+            JavatroCore.setCurrentRound(null);
             JavatroManager.setScreen(UI.getDeckSelectScreen());
         }
 
         // Continue Game
-        if (JavatroCore.currentRound != null) {
+        if (JavatroCore.getCurrentRound() != null) {
             JavatroManager.setScreen(UI.getGameScreen());
         }
         */
@@ -32,6 +32,14 @@ public class StartRunOption implements Option {
     /** Executes the command to change the screen to the start menu. */
     @Override
     public void execute() throws JavatroException {
+        if (storage.isRunCorrupted(runNumber - 1)) {
+            throw new JavatroException("Run #" + runNumber + " is corrupted and cannot be loaded.");
+        }
+        if (storage.isRunFinished(runNumber - 1)) {
+            throw new JavatroException(
+                    "Run #" + runNumber + " is finished and cannot be continued.");
+        }
+
         // Update Storage with chosen run number
         storage.setRunChosen(runNumber);
         JavatroManager.beginGame(
@@ -39,8 +47,8 @@ public class StartRunOption implements Option {
                         storage.getValue(storage.getRunChosen() - 1, DataParser.DECK_INDEX))));
 
         JavatroManager.jc.beginGame();
-        JavatroCore.currentRound.addPropertyChangeListener(javatro.display.UI.getGameScreen());
-        JavatroCore.currentRound.updateRoundVariables();
+        JavatroCore.getCurrentRound().addPropertyChangeListener(javatro.display.UI.getGameScreen());
+        JavatroCore.getCurrentRound().updateRoundVariables();
         JavatroManager.setScreen(UI.getGameScreen());
     }
 }
@@ -27,9 +27,10 @@ public class ViewNextRunOption implements Option {
     public void execute() throws JavatroException {
 
         int currentRun = UI.getRunSelectScreen().getRunNumber();
-        int totalRuns = Storage.getStorageInstance().getNumberOfRuns();
-        int nextRun = (currentRun % totalRuns) + 1;
-        UI.getRunSelectScreen().setRunNumber(nextRun);
+        Storage storage = Storage.getStorageInstance();
+        // Runs wrap around at either end, and runs whose save data cannot be read are skipped
+        int nextRun = storage.findReadableRun(currentRun + 1, 1);
+        UI.getRunSelectScreen().setRunNumber(nextRun == 0 ? currentRun : nextRun);
 
         JavatroManager.setScreen(UI.getRunSelectScreen());
     }
@@ -27,9 +27,10 @@ public class ViewPrevRunOption implements Option {
     public void execute() throws JavatroException {
 
         int currentRun = UI.getRunSelectScreen().getRunNumber();
-        int totalRuns = Storage.getStorageInstance().getNumberOfRuns();
-        int previousRun = ((currentRun - 2 + totalRuns) % totalRuns) + 1;
-        UI.getRunSelectScreen().setRunNumber(previousRun);
+        Storage storage = Storage.getStorageInstance();
+        // Runs wrap around at either end, and runs whose save data cannot be read are skipped
+        int previousRun = storage.findReadableRun(currentRun - 1, -1);
+        UI.getRunSelectScreen().setRunNumber(previousRun == 0 ? currentRun : previousRun);
 
         JavatroManager.setScreen(UI.getRunSelectScreen());
     }
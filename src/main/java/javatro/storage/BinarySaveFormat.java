@@ -0,0 +1,408 @@
+package javatro.storage;
+
+import javatro.core.Ante;
+import javatro.core.Card;
+import javatro.core.Deck;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the compact binary save file.
+ *
+ * <p>The file starts with the magic bytes {@code JVTR}, a format version and the number of runs.
+ * Each run follows as a varint length and a record holding:
+ *
+ * <ul>
+ *   <li>the run number, round number, round score, hands, discards, ante, wins and losses as
+ *       zigzag varints;
+ *   <li>the blind and deck as one byte each;
+ *   <li>the 8 holding hand cards and 44 rest of deck cards as one packed card code each;
+ *   <li>the 5 jokers as length-prefixed ASCII names;
+ *   <li>the 13 planet levels as one byte each;
+ *   <li>a checksum of everything before it, computed by an {@link IntegrityMode}.
+ * </ul>
+ *
+ * <p>Records in the save file use {@link IntegrityMode#CRC32}. Records kept in a {@link
+ * MappedRunStore} use the mode recorded in the store's header.
+ *
+ * <p>Empty card, blind and deck slots of a {@link RunRecord} are stored as {@link #EMPTY}, and
+ * empty joker slots as a zero length name.
+ */
+public final class BinarySaveFormat {
+
+    /** Format version written to new files. */
+    public static final int VERSION = 1;
+
+    /** Byte stored for an empty card, blind or deck slot. */
+    static final int EMPTY = 0xFF;
+
+    private static final byte[] MAGIC = {'J', 'V', 'T', 'R'};
+
+    private static final Ante.Blind[] BLINDS = Ante.Blind.values();
+    private static final Deck.DeckType[] DECKS = Deck.DeckType.values();
+
+    /** Private constructor to prevent instantiation of this utility class. */
+    private BinarySaveFormat() {}
+
+    // Region: Writer -----------------------------------------------------------
+
+    /**
+     * Encodes one run into a record checked with {@link IntegrityMode#CRC32}, as stored in the
+     * save file.
+     *
+     * @param run The run to encode.
+     * @return The encoded record.
+     * @throws IllegalArgumentException If a joker name cannot be represented in this format.
+     */
+    public static byte[] encodeRun(RunRecord run) {
+        return encodeRun(run, IntegrityMode.CRC32);
+    }
+
+    /**
+     * Encodes one run into a checksummed record.
+     *
+     * @param run The run to encode.
+     * @param mode The algorithm computing the record's checksum.
+     * @return The encoded record.
+     * @throws IllegalArgumentException If a joker name cannot be represented in this format.
+     */
+    public static byte[] encodeRun(RunRecord run, IntegrityMode mode) {
+        assert run != null : "Run should not be null.";
+        assert mode != null : "Integrity mode should not be null.";
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        writeVarLong(out, zigzag(run.getRunNumber()));
+        writeVarLong(out, zigzag(run.getRoundNumber()));
+        writeVarLong(out, zigzag(run.getRoundScore()));
+        writeVarLong(out, zigzag(run.getHands()));
+        writeVarLong(out, zigzag(run.getDiscards()));
+        writeVarLong(out, zigzag(run.getAnteNumber()));
+        writeVarLong(out, zigzag(run.getWins()));
+        writeVarLong(out, zigzag(run.getLosses()));
+        out.write(run.getBlind() == null ? EMPTY : run.getBlind().ordinal());
+        out.write(run.getDeck() == null ? EMPTY : run.getDeck().ordinal());
+
+        for (int i = 0; i < RunRecord.HOLDING_HAND_SIZE; i++) {
+            out.write(encodeCard(run.getHoldingCard(i)));
+        }
+        for (int i = 0; i < RunRecord.JOKER_SLOTS; i++) {
+            writeJoker(out, run.getJoker(i));
+        }
+        for (int i = 0; i < RunRecord.PLANET_LEVELS; i++) {
+            out.write(run.getPlanetLevelAt(i));
+        }
+        for (int i = 0; i < RunRecord.REST_OF_DECK_SIZE; i++) {
+            out.write(encodeCard(run.getDeckCard(i)));
+        }
+
+        byte[] body = out.toByteArray();
+        out.writeBytes(mode.checksum(body, 0, body.length));
+        return out.toByteArray();
+    }
+
+    /**
+     * Assembles a save file from encoded run records.
+     *
+     * @param records The records of every run, in run order.
+     * @return The bytes of the save file.
+     */
+    public static byte[] writeFile(List<byte[]> records) {
+        assert records != null : "Run records should not be null.";
+        int size = MAGIC.length + 6;
+        for (byte[] record : records) {
+            size += record.length + 2;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        writeVarLong(out, records.size());
+        for (byte[] record : records) {
+            writeVarLong(out, record.length);
+            out.writeBytes(record);
+        }
+        return out.toByteArray();
+    }
+
+    // Region: Reader -----------------------------------------------------------
+
+    /**
+     * Returns whether the bytes start like a save file of this format.
+     *
+     * @param file The bytes of a file.
+     * @return {@code true} if the file starts with the magic bytes.
+     */
+    public static boolean isBinarySaveFile(byte[] file) {
+        if (file.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (file[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a save file into its run records, checking the header.
+     *
+     * @param file The bytes of the save file.
+     * @return The record of every run, in run order.
+     * @throws IOException If the file is not a save file of a supported version or is truncated.
+     */
+    public static List<byte[]> readRecords(byte[] file) throws IOException {
+        if (!isBinarySaveFile(file)) {
+            throw new IOException("Not a binary save file");
+        }
+        Reader in = new Reader(file, MAGIC.length);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save file version: " + version);
+        }
+
+        int runCount = (int) in.readVarLong();
+        List<byte[]> records = new ArrayList<>(runCount);
+        for (int i = 0; i < runCount; i++) {
+            int length = (int) in.readVarLong();
+            records.add(in.readBytes(length));
+        }
+        return records;
+    }
+
+    /**
+     * Reads every run of a save file.
+     *
+     * @param file The bytes of the save file.
+     * @return Every run, keyed by position in the file.
+     * @throws IOException If the file is malformed or a record fails its checksum.
+     */
+    public static TreeMap<Integer, RunRecord> readFile(byte[] file) throws IOException {
+        TreeMap<Integer, RunRecord> runs = new TreeMap<>();
+        List<byte[]> records = readRecords(file);
+        for (int i = 0; i < records.size(); i++) {
+            runs.put(i, decodeRun(records.get(i)));
+        }
+        return runs;
+    }
+
+    /**
+     * Decodes one run record of the save file, checked with {@link IntegrityMode#CRC32}.
+     *
+     * @param record The encoded record.
+     * @return The decoded run.
+     * @throws IOException If the record is truncated, fails its checksum or holds invalid values.
+     */
+    public static RunRecord decodeRun(byte[] record) throws IOException {
+        return decodeRun(record, IntegrityMode.CRC32);
+    }
+
+    /**
+     * Decodes one run record.
+     *
+     * @param record The encoded record.
+     * @param mode The algorithm that computed the record's checksum.
+     * @return The decoded run.
+     * @throws IOException If the record is truncated, fails its checksum or holds invalid values.
+     */
+    public static RunRecord decodeRun(byte[] record, IntegrityMode mode) throws IOException {
+        int bodyLength = checkRecord(record, mode);
+        Reader in = new Reader(record, 0);
+        RunSummary summary = readSummary(in);
+
+        RunRecord run = new RunRecord(summary.getRunNumber());
+        run.setRoundNumber(summary.getRoundNumber());
+        run.setRoundScore(summary.getRoundScore());
+        run.setHands(summary.getHands());
+        run.setDiscards(summary.getDiscards());
+        run.setAnteNumber(summary.getAnteNumber());
+        run.setWins(summary.getWins());
+        run.setLosses(summary.getLosses());
+        run.setBlind(summary.getBlind());
+        run.setDeck(summary.getDeck());
+
+        for (int i = 0; i < RunRecord.HOLDING_HAND_SIZE; i++) {
+            run.setHoldingCard(i, decodeCard(in.readByte()));
+        }
+        for (int i = 0; i < RunRecord.JOKER_SLOTS; i++) {
+            int length = in.readByte();
+            run.setJoker(
+                    i,
+                    length == 0
+                            ? null
+                            : new String(in.readBytes(length), StandardCharsets.US_ASCII));
+        }
+        for (int i = 0; i < RunRecord.PLANET_LEVELS; i++) {
+            run.setPlanetLevelAt(i, in.readByte());
+        }
+        for (int i = 0; i < RunRecord.REST_OF_DECK_SIZE; i++) {
+            run.setDeckCard(i, decodeCard(in.readByte()));
+        }
+        if (in.position != bodyLength) {
+            throw new IOException("Run record has unexpected length");
+        }
+        return run;
+    }
+
+    /**
+     * Decodes only the summary fields at the start of a run record, skipping its cards and
+     * jokers.
+     *
+     * @param record The encoded record.
+     * @param mode The algorithm that computed the record's checksum.
+     * @return The run's summary.
+     * @throws IOException If the record is truncated, fails its checksum or holds invalid values.
+     */
+    public static RunSummary decodeSummary(byte[] record, IntegrityMode mode) throws IOException {
+        checkRecord(record, mode);
+        return readSummary(new Reader(record, 0));
+    }
+
+    /**
+     * Verifies the checksum at the end of a record.
+     *
+     * @return The length of the record without its checksum.
+     */
+    private static int checkRecord(byte[] record, IntegrityMode mode) throws IOException {
+        assert mode != null : "Integrity mode should not be null.";
+        if (record.length < mode.getChecksumBytes()) {
+            throw new IOException("Run record is truncated");
+        }
+        int bodyLength = record.length - mode.getChecksumBytes();
+        if (!mode.matches(record, 0, bodyLength)) {
+            throw new IOException("Run record failed its checksum");
+        }
+        return bodyLength;
+    }
+
+    private static RunSummary readSummary(Reader in) throws IOException {
+        int runNumber = readInt(in);
+        int roundNumber = readInt(in);
+        long roundScore = unzigzag(in.readVarLong());
+        int hands = readInt(in);
+        int discards = readInt(in);
+        int anteNumber = readInt(in);
+        int wins = readInt(in);
+        int losses = readInt(in);
+        Ante.Blind blind = decodeOrdinal(in.readByte(), BLINDS, "blind");
+        Deck.DeckType deck = decodeOrdinal(in.readByte(), DECKS, "deck");
+        return new RunSummary(
+                runNumber,
+                roundNumber,
+                roundScore,
+                hands,
+                discards,
+                anteNumber,
+                blind,
+                wins,
+                losses,
+                deck);
+    }
+
+    // Region: Field codecs -----------------------------------------------------
+
+    private static int readInt(Reader in) throws IOException {
+        long value = unzigzag(in.readVarLong());
+        if (value != (int) value) {
+            throw new IOException("Number out of range in save data");
+        }
+        return (int) value;
+    }
+
+    private static <T> T decodeOrdinal(int code, T[] values, String kind) throws IOException {
+        if (code == EMPTY) {
+            return null;
+        }
+        if (code >= values.length) {
+            throw new IOException("Invalid " + kind + " code: " + code);
+        }
+        return values[code];
+    }
+
+    private static int encodeCard(Card card) {
+        return card == null ? EMPTY : card.getIndex();
+    }
+
+    private static Card decodeCard(int code) throws IOException {
+        if (code == EMPTY) {
+            return null;
+        }
+        if (code >= Card.DISTINCT_CARDS) {
+            throw new IOException("Invalid card code: " + code);
+        }
+        return Card.fromIndex(code);
+    }
+
+    private static void writeJoker(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] name = value.getBytes(StandardCharsets.US_ASCII);
+        if (name.length > 0xFF) {
+            throw new IllegalArgumentException("Joker name too long: " + value);
+        }
+        out.write(name.length);
+        out.writeBytes(name);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /** Reads fields from a byte array, failing on truncated input. */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private int readByte() throws IOException {
+            if (position >= bytes.length) {
+                throw new IOException("Save data is truncated");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        private byte[] readBytes(int length) throws IOException {
+            if (length < 0 || length > bytes.length - position) {
+                throw new IOException("Save data is truncated");
+            }
+            byte[] result = new byte[length];
+            System.arraycopy(bytes, position, result, 0, length);
+            position += length;
+            return result;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in save data");
+        }
+    }
+}
@@ -1,12 +1,20 @@
 // @@author flyingapricot
 package javatro.storage;
 
+import javatro.core.PokerHand;
 import javatro.storage.utils.HashUtil;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
 
 /**
  * The {@code DataParser} class provides static utility methods for parsing, validating, and loading
@@ -53,9 +61,37 @@ public class DataParser {
     static final Set<String> VALID_DECKS = Set.of("RED", "ABANDONED", "CHECKERED", "BLUE");
     static final Set<String> VALID_BLINDS = Set.of("SMALL BLIND", "LARGE BLIND", "BOSS BLIND");
 
+    /** Number of CSV rows read before they are validated and parsed together. */
+    private static final int CSV_CHUNK_ROWS = 1024;
+
     /** Private constructor to prevent instantiation of this utility class. */
     private DataParser() {}
 
+    /**
+     * Returns the column holding the planet card level of a poker hand type.
+     *
+     * @param handType The poker hand type.
+     * @return The index of the level column in a run's data.
+     */
+    public static int planetLevelIndex(PokerHand.HandType handType) {
+        assert handType != null : "Hand type must not be null";
+        return switch (handType) {
+            case HIGH_CARD -> HIGH_CARD_INDEX;
+            case PAIR -> PAIR_INDEX;
+            case TWO_PAIR -> TWO_PAIR_INDEX;
+            case THREE_OF_A_KIND -> THREE_OF_A_KIND_INDEX;
+            case STRAIGHT -> STRAIGHT_INDEX;
+            case FLUSH -> FLUSH_INDEX;
+            case FULL_HOUSE -> FULL_HOUSE_INDEX;
+            case FOUR_OF_A_KIND -> FOUR_OF_A_KIND_INDEX;
+            case STRAIGHT_FLUSH -> STRAIGHT_FLUSH_INDEX;
+            case ROYAL_FLUSH -> ROYAL_FLUSH_INDEX;
+            case FIVE_OF_A_KIND -> FIVE_OF_A_KIND_INDEX;
+            case FLUSH_HOUSE -> FLUSH_HOUSE_INDEX;
+            case FLUSH_FIVE -> FLUSH_FIVE_INDEX;
+        };
+    }
+
     /**
      * Validates the provided CSV data for structural integrity, hash consistency, and logical
      * validity.
@@ -67,103 +103,122 @@ public class DataParser {
         assert csvRawData != null : "CSV raw data must not be null";
         assert !csvRawData.trim().isEmpty() : "CSV raw data must not be empty";
 
-        String[] rows = csvRawData.split("\\r?\\n");
-
-        for (String row : rows) {
-            row = row.trim();
-            if (row.isEmpty()) {
+        for (String row : csvRawData.split("\\r?\\n")) {
+            if (row.trim().isEmpty()) {
                 continue;
             }
-
-            String[] columns = row.split(",");
-            assert columns.length > 0 : "Columns should not be empty for a row.";
-
-            String storedHash = columns[columns.length - 1];
-            List<String> rowData = new ArrayList<>(Arrays.asList(columns));
-            rowData.remove(rowData.size() - 1);
-
-            assert storedHash != null && !storedHash.isEmpty()
-                    : "Stored hash must not be null or empty.";
-
-            List<String> normalizedRowData = new ArrayList<>();
-            for (String data : rowData) {
-                data = data.trim();
-                if (data.equals("-") || data.isEmpty()) {
-                    data = "NA";
-                }
-                normalizedRowData.add(data);
-            }
-
-            String computedHash = HashUtil.generateHash(normalizedRowData);
-            assert !computedHash.isEmpty() : "Computed hash must not be null or empty.";
-
-            if (!computedHash.equals(storedHash)) {
-                System.out.println("Invalid row data detected due to hash mismatch: " + row);
-                return false;
-            }
-
-            if (columns.length < DataParser.HIGH_CARD_INDEX + 13) {
-                System.out.println("Invalid number of columns in row: " + row);
-                return false;
-            }
-
-            String deckName = columns[DataParser.DECK_INDEX].trim();
-            if (!VALID_DECKS.contains(deckName)) {
-                System.out.println("Invalid deck name in row: " + row);
-                return false;
-            }
-
-            String blindName = columns[DataParser.BLIND_INDEX].trim();
-            if (!VALID_BLINDS.contains(blindName)) {
-                System.out.println("Invalid blind name in row: " + row);
+            try {
+                parseRow(row);
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage() + ": " + row);
                 return false;
             }
+        }
+        return true;
+    }
 
-            try {
-                int[] numericIndexes = {
-                    RUN_NUMBER_INDEX,
-                    ROUND_NUMBER_INDEX,
-                    ROUND_SCORE_INDEX,
-                    HAND_INDEX,
-                    DISCARD_INDEX,
-                    WINS_INDEX,
-                    LOSSES_INDEX
-                };
-
-                for (int index : numericIndexes) {
-                    assert columns[index] != null : "Numeric index must not be null.";
-                    Integer.parseInt(columns[index]);
+    /**
+     * Reads the runs of a CSV save file. The file is read once, a chunk of rows at a time, and
+     * the rows of each chunk are validated and parsed in parallel, so only one chunk of raw text
+     * is held in memory. Corrupted rows are reported and skipped; the remaining runs keep their
+     * order and are renumbered to close the gaps, so each run's number matches its position.
+     *
+     * @param path The CSV save file.
+     * @return The valid runs, numbered from 0 in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static TreeMap<Integer, RunRecord> readCSVFile(Path path) throws IOException {
+        assert path != null : "CSV file path must not be null.";
+        TreeMap<Integer, RunRecord> runs = new TreeMap<>();
+        List<String> chunk = new ArrayList<>(CSV_CHUNK_ROWS);
+        int firstLine = 1;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == CSV_CHUNK_ROWS) {
+                    addChunk(chunk, firstLine, runs);
+                    firstLine += chunk.size();
+                    chunk.clear();
                 }
-
-                int anteNumber = Integer.parseInt(columns[DataParser.ANTE_NUMBER_INDEX]);
-                assert anteNumber >= 1 && anteNumber <= 8 : "Ante Number must be between 1 and 8.";
-
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid numeric value in row: " + row);
-                return false;
             }
         }
-        return true;
+        addChunk(chunk, firstLine, runs);
+        return runs;
     }
 
     /**
-     * Loads the CSV data into the {@link StorageManager}.
+     * Parses a chunk of CSV rows in parallel and appends the valid runs in row order.
      *
-     * @param csvRawData The raw CSV data as a {@code String}.
+     * @param rows The rows of the chunk.
+     * @param firstLine The line number of the first row, for error messages.
+     * @param runs The runs read so far.
      */
-    public static void loadCSVData(String csvRawData) {
-        assert csvRawData != null : "CSV raw data must not be null.";
-        assert !csvRawData.trim().isEmpty() : "CSV raw data must not be empty.";
+    private static void addChunk(
+            List<String> rows, int firstLine, TreeMap<Integer, RunRecord> runs) {
+        RunRecord[] parsed = new RunRecord[rows.size()];
+        String[] errors = new String[rows.size()];
+        IntStream.range(0, rows.size())
+                .parallel()
+                .forEach(
+                        i -> {
+                            if (rows.get(i).isBlank()) {
+                                return;
+                            }
+                            try {
+                                parsed[i] = parseRow(rows.get(i));
+                            } catch (IllegalArgumentException e) {
+                                errors[i] = e.getMessage();
+                            }
+                        });
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] != null) {
+                System.out.println(
+                        "Skipping corrupted run on line " + (firstLine + i) + ": " + errors[i]);
+            } else if (parsed[i] != null) {
+                int runNumber = runs.size();
+                parsed[i].setRunNumber(runNumber);
+                runs.put(runNumber, parsed[i]);
+            }
+        }
+    }
 
-        String[] runs = csvRawData.split("\\r?\\n");
-        StorageManager storageManager = StorageManager.getInstance();
+    /**
+     * Validates one CSV row against its hash and parses it into a run.
+     *
+     * @param row The row, ending with the hash of its other fields.
+     * @return The parsed run.
+     * @throws IllegalArgumentException If the row is corrupted or holds an invalid value.
+     */
+    static RunRecord parseRow(String row) {
+        String[] columns = row.trim().split(",");
+        List<String> rowData = Arrays.asList(columns).subList(0, columns.length - 1);
+        String storedHash = columns[columns.length - 1].trim();
 
-        for (int i = 0; i < runs.length; i++) {
-            String[] runInfo = runs[i].split(",");
-            assert runInfo.length > 0 : "Run info should not be empty.";
+        if (rowData.isEmpty() || !HashUtil.generateHash(rowData).equals(storedHash)) {
+            throw new IllegalArgumentException("Invalid row data detected due to hash mismatch");
+        }
+        if (rowData.size() < RunRecord.FIELD_COUNT) {
+            throw new IllegalArgumentException("Invalid number of columns in row");
+        }
+        if (!VALID_DECKS.contains(columns[DECK_INDEX].trim())) {
+            throw new IllegalArgumentException("Invalid deck name in row");
+        }
+        if (!VALID_BLINDS.contains(columns[BLIND_INDEX].trim())) {
+            throw new IllegalArgumentException("Invalid blind name in row");
+        }
 
-            ArrayList<String> runInfoList = new ArrayList<>(Arrays.asList(runInfo));
-            storageManager.saveRunData(i, runInfoList);
+        RunRecord run;
+        try {
+            run = RunRecord.fromFields(rowData);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value in row: " + e.getMessage());
+        }
+        if (run.getAnteNumber() < 1 || run.getAnteNumber() > 8) {
+            throw new IllegalArgumentException("Invalid ante number in row");
         }
+        return run;
     }
 }
@@ -0,0 +1,175 @@
+package javatro.storage;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Algorithm used to check the integrity of saved runs. The run store records the mode it was
+ * created with in its header, and every run record and journal entry in it ends with a checksum
+ * computed by that mode directly over the encoded bytes.
+ *
+ * <ul>
+ *   <li>{@link #CRC32} - The checksum of the legacy binary save file.
+ *   <li>{@link #CRC32C} - A hardware-accelerated checksum that catches disk and write errors. The
+ *       default for new save files.
+ *   <li>{@link #HMAC_SHA256} - A keyed SHA-256 hash, truncated to 16 bytes, that also detects
+ *       edits to the save file made without the key.
+ * </ul>
+ *
+ * <p>The key of {@link #HMAC_SHA256} is kept in plain text in {@code savefile.key}, next to the
+ * save file, so the mode only stops casual edits, such as changing a score in a hex editor or
+ * copying runs from another save. Anyone who reads the key can recompute the hash of an edited
+ * run, so it is not a defence against a determined player or against malware.
+ */
+public enum IntegrityMode {
+    CRC32(1, 4),
+    CRC32C(2, 4),
+    HMAC_SHA256(3, 16);
+
+    /** Mode used for new save files unless another is configured. */
+    public static final IntegrityMode DEFAULT = CRC32C;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final ThreadLocal<Mac> MAC =
+            ThreadLocal.withInitial(
+                    () -> {
+                        try {
+                            return Mac.getInstance(HMAC_ALGORITHM);
+                        } catch (GeneralSecurityException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+    private static volatile SecretKeySpec hmacKey;
+
+    private final int id;
+    private final int checksumBytes;
+
+    IntegrityMode(int id, int checksumBytes) {
+        this.id = id;
+        this.checksumBytes = checksumBytes;
+    }
+
+    /**
+     * Returns the number identifying this mode in file headers.
+     *
+     * @return The mode's identifier
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the number of bytes in a checksum of this mode.
+     *
+     * @return The checksum size in bytes
+     */
+    public int getChecksumBytes() {
+        return checksumBytes;
+    }
+
+    /**
+     * Returns the mode with the given identifier.
+     *
+     * @param id The identifier read from a file header
+     * @return The mode
+     * @throws IOException If no mode has the identifier
+     */
+    public static IntegrityMode fromId(int id) throws IOException {
+        for (IntegrityMode mode : values()) {
+            if (mode.id == id) {
+                return mode;
+            }
+        }
+        throw new IOException("Unknown integrity mode: " + id);
+    }
+
+    /**
+     * Returns the mode with the given name, ignoring case, such as {@code "crc32c"}.
+     *
+     * @param name The name of the mode
+     * @return The mode
+     * @throws IllegalArgumentException If no mode has the name
+     */
+    public static IntegrityMode fromName(String name) {
+        assert name != null : "Integrity mode name cannot be null";
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Sets the key used by {@link #HMAC_SHA256}.
+     *
+     * @param key The secret key
+     */
+    public static void setHmacKey(byte[] key) {
+        assert key != null && key.length > 0 : "HMAC key cannot be empty";
+        hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Computes the checksum of a range of bytes.
+     *
+     * @param data The bytes to check
+     * @param offset The start of the range
+     * @param length The length of the range
+     * @return The checksum, {@link #getChecksumBytes()} long
+     * @throws IllegalStateException If this mode needs a key and none was set
+     */
+    public byte[] checksum(byte[] data, int offset, int length) {
+        return switch (this) {
+            case CRC32 -> toBytes(new CRC32(), data, offset, length);
+            case CRC32C -> toBytes(new CRC32C(), data, offset, length);
+            case HMAC_SHA256 -> hmac(data, offset, length);
+        };
+    }
+
+    /**
+     * Returns whether a range of bytes matches a checksum stored right after it.
+     *
+     * @param data The bytes holding the range and its checksum
+     * @param offset The start of the range
+     * @param length The length of the range
+     * @return {@code true} if the stored checksum matches
+     * @throws IllegalStateException If this mode needs a key and none was set
+     */
+    public boolean matches(byte[] data, int offset, int length) {
+        byte[] expected = checksum(data, offset, length);
+        int difference = 0;
+        // Compares every byte so the time taken does not reveal where a forged checksum differs
+        for (int i = 0; i < checksumBytes; i++) {
+            difference |= expected[i] ^ data[offset + length + i];
+        }
+        return difference == 0;
+    }
+
+    private static byte[] toBytes(Checksum checksum, byte[] data, int offset, int length) {
+        checksum.update(data, offset, length);
+        int value = (int) checksum.getValue();
+        return new byte[] {
+            (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value
+        };
+    }
+
+    private byte[] hmac(byte[] data, int offset, int length) {
+        SecretKeySpec key = hmacKey;
+        if (key == null) {
+            throw new IllegalStateException("No key set for " + this);
+        }
+        Mac mac = MAC.get();
+        try {
+            mac.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        mac.update(data, offset, length);
+        byte[] truncated = new byte[checksumBytes];
+        System.arraycopy(mac.doFinal(), 0, truncated, 0, checksumBytes);
+        return truncated;
+    }
+}
@@ -0,0 +1,357 @@
+package javatro.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores runs in fixed-size slots of a memory-mapped file, so any run can be read or replaced
+ * without touching the others.
+ *
+ * <p>The file starts with a header holding the magic bytes {@code JVTS}, the format version, the
+ * slot size, the number of runs and the {@link IntegrityMode} of its records. Slot {@code n}
+ * starts at {@code HEADER_SIZE + n * SLOT_SIZE} and holds the length of a {@link
+ * BinarySaveFormat} run record followed by the record itself, so every slot carries its own
+ * checksum. Version 1 files have a shorter header without the mode and use {@link
+ * IntegrityMode#CRC32}.
+ *
+ * <p>A finished run can be moved to a {@link RunArchive}. Its slot then only holds a marker, and
+ * reading the slot reads the run from the archive instead.
+ *
+ * <p>Opening a store only reads the header, so startup time does not depend on how many runs are
+ * saved. Writes go to the mapped memory and reach the disk when {@link #force()} is called or the
+ * operating system flushes the pages.
+ */
+public final class MappedRunStore {
+
+    /** Size in bytes of every run slot. */
+    public static final int SLOT_SIZE = 256;
+
+    /** Format version written to new files. */
+    public static final int VERSION = 2;
+
+    /** Size in bytes of the header of files of the current version. */
+    static final int HEADER_SIZE = 32;
+
+    private static final byte[] MAGIC = {'J', 'V', 'T', 'S'};
+    private static final int V1_HEADER_SIZE = 16;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_SIZE_OFFSET = 8;
+    private static final int RUN_COUNT_OFFSET = 12;
+    private static final int INTEGRITY_MODE_OFFSET = 16;
+    private static final int LENGTH_BYTES = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Largest run record a slot can hold. */
+    static final int MAX_RECORD_SIZE = SLOT_SIZE - LENGTH_BYTES;
+
+    /** Length stored in the slot of a run moved to the archive. */
+    private static final int ARCHIVED_LENGTH = 0xFFFF;
+
+    private final FileChannel channel;
+    private int headerSize = HEADER_SIZE;
+    private IntegrityMode integrityMode;
+    private MappedByteBuffer buffer;
+    /** Number of slots the current mapping covers. */
+    private int capacity;
+    private int runCount;
+    /** Archive holding the finished runs, or null if none is attached. */
+    private RunArchive archive;
+
+    private MappedRunStore(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a run store, creating an empty one checked with {@link IntegrityMode#DEFAULT} if the
+     * file does not exist.
+     *
+     * @param path The file holding the runs
+     * @return The opened store
+     * @throws IOException If the file cannot be opened or is not a run store
+     */
+    public static MappedRunStore open(Path path) throws IOException {
+        return open(path, IntegrityMode.DEFAULT);
+    }
+
+    /**
+     * Opens a run store, creating an empty one if the file does not exist. An existing store keeps
+     * the integrity mode it was created with.
+     *
+     * @param path The file holding the runs
+     * @param newStoreMode The integrity mode of the store if it is created
+     * @return The opened store
+     * @throws IOException If the file cannot be opened or is not a run store
+     */
+    public static MappedRunStore open(Path path, IntegrityMode newStoreMode) throws IOException {
+        assert path != null : "Run store path cannot be null";
+        assert newStoreMode != null : "Integrity mode cannot be null";
+        FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        MappedRunStore store = new MappedRunStore(channel);
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                store.integrityMode = newStoreMode;
+                store.map(INITIAL_CAPACITY);
+                store.buffer.put(0, MAGIC);
+                store.buffer.putInt(VERSION_OFFSET, VERSION);
+                store.buffer.putInt(SLOT_SIZE_OFFSET, SLOT_SIZE);
+                store.buffer.putInt(RUN_COUNT_OFFSET, 0);
+                store.buffer.putInt(INTEGRITY_MODE_OFFSET, newStoreMode.getId());
+            } else {
+                store.readHeader(size);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Validates the header of an existing file, reads its integrity mode and number of runs, and
+     * maps its slots.
+     *
+     * @param size The size of the file
+     */
+    private void readHeader(long size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the header is complete or the file ends
+        }
+        if (header.position() < V1_HEADER_SIZE) {
+            throw new IOException("Not a run store");
+        }
+        byte[] magic = new byte[MAGIC.length];
+        header.get(0, magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) {
+                throw new IOException("Not a run store");
+            }
+        }
+        int version = header.getInt(VERSION_OFFSET);
+        if (version == 1) {
+            headerSize = V1_HEADER_SIZE;
+            integrityMode = IntegrityMode.CRC32;
+        } else if (version == VERSION && header.position() == HEADER_SIZE) {
+            integrityMode = IntegrityMode.fromId(header.getInt(INTEGRITY_MODE_OFFSET));
+        } else {
+            throw new IOException("Unsupported run store version: " + version);
+        }
+        if (header.getInt(SLOT_SIZE_OFFSET) != SLOT_SIZE) {
+            throw new IOException("Unsupported run store slot size");
+        }
+
+        map((int) ((size - headerSize) / SLOT_SIZE));
+        int count = header.getInt(RUN_COUNT_OFFSET);
+        if (count < 0 || count > capacity) {
+            throw new IOException("Run store is truncated");
+        }
+        runCount = count;
+    }
+
+    /**
+     * Maps the header and the given number of slots, growing the file if needed.
+     *
+     * @param slots Number of slots to map
+     */
+    private void map(int slots) throws IOException {
+        long size = headerSize + (long) slots * SLOT_SIZE;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        capacity = slots;
+    }
+
+    /**
+     * Returns the integrity mode checking the records of this store.
+     *
+     * @return The integrity mode
+     */
+    public IntegrityMode getIntegrityMode() {
+        return integrityMode;
+    }
+
+    /**
+     * Returns the number of runs in the store.
+     *
+     * @return The number of runs
+     */
+    public synchronized int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Attaches the archive that runs of this store are moved to.
+     *
+     * @param archive The archive
+     */
+    public synchronized void setArchive(RunArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Returns whether an archive is attached.
+     *
+     * @return {@code true} if runs can be moved to an archive
+     */
+    public synchronized boolean hasArchive() {
+        return archive != null;
+    }
+
+    /**
+     * Returns whether the run in a slot has been moved to the archive.
+     *
+     * @param slot The slot of the run, starting at 0
+     * @return {@code true} if the slot only holds the archived marker
+     */
+    public synchronized boolean isArchived(int slot) {
+        assert slot >= 0 && slot < runCount : "Slot must hold a run";
+        return Short.toUnsignedInt(buffer.getShort(slotOffset(slot))) == ARCHIVED_LENGTH;
+    }
+
+    /**
+     * Reads the record held in a slot, or in the archive if the run was moved there.
+     *
+     * @param slot The slot of the run, starting at 0
+     * @return The encoded run record
+     * @throws IOException If the slot holds no valid record
+     */
+    public synchronized byte[] readRecord(int slot) throws IOException {
+        assert slot >= 0 && slot < runCount : "Slot must hold a run";
+        int offset = slotOffset(slot);
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        if (length == ARCHIVED_LENGTH) {
+            if (archive == null) {
+                throw new IOException("Run slot " + slot + " is archived but no archive is open");
+            }
+            return archive.readRecord(slot);
+        }
+        if (length == 0 || length > MAX_RECORD_SIZE) {
+            throw new IOException("Run slot " + slot + " is corrupted");
+        }
+        byte[] record = new byte[length];
+        buffer.get(offset + LENGTH_BYTES, record);
+        return record;
+    }
+
+    /**
+     * Reads and decodes the run held in a slot.
+     *
+     * @param slot The slot of the run, starting at 0
+     * @return The decoded run
+     * @throws IOException If the slot holds no valid record
+     */
+    public RunRecord readRun(int slot) throws IOException {
+        return BinarySaveFormat.decodeRun(readRecord(slot), integrityMode);
+    }
+
+    /**
+     * Reads only the summary of the run held in a slot, without decoding its cards and jokers.
+     *
+     * @param slot The slot of the run, starting at 0
+     * @return The run's summary
+     * @throws IOException If the slot holds no valid record
+     */
+    public RunSummary readSummary(int slot) throws IOException {
+        return BinarySaveFormat.decodeSummary(readRecord(slot), integrityMode);
+    }
+
+    /**
+     * Replaces the record held in a slot. Writing the slot just past the last run appends a run.
+     *
+     * @param slot The slot of the run, starting at 0
+     * @param record The encoded run record
+     * @throws IOException If the file cannot grow
+     * @throws IllegalArgumentException If the record does not fit in a slot
+     */
+    public synchronized void writeRecord(int slot, byte[] record) throws IOException {
+        assert slot >= 0 && slot <= runCount : "Runs must be written without gaps";
+        if (record.length == 0 || record.length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Run record does not fit in a slot");
+        }
+        if (slot >= capacity) {
+            map(Math.max(slot + 1, capacity * 2));
+        }
+        int offset = slotOffset(slot);
+        buffer.putShort(offset, (short) record.length);
+        buffer.put(offset + LENGTH_BYTES, record);
+        if (slot >= runCount) {
+            setRunCount(slot + 1);
+        }
+    }
+
+    /**
+     * Moves a run to the attached archive, leaving only a marker in its slot. Both reach the disk
+     * on the next {@link #force()}, so until then the caller must keep the run elsewhere, such as
+     * in a {@link RunJournal} entry.
+     *
+     * @param slot The slot of the run, starting at 0
+     * @param record The encoded run record
+     * @throws IOException If the archive cannot be written or the file cannot grow
+     */
+    public synchronized void archiveRecord(int slot, byte[] record) throws IOException {
+        assert archive != null : "An archive must be attached";
+        assert slot >= 0 && slot <= runCount : "Runs must be written without gaps";
+        archive.append(slot, record);
+        if (slot >= capacity) {
+            map(Math.max(slot + 1, capacity * 2));
+        }
+        buffer.putShort(slotOffset(slot), (short) ARCHIVED_LENGTH);
+        if (slot >= runCount) {
+            setRunCount(slot + 1);
+        }
+    }
+
+    /**
+     * Sets the number of runs, dropping any runs past the new count.
+     *
+     * @param count The new number of runs
+     */
+    public synchronized void setRunCount(int count) {
+        assert count >= 0 && count <= capacity : "Run count must fit the mapped slots";
+        runCount = count;
+        buffer.putInt(RUN_COUNT_OFFSET, count);
+    }
+
+    /**
+     * Writes every change made through the mapping, and every entry appended to the archive, to
+     * the disk. The archive is forced first, so a slot never points at an archive entry that is
+     * not on the disk.
+     *
+     * @throws IOException If the archive cannot be forced
+     */
+    public void force() throws IOException {
+        MappedByteBuffer mapped;
+        RunArchive attached;
+        synchronized (this) {
+            mapped = buffer;
+            attached = archive;
+        }
+        // Forced outside the lock so the game can keep writing slots meanwhile
+        if (attached != null) {
+            attached.force();
+        }
+        mapped.force();
+    }
+
+    /**
+     * Forces all changes to disk and closes the file. The store cannot be used afterwards.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int slotOffset(int slot) {
+        return headerSize + slot * SLOT_SIZE;
+    }
+}
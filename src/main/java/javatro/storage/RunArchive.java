@@ -0,0 +1,260 @@
+package javatro.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only cold storage for finished runs, kept apart from the {@link MappedRunStore} so the
+ * run store and its journal only hold runs that can still change.
+ *
+ * <p>The file starts with the magic bytes {@code JVTA} and a format version. Each entry is a run
+ * number, a 2 byte length and the run's {@link BinarySaveFormat} record compressed with Deflate.
+ * The compressor is primed with a preset dictionary of typical finished runs, since a single run
+ * is too short to compress well on its own. The record keeps the checksum of the run store's
+ * {@link IntegrityMode}, so it is checked when it is read back.
+ *
+ * <p>A later entry for the same run replaces the earlier one. Finished runs cannot be continued, so
+ * a run is only archived again if a compaction is cut short. Opening the archive only reads the
+ * entry headers, and a partly written entry left at the end by a crash is cut off.
+ */
+public final class RunArchive {
+
+    /** Format version written to new files. */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'J', 'V', 'T', 'A'};
+    private static final int HEADER_SIZE = MAGIC.length + Integer.BYTES;
+    private static final int ENTRY_HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+    /**
+     * Dictionary shared by every entry: the {@link BinarySaveFormat} records of a typical lost run
+     * and a typical won run, with their round cards cleared. It is part of the file format, so it
+     * is kept as fixed bytes rather than built from the current encoder, and changing it needs a
+     * new {@link #VERSION}.
+     */
+    private static final byte[] DICTIONARY = {
+        // A lost run on the red deck
+        0, 2, 0, 1, 1, 2, 0, 2, 0, 3, -1, -1, -1, -1, -1, -1, -1, -1, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        -1, -1, -1, -1, 121, -52, -18, 102,
+        // A won run on the blue deck
+        0, 50, 0, 1, 1, 18, 48, 0, 0, 1, -1, -1, -1, -1, -1, -1, -1, -1, 0, 0, 0, 0, 0, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        -1, -1, -1, -1, -1, 96, 10, 105, 0
+    };
+
+    private final FileChannel channel;
+    /** Where the entry of each archived run starts. */
+    private final Map<Integer, Long> entries = new HashMap<>();
+    private long size;
+
+    private RunArchive(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens an archive, creating an empty one if the file does not exist.
+     *
+     * @param path The file holding the archive
+     * @return The opened archive
+     * @throws IOException If the file cannot be opened or is not an archive
+     */
+    public static RunArchive open(Path path) throws IOException {
+        assert path != null : "Archive path cannot be null";
+        FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        RunArchive archive = new RunArchive(channel);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).put(MAGIC).putInt(VERSION);
+                archive.write(header.flip(), 0);
+                archive.size = HEADER_SIZE;
+            } else {
+                archive.readEntries();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return archive;
+    }
+
+    /** Validates the header and indexes every complete entry, cutting off a partial last one. */
+    private void readEntries() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE) {
+            throw new IOException("Not a run archive");
+        }
+        ByteBuffer header = read(0, HEADER_SIZE);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header.get(i) != MAGIC[i]) {
+                throw new IOException("Not a run archive");
+            }
+        }
+        int version = header.getInt(MAGIC.length);
+        if (version != VERSION) {
+            throw new IOException("Unsupported run archive version: " + version);
+        }
+
+        long position = HEADER_SIZE;
+        while (position + ENTRY_HEADER_SIZE <= fileSize) {
+            ByteBuffer entry = read(position, ENTRY_HEADER_SIZE);
+            int length = Short.toUnsignedInt(entry.getShort(Integer.BYTES));
+            long end = position + ENTRY_HEADER_SIZE + length;
+            if (end > fileSize) {
+                break;
+            }
+            entries.put(entry.getInt(0), position);
+            position = end;
+        }
+        size = position;
+        if (size < fileSize) {
+            channel.truncate(size);
+        }
+    }
+
+    /**
+     * Returns whether a run is held in the archive.
+     *
+     * @param runNumber The run number
+     * @return {@code true} if the archive has an entry for the run
+     */
+    public synchronized boolean contains(int runNumber) {
+        return entries.containsKey(runNumber);
+    }
+
+    /**
+     * Compresses a run record and appends it to the archive. The entry reaches the disk on the
+     * next {@link #force()}.
+     *
+     * @param runNumber The run number
+     * @param record The {@link BinarySaveFormat} record of the run
+     * @throws IOException If the file cannot be written
+     */
+    public synchronized void append(int runNumber, byte[] record) throws IOException {
+        byte[] compressed = compress(record);
+        assert compressed.length <= 0xFFFF : "A compressed run record must fit its length field";
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + compressed.length);
+        entry.putInt(runNumber).putShort((short) compressed.length).put(compressed);
+        write(entry.flip(), size);
+        entries.put(runNumber, size);
+        size += entry.limit();
+    }
+
+    /**
+     * Reads and decompresses the record of an archived run.
+     *
+     * @param runNumber The run number
+     * @return The {@link BinarySaveFormat} record of the run
+     * @throws IOException If the run is not archived or its entry is corrupted
+     */
+    public synchronized byte[] readRecord(int runNumber) throws IOException {
+        Long position = entries.get(runNumber);
+        if (position == null) {
+            throw new IOException("Run " + runNumber + " is not archived");
+        }
+        ByteBuffer header = read(position, ENTRY_HEADER_SIZE);
+        int length = Short.toUnsignedInt(header.getShort(Integer.BYTES));
+        ByteBuffer compressed = read(position + ENTRY_HEADER_SIZE, length);
+        return decompress(runNumber, compressed.array());
+    }
+
+    /**
+     * Returns the number of bytes in the archive.
+     *
+     * @return The size of the file
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Writes every appended entry to the disk.
+     *
+     * @throws IOException If the file cannot be forced
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Forces all entries to disk and closes the file. The archive cannot be used afterwards.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static byte[] compress(byte[] record) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(record);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(record.length);
+            byte[] chunk = new byte[MappedRunStore.SLOT_SIZE];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(int runNumber, byte[] compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] record = new byte[MappedRunStore.MAX_RECORD_SIZE + 1];
+            int length = inflater.inflate(record);
+            if (length == 0 && inflater.needsDictionary()) {
+                inflater.setDictionary(DICTIONARY);
+                length = inflater.inflate(record);
+            }
+            if (!inflater.finished() || length > MappedRunStore.MAX_RECORD_SIZE) {
+                throw new IOException("Archived run " + runNumber + " is corrupted");
+            }
+            byte[] trimmed = new byte[length];
+            System.arraycopy(record, 0, trimmed, 0, length);
+            return trimmed;
+        } catch (DataFormatException | IllegalArgumentException e) {
+            throw new IOException("Archived run " + runNumber + " is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Run archive is truncated");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
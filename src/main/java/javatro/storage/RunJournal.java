@@ -0,0 +1,335 @@
+package javatro.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only log of changes made to runs since the {@link MappedRunStore} was last compacted.
+ *
+ * <p>Each entry is a type byte, a 2 byte payload length, the payload and a checksum of
+ * everything before it, computed by the {@link IntegrityMode} of the run store. An entry either
+ * sets one field of a run, replaces a whole run with a {@link BinarySaveFormat} record or sets the
+ * number of runs. Entries are buffered in memory and written together by {@link #commit}, so a
+ * burst of changes costs a single write and force. A commit can stop at a {@link #mark()}, leaving
+ * later entries queued. Entries that fail to be written stay queued for the next commit.
+ *
+ * <p>A crash can only leave a partly written entry at the end of the log. Reading stops at the
+ * first entry that is incomplete or fails its checksum, and the log is cut back to the entries
+ * before it.
+ */
+public final class RunJournal {
+
+    /** Receives the entries of the log as it is read. */
+    public interface Replayer {
+        /**
+         * Sets one field of a run.
+         *
+         * @param runNumber The run to change
+         * @param fieldIndex The {@link DataParser} index of the field
+         * @param value The new value
+         */
+        void setField(int runNumber, int fieldIndex, String value);
+
+        /**
+         * Replaces a whole run.
+         *
+         * @param runNumber The run to replace
+         * @param record The {@link BinarySaveFormat} record of the run
+         * @throws IOException If the record cannot be decoded
+         */
+        void setRun(int runNumber, byte[] record) throws IOException;
+
+        /**
+         * Sets the number of runs, dropping any runs past it.
+         *
+         * @param count The new number of runs
+         */
+        void setRunCount(int count);
+    }
+
+    private static final int FIELD_ENTRY = 1;
+    private static final int RUN_ENTRY = 2;
+    private static final int COUNT_ENTRY = 3;
+    private static final int HEADER_BYTES = 3;
+    private static final int MAX_PAYLOAD = 0xFFFF;
+
+    private final FileChannel channel;
+    private final IntegrityMode integrityMode;
+    private final Object lock = new Object();
+    /** Held while the file is written, so commits and truncation happen one at a time. */
+    private final Object fileLock = new Object();
+
+    /** Entries not yet written to the file. */
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    /** Bytes in the file, as of the last commit. */
+    private long committedSize;
+    /** Bytes of every entry queued since the journal was opened, the pending ones last. */
+    private long queuedBytes;
+
+    private RunJournal(FileChannel channel, IntegrityMode integrityMode, long size) {
+        this.channel = channel;
+        this.integrityMode = integrityMode;
+        this.committedSize = size;
+    }
+
+    /**
+     * Opens a journal checked with {@link IntegrityMode#DEFAULT}, creating an empty one if the
+     * file does not exist.
+     *
+     * @param path The file holding the log
+     * @return The opened journal
+     * @throws IOException If the file cannot be opened
+     */
+    public static RunJournal open(Path path) throws IOException {
+        return open(path, IntegrityMode.DEFAULT);
+    }
+
+    /**
+     * Opens a journal, creating an empty one if the file does not exist.
+     *
+     * @param path The file holding the log
+     * @param integrityMode The integrity mode of the run store the journal belongs to
+     * @return The opened journal
+     * @throws IOException If the file cannot be opened
+     */
+    public static RunJournal open(Path path, IntegrityMode integrityMode) throws IOException {
+        assert path != null : "Journal path cannot be null";
+        assert integrityMode != null : "Integrity mode cannot be null";
+        FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        return new RunJournal(channel, integrityMode, channel.size());
+    }
+
+    // Region: Writer -----------------------------------------------------------
+
+    /**
+     * Queues an entry setting one field of a run.
+     *
+     * @param runNumber The run to change
+     * @param fieldIndex The {@link DataParser} index of the field
+     * @param value The new value
+     * @throws IllegalArgumentException If the value is too long for an entry
+     */
+    public void appendField(int runNumber, int fieldIndex, String value) {
+        assert fieldIndex >= 0 && fieldIndex <= 0xFF : "Field index must fit in a byte";
+        byte[] text = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(Integer.BYTES + 1 + text.length);
+        payload.putInt(runNumber).put((byte) fieldIndex).put(text);
+        append(FIELD_ENTRY, payload.array());
+    }
+
+    /**
+     * Queues an entry replacing a whole run.
+     *
+     * @param runNumber The run to replace
+     * @param record The {@link BinarySaveFormat} record of the run, checked with the journal's
+     *     integrity mode
+     */
+    public void appendRun(int runNumber, byte[] record) {
+        ByteBuffer payload = ByteBuffer.allocate(Integer.BYTES + record.length);
+        payload.putInt(runNumber).put(record);
+        append(RUN_ENTRY, payload.array());
+    }
+
+    /**
+     * Queues an entry setting the number of runs.
+     *
+     * @param count The new number of runs
+     */
+    public void appendRunCount(int count) {
+        append(COUNT_ENTRY, ByteBuffer.allocate(Integer.BYTES).putInt(count).array());
+    }
+
+    private void append(int type, byte[] payload) {
+        if (payload.length > MAX_PAYLOAD) {
+            throw new IllegalArgumentException("Journal entry is too long");
+        }
+        byte[] entry = new byte[HEADER_BYTES + payload.length];
+        entry[0] = (byte) type;
+        entry[1] = (byte) (payload.length >>> 8);
+        entry[2] = (byte) payload.length;
+        System.arraycopy(payload, 0, entry, HEADER_BYTES, payload.length);
+        byte[] checksum = integrityMode.checksum(entry, 0, entry.length);
+
+        synchronized (lock) {
+            pending.writeBytes(entry);
+            pending.writeBytes(checksum);
+            queuedBytes += entry.length + checksum.length;
+        }
+    }
+
+    /**
+     * Returns a mark after every entry queued so far, for {@link #commit(long)}.
+     *
+     * @return The mark
+     */
+    public long mark() {
+        synchronized (lock) {
+            return queuedBytes;
+        }
+    }
+
+    /**
+     * Returns the size of the log including entries not yet written.
+     *
+     * @return The size in bytes
+     */
+    public long size() {
+        synchronized (lock) {
+            return committedSize + pending.size();
+        }
+    }
+
+    /**
+     * Writes all queued entries to the file with a single write and forces them to disk.
+     *
+     * @throws IOException If the file cannot be written
+     */
+    public void commit() throws IOException {
+        commit(Long.MAX_VALUE);
+    }
+
+    /**
+     * Writes the entries queued before a mark to the file with a single write and forces them to
+     * disk. Entries queued after the mark stay queued. If the write fails, the entries are queued
+     * again ahead of any queued since, so the next commit writes them over whatever part reached
+     * the file.
+     *
+     * @param mark A mark returned by {@link #mark()}
+     * @throws IOException If the file cannot be written
+     */
+    public void commit(long mark) throws IOException {
+        synchronized (fileLock) {
+            byte[] entries;
+            long position;
+            synchronized (lock) {
+                byte[] queued = pending.toByteArray();
+                long firstQueued = queuedBytes - queued.length;
+                int length = (int) Math.max(0, Math.min(queued.length, mark - firstQueued));
+                entries = Arrays.copyOf(queued, length);
+                pending = new ByteArrayOutputStream();
+                pending.write(queued, length, queued.length - length);
+                position = committedSize;
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(entries);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    ByteArrayOutputStream retry = new ByteArrayOutputStream();
+                    retry.writeBytes(entries);
+                    retry.writeBytes(pending.toByteArray());
+                    pending = retry;
+                }
+                throw e;
+            }
+
+            synchronized (lock) {
+                committedSize = position;
+            }
+        }
+    }
+
+    /**
+     * Empties the file once every committed entry is in the run store and forced to disk. Entries
+     * queued since the last commit are kept, and written by the next commit.
+     *
+     * @throws IOException If the file cannot be truncated
+     */
+    public void truncate() throws IOException {
+        synchronized (fileLock) {
+            channel.truncate(0);
+            channel.force(false);
+            synchronized (lock) {
+                committedSize = 0;
+            }
+        }
+    }
+
+    // Region: Reader -----------------------------------------------------------
+
+    /**
+     * Replays every intact entry of the file, in the order they were written. A damaged tail is
+     * cut off so new entries follow the last intact one.
+     *
+     * @param replayer Receives the entries
+     * @throws IOException If the file cannot be read or a run record cannot be decoded
+     */
+    public void replay(Replayer replayer) throws IOException {
+        ByteBuffer file = ByteBuffer.allocate((int) channel.size());
+        while (file.hasRemaining() && channel.read(file, file.position()) >= 0) {
+            // Keep reading until the buffer is full
+        }
+        file.flip();
+
+        int checksumBytes = integrityMode.getChecksumBytes();
+        int valid = 0;
+        while (file.remaining() >= HEADER_BYTES + checksumBytes) {
+            int start = file.position();
+            int type = file.get();
+            int length = Short.toUnsignedInt(file.getShort());
+            if (file.remaining() < length + checksumBytes) {
+                break;
+            }
+            if (!integrityMode.matches(file.array(), start, HEADER_BYTES + length)) {
+                break;
+            }
+            ByteBuffer payload = file.slice(file.position(), length);
+            file.position(file.position() + length + checksumBytes);
+
+            apply(type, payload, replayer);
+            valid = file.position();
+        }
+
+        if (valid < file.limit()) {
+            channel.truncate(valid);
+        }
+        synchronized (lock) {
+            committedSize = valid;
+        }
+    }
+
+    private static void apply(int type, ByteBuffer payload, Replayer replayer)
+            throws IOException {
+        // The run number, or the number of runs for a count entry
+        int number = payload.getInt();
+        switch (type) {
+            case FIELD_ENTRY -> {
+                int fieldIndex = Byte.toUnsignedInt(payload.get());
+                byte[] text = new byte[payload.remaining()];
+                payload.get(text);
+                replayer.setField(number, fieldIndex, new String(text, StandardCharsets.UTF_8));
+            }
+            case RUN_ENTRY -> {
+                byte[] record = new byte[payload.remaining()];
+                payload.get(record);
+                replayer.setRun(number, record);
+            }
+            case COUNT_ENTRY -> replayer.setRunCount(number);
+            default -> throw new IOException("Unknown journal entry type: " + type);
+        }
+    }
+
+    /**
+     * Closes the file. Queued entries that were not committed are lost.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+}
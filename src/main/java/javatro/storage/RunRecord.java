@@ -0,0 +1,570 @@
+package javatro.storage;
+
+import javatro.core.Ante;
+import javatro.core.Card;
+import javatro.core.CardCodec;
+import javatro.core.Deck;
+import javatro.core.PokerHand;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A saved run held in primitive fields. Values are parsed once when a run is loaded and formatted
+ * only when a field is asked for as text, so game code reads and updates runs without handling
+ * strings.
+ *
+ * <p>Cards are kept as card codes, the blind and deck as ordinals and jokers as ids into a shared
+ * table of joker names, with {@link #EMPTY} marking an empty slot. Fields can also be read and
+ * written as text by their {@link DataParser} index, where empty fields read as {@code "NA"}.
+ */
+public final class RunRecord {
+
+    /** Number of cards held in hand. */
+    public static final int HOLDING_HAND_SIZE = 8;
+
+    /** Number of joker slots. */
+    public static final int JOKER_SLOTS = 5;
+
+    /** Number of planet levels, one per poker hand type. */
+    public static final int PLANET_LEVELS = 13;
+
+    /** Number of cards left in the deck. */
+    public static final int REST_OF_DECK_SIZE = 44;
+
+    /** Ante of the final boss blind. A run that beats it moves past this ante and is won. */
+    public static final int FINAL_ANTE = 8;
+
+    /** Number of fields in a run, in the order of the {@link DataParser} indexes. */
+    public static final int FIELD_COUNT = DataParser.START_OF_REST_OF_DECK + REST_OF_DECK_SIZE;
+
+    /** Code of an empty card, blind, deck or joker slot. */
+    static final byte EMPTY = -1;
+
+    private static final String EMPTY_VALUE = "NA";
+    private static final Ante.Blind[] BLINDS = Ante.Blind.values();
+    private static final Deck.DeckType[] DECKS = Deck.DeckType.values();
+
+    /** Names of every joker seen so far, indexed by joker id. */
+    private static final List<String> jokerNames = new ArrayList<>();
+    private static final Map<String, Byte> jokerIds = new HashMap<>();
+
+    private int runNumber;
+    private int roundNumber;
+    private long roundScore;
+    private int hands;
+    private int discards;
+    private int anteNumber;
+    private int wins;
+    private int losses;
+    private byte blind = EMPTY;
+    private byte deck = EMPTY;
+    private final byte[] holdingHand = new byte[HOLDING_HAND_SIZE];
+    private final byte[] jokers = new byte[JOKER_SLOTS];
+    private final byte[] planetLevels = new byte[PLANET_LEVELS];
+    private final byte[] restOfDeck = new byte[REST_OF_DECK_SIZE];
+
+    /**
+     * Creates a run with every number zero and every card, joker, blind and deck slot empty.
+     *
+     * @param runNumber The number of the run
+     */
+    public RunRecord(int runNumber) {
+        this.runNumber = runNumber;
+        Arrays.fill(holdingHand, EMPTY);
+        Arrays.fill(jokers, EMPTY);
+        Arrays.fill(restOfDeck, EMPTY);
+    }
+
+    /**
+     * Parses a run from its text fields, such as a row of the legacy CSV save file. Fields past
+     * {@link #FIELD_COUNT}, like the CSV row hash, are ignored.
+     *
+     * @param fields The run's fields, in the order of the {@link DataParser} indexes
+     * @return The parsed run
+     * @throws IllegalArgumentException If a field is missing or holds an invalid value
+     */
+    public static RunRecord fromFields(List<String> fields) {
+        assert fields != null : "Run fields should not be null";
+        if (fields.size() < FIELD_COUNT) {
+            throw new IllegalArgumentException("Run data is incomplete: " + fields.size());
+        }
+        RunRecord run = new RunRecord(0);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            run.setField(i, fields.get(i));
+        }
+        return run;
+    }
+
+    /**
+     * Returns a copy of this run that does not change when this run does.
+     *
+     * @return The copy
+     */
+    public RunRecord copy() {
+        RunRecord copy = new RunRecord(runNumber);
+        copy.roundNumber = roundNumber;
+        copy.roundScore = roundScore;
+        copy.hands = hands;
+        copy.discards = discards;
+        copy.anteNumber = anteNumber;
+        copy.wins = wins;
+        copy.losses = losses;
+        copy.blind = blind;
+        copy.deck = deck;
+        System.arraycopy(holdingHand, 0, copy.holdingHand, 0, HOLDING_HAND_SIZE);
+        System.arraycopy(jokers, 0, copy.jokers, 0, JOKER_SLOTS);
+        System.arraycopy(planetLevels, 0, copy.planetLevels, 0, PLANET_LEVELS);
+        System.arraycopy(restOfDeck, 0, copy.restOfDeck, 0, REST_OF_DECK_SIZE);
+        return copy;
+    }
+
+    // Region: Typed fields -----------------------------------------------------
+
+    public int getRunNumber() {
+        return runNumber;
+    }
+
+    public void setRunNumber(int runNumber) {
+        this.runNumber = runNumber;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public void setRoundNumber(int roundNumber) {
+        this.roundNumber = roundNumber;
+    }
+
+    public long getRoundScore() {
+        return roundScore;
+    }
+
+    public void setRoundScore(long roundScore) {
+        this.roundScore = roundScore;
+    }
+
+    public int getHands() {
+        return hands;
+    }
+
+    public void setHands(int hands) {
+        this.hands = hands;
+    }
+
+    public int getDiscards() {
+        return discards;
+    }
+
+    public void setDiscards(int discards) {
+        this.discards = discards;
+    }
+
+    public int getAnteNumber() {
+        return anteNumber;
+    }
+
+    public void setAnteNumber(int anteNumber) {
+        this.anteNumber = anteNumber;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public void setLosses(int losses) {
+        this.losses = losses;
+    }
+
+    /**
+     * Returns whether the run is over, either lost or won past the final boss blind. A finished
+     * run cannot be continued, so it no longer changes and is moved to the {@link RunArchive}.
+     *
+     * @return {@code true} if the run is finished
+     */
+    public boolean isFinished() {
+        return losses > 0 || anteNumber > FINAL_ANTE;
+    }
+
+    /**
+     * Returns the blind the run is at.
+     *
+     * @return The blind, or null if none is saved
+     */
+    public Ante.Blind getBlind() {
+        return blind == EMPTY ? null : BLINDS[blind];
+    }
+
+    public void setBlind(Ante.Blind blind) {
+        this.blind = blind == null ? EMPTY : (byte) blind.ordinal();
+    }
+
+    /**
+     * Returns the deck the run is played with.
+     *
+     * @return The deck type, or null if none is chosen yet
+     */
+    public Deck.DeckType getDeck() {
+        return deck == EMPTY ? null : DECKS[deck];
+    }
+
+    public void setDeck(Deck.DeckType deck) {
+        this.deck = deck == null ? EMPTY : (byte) deck.ordinal();
+    }
+
+    /**
+     * Returns a card held in hand.
+     *
+     * @param slot The position in hand
+     * @return The card, or null if the slot is empty
+     */
+    public Card getHoldingCard(int slot) {
+        return decodeCard(holdingHand[slot]);
+    }
+
+    /**
+     * Sets a card held in hand.
+     *
+     * @param slot The position in hand
+     * @param card The card, or null to empty the slot
+     */
+    public void setHoldingCard(int slot, Card card) {
+        holdingHand[slot] = encodeCard(card);
+    }
+
+    /**
+     * Returns a card left in the deck.
+     *
+     * @param slot The position in the rest of the deck
+     * @return The card, or null if the slot is empty
+     */
+    public Card getDeckCard(int slot) {
+        return decodeCard(restOfDeck[slot]);
+    }
+
+    /**
+     * Sets a card left in the deck.
+     *
+     * @param slot The position in the rest of the deck
+     * @param card The card, or null to empty the slot
+     */
+    public void setDeckCard(int slot, Card card) {
+        restOfDeck[slot] = encodeCard(card);
+    }
+
+    /**
+     * Returns the name of a held joker.
+     *
+     * @param slot The joker slot
+     * @return The joker's name, or null if the slot is empty
+     */
+    public String getJoker(int slot) {
+        return jokers[slot] == EMPTY ? null : jokerName(jokers[slot]);
+    }
+
+    /**
+     * Sets a held joker.
+     *
+     * @param slot The joker slot
+     * @param name The joker's name, or null to empty the slot
+     */
+    public void setJoker(int slot, String name) {
+        jokers[slot] = name == null ? EMPTY : jokerId(name);
+    }
+
+    /**
+     * Returns the planet level of a poker hand type.
+     *
+     * @param handType The poker hand type
+     * @return The level
+     */
+    public int getPlanetLevel(PokerHand.HandType handType) {
+        return Byte.toUnsignedInt(planetLevels[planetSlot(handType)]);
+    }
+
+    /**
+     * Sets the planet level of a poker hand type.
+     *
+     * @param handType The poker hand type
+     * @param level The level, from 0 to 255
+     * @throws IllegalArgumentException If the level is out of range
+     */
+    public void setPlanetLevel(PokerHand.HandType handType, int level) {
+        planetLevels[planetSlot(handType)] = encodeLevel(level);
+    }
+
+    /**
+     * Returns a planet level by its position among the planet level fields.
+     *
+     * @param slot The position, counted from {@link DataParser#HIGH_CARD_INDEX}
+     * @return The level
+     */
+    int getPlanetLevelAt(int slot) {
+        return Byte.toUnsignedInt(planetLevels[slot]);
+    }
+
+    /**
+     * Sets a planet level by its position among the planet level fields.
+     *
+     * @param slot The position, counted from {@link DataParser#HIGH_CARD_INDEX}
+     * @param level The level, from 0 to 255
+     */
+    void setPlanetLevelAt(int slot, int level) {
+        planetLevels[slot] = encodeLevel(level);
+    }
+
+    private static int planetSlot(PokerHand.HandType handType) {
+        return DataParser.planetLevelIndex(handType) - DataParser.HIGH_CARD_INDEX;
+    }
+
+    // Region: Text fields ------------------------------------------------------
+
+    /**
+     * Returns a field as text.
+     *
+     * @param index The {@link DataParser} index of the field
+     * @return The field's value, or {@code "NA"} if it is empty
+     */
+    public String getField(int index) {
+        assert index >= 0 && index < FIELD_COUNT : "Field index out of range: " + index;
+        return switch (index) {
+            case DataParser.RUN_NUMBER_INDEX -> Integer.toString(runNumber);
+            case DataParser.ROUND_NUMBER_INDEX -> Integer.toString(roundNumber);
+            case DataParser.ROUND_SCORE_INDEX -> Long.toString(roundScore);
+            case DataParser.HAND_INDEX -> Integer.toString(hands);
+            case DataParser.DISCARD_INDEX -> Integer.toString(discards);
+            case DataParser.ANTE_NUMBER_INDEX -> Integer.toString(anteNumber);
+            case DataParser.BLIND_INDEX -> blind == EMPTY ? EMPTY_VALUE : BLINDS[blind].getName();
+            case DataParser.WINS_INDEX -> Integer.toString(wins);
+            case DataParser.LOSSES_INDEX -> Integer.toString(losses);
+            case DataParser.DECK_INDEX -> deck == EMPTY ? EMPTY_VALUE : DECKS[deck].getName();
+            default -> getListField(index);
+        };
+    }
+
+    private String getListField(int index) {
+        if (index < DataParser.JOKER_HAND_START_INDEX) {
+            return cardText(holdingHand[index - DataParser.HOLDING_HAND_START_INDEX]);
+        } else if (index < DataParser.HIGH_CARD_INDEX) {
+            byte joker = jokers[index - DataParser.JOKER_HAND_START_INDEX];
+            return joker == EMPTY ? EMPTY_VALUE : jokerName(joker);
+        } else if (index < DataParser.START_OF_REST_OF_DECK) {
+            return Integer.toString(
+                    Byte.toUnsignedInt(planetLevels[index - DataParser.HIGH_CARD_INDEX]));
+        }
+        return cardText(restOfDeck[index - DataParser.START_OF_REST_OF_DECK]);
+    }
+
+    /**
+     * Sets a field from text. Empty values ({@code ""}, {@code "-"} or {@code "NA"}) empty a card,
+     * joker, blind or deck slot.
+     *
+     * @param index The {@link DataParser} index of the field
+     * @param value The field's new value
+     * @throws IllegalArgumentException If the value is not valid for the field
+     */
+    public void setField(int index, String value) {
+        assert index >= 0 && index < FIELD_COUNT : "Field index out of range: " + index;
+        assert value != null : "Field value should not be null";
+        switch (index) {
+            case DataParser.RUN_NUMBER_INDEX -> runNumber = parseInt(value);
+            case DataParser.ROUND_NUMBER_INDEX -> roundNumber = parseInt(value);
+            case DataParser.ROUND_SCORE_INDEX -> roundScore = parseLong(value);
+            case DataParser.HAND_INDEX -> hands = parseInt(value);
+            case DataParser.DISCARD_INDEX -> discards = parseInt(value);
+            case DataParser.ANTE_NUMBER_INDEX -> anteNumber = parseInt(value);
+            case DataParser.BLIND_INDEX -> blind = parseBlind(value);
+            case DataParser.WINS_INDEX -> wins = parseInt(value);
+            case DataParser.LOSSES_INDEX -> losses = parseInt(value);
+            case DataParser.DECK_INDEX -> deck = parseDeck(value);
+            default -> setListField(index, value);
+        }
+    }
+
+    private void setListField(int index, String value) {
+        if (index < DataParser.JOKER_HAND_START_INDEX) {
+            holdingHand[index - DataParser.HOLDING_HAND_START_INDEX] = parseCard(value);
+        } else if (index < DataParser.HIGH_CARD_INDEX) {
+            jokers[index - DataParser.JOKER_HAND_START_INDEX] =
+                    isEmpty(value) ? EMPTY : jokerId(value.trim());
+        } else if (index < DataParser.START_OF_REST_OF_DECK) {
+            planetLevels[index - DataParser.HIGH_CARD_INDEX] = encodeLevel(parseInt(value));
+        } else {
+            restOfDeck[index - DataParser.START_OF_REST_OF_DECK] = parseCard(value);
+        }
+    }
+
+    /**
+     * Returns every field as text.
+     *
+     * @return The run's fields, in the order of the {@link DataParser} indexes
+     */
+    public ArrayList<String> toFields() {
+        ArrayList<String> fields = new ArrayList<>(FIELD_COUNT);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            fields.add(getField(i));
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the fields whose values differ from another run.
+     *
+     * @param other The run to compare with
+     * @return The {@link DataParser} indexes of the differing fields, in ascending order
+     */
+    public List<Integer> changedFields(RunRecord other) {
+        List<Integer> changed = new ArrayList<>();
+        long[] numbers = numbers();
+        long[] otherNumbers = other.numbers();
+        for (int i = 0; i < numbers.length; i++) {
+            if (numbers[i] != otherNumbers[i]) {
+                changed.add(i);
+            }
+        }
+        addChanged(changed, DataParser.HOLDING_HAND_START_INDEX, holdingHand, other.holdingHand);
+        addChanged(changed, DataParser.JOKER_HAND_START_INDEX, jokers, other.jokers);
+        addChanged(changed, DataParser.HIGH_CARD_INDEX, planetLevels, other.planetLevels);
+        addChanged(changed, DataParser.START_OF_REST_OF_DECK, restOfDeck, other.restOfDeck);
+        return changed;
+    }
+
+    /** Returns the fields before the holding hand, indexed by {@link DataParser} index. */
+    private long[] numbers() {
+        return new long[] {
+            runNumber, roundNumber, roundScore, hands, discards, anteNumber, blind, wins, losses,
+            deck
+        };
+    }
+
+    private static void addChanged(List<Integer> changed, int start, byte[] values, byte[] other) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != other[i]) {
+                changed.add(start + i);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RunRecord run && changedFields(run).isEmpty();
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(numbers()) * 31 + Arrays.hashCode(restOfDeck);
+    }
+
+    // Region: Codecs -----------------------------------------------------------
+
+    private static boolean isEmpty(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() || trimmed.equals("-") || trimmed.equals(EMPTY_VALUE);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+    }
+
+    private static byte encodeLevel(int level) {
+        if (level < 0 || level > 0xFF) {
+            throw new IllegalArgumentException("Planet level out of range: " + level);
+        }
+        return (byte) level;
+    }
+
+    private static byte parseBlind(String value) {
+        if (isEmpty(value)) {
+            return EMPTY;
+        }
+        for (Ante.Blind candidate : BLINDS) {
+            if (candidate.getName().equals(value.trim())) {
+                return (byte) candidate.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("Invalid blind: " + value);
+    }
+
+    private static byte parseDeck(String value) {
+        if (isEmpty(value)) {
+            return EMPTY;
+        }
+        for (Deck.DeckType candidate : DECKS) {
+            if (candidate.getName().equals(value.trim())) {
+                return (byte) candidate.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("Invalid deck: " + value);
+    }
+
+    private static byte parseCard(String value) {
+        if (isEmpty(value)) {
+            return EMPTY;
+        }
+        int code = CardCodec.parseCode(value.trim());
+        if (code == CardCodec.INVALID) {
+            throw new IllegalArgumentException("Invalid card: " + value);
+        }
+        return (byte) code;
+    }
+
+    private static byte encodeCard(Card card) {
+        return card == null ? EMPTY : CardCodec.toByte(card);
+    }
+
+    private static Card decodeCard(byte code) {
+        return code == EMPTY ? null : CardCodec.decode(code);
+    }
+
+    private static String cardText(byte code) {
+        return code == EMPTY ? EMPTY_VALUE : CardCodec.toCardString(CardCodec.decode(code));
+    }
+
+    /**
+     * Returns the id of a joker name, adding the name to the joker table if it is new.
+     *
+     * @param name The joker's name
+     * @return The joker's id
+     * @throws IllegalArgumentException If the joker table is full
+     */
+    private static synchronized byte jokerId(String name) {
+        Byte id = jokerIds.get(name);
+        if (id == null) {
+            if (jokerNames.size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many joker names: " + name);
+            }
+            id = (byte) jokerNames.size();
+            jokerNames.add(name);
+            jokerIds.put(name, id);
+        }
+        return id;
+    }
+
+    private static synchronized String jokerName(byte id) {
+        return jokerNames.get(id);
+    }
+}
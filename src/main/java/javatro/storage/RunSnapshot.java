@@ -0,0 +1,186 @@
+package javatro.storage;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable view of every run as of one save. Taking a snapshot costs nothing, and reading one
+ * never blocks or is affected by the game changing runs afterwards, so it can be read from any
+ * thread.
+ *
+ * <p>Each save creates a new snapshot that shares every unchanged run with the previous one. Runs
+ * not changed since the last compaction are read from the run store when first used. Before a
+ * compaction overwrites a slot, the record it held is kept for the snapshots that can still read
+ * it, and it is released along with the last of those snapshots.
+ */
+public final class RunSnapshot {
+
+    /** A snapshot without any runs. */
+    static final RunSnapshot EMPTY = new RunSnapshot(new RunRecord[0], new StoredRuns(null, 0));
+
+    /** Saved copy of every run, or null for a run still as it is in {@link #stored}. */
+    private final RunRecord[] runs;
+    private final StoredRuns stored;
+
+    private RunSnapshot(RunRecord[] runs, StoredRuns stored) {
+        this.runs = runs;
+        this.stored = stored;
+    }
+
+    /**
+     * Creates the snapshot of freshly opened save files.
+     *
+     * @param runCount The number of runs
+     * @param savedRuns Saved copies of the runs changed by the journal, which must not change
+     * @param stored The runs of the run store as it was opened
+     * @return The snapshot
+     */
+    static RunSnapshot of(int runCount, Map<Integer, RunRecord> savedRuns, StoredRuns stored) {
+        RunRecord[] runs = new RunRecord[runCount];
+        for (Map.Entry<Integer, RunRecord> entry : savedRuns.entrySet()) {
+            runs[entry.getKey()] = entry.getValue();
+        }
+        return new RunSnapshot(runs, stored);
+    }
+
+    /**
+     * Returns the snapshot after a save, sharing every run that did not change.
+     *
+     * @param changedRuns Saved copies of the changed runs, which must not change afterwards
+     * @param runCount The number of runs after the save
+     * @return The new snapshot
+     */
+    RunSnapshot withRuns(Map<Integer, RunRecord> changedRuns, int runCount) {
+        RunRecord[] next = Arrays.copyOf(runs, runCount);
+        for (Map.Entry<Integer, RunRecord> entry : changedRuns.entrySet()) {
+            if (entry.getKey() < runCount) {
+                next[entry.getKey()] = entry.getValue();
+            }
+        }
+        return new RunSnapshot(next, stored);
+    }
+
+    /**
+     * Returns this snapshot reading its unchanged runs from a newer view of the run store, such as
+     * after a compaction. The saved copies of the given runs are dropped, since their slots now
+     * hold the same records.
+     *
+     * @param newStored The runs of the run store as it is now
+     * @param storedRunNumbers Runs whose slots hold their saved copies in this snapshot
+     * @return The new snapshot
+     */
+    RunSnapshot withStoredRuns(StoredRuns newStored, Set<Integer> storedRunNumbers) {
+        RunRecord[] next = runs.clone();
+        for (int runNumber : storedRunNumbers) {
+            if (runNumber < next.length) {
+                next[runNumber] = null;
+            }
+        }
+        return new RunSnapshot(next, newStored);
+    }
+
+    /**
+     * Returns the number of runs.
+     *
+     * @return The number of runs
+     */
+    public int size() {
+        return runs.length;
+    }
+
+    /**
+     * Returns a copy of a run, which may be changed without affecting the snapshot.
+     *
+     * @param runNumber The run number
+     * @return The run as of the snapshot
+     * @throws IllegalStateException If the run's slot in the save file is corrupted
+     */
+    public RunRecord getRun(int runNumber) {
+        return savedRun(runNumber).copy();
+    }
+
+    /**
+     * Returns the summary of a run.
+     *
+     * @param runNumber The run number
+     * @return The run's summary as of the snapshot
+     * @throws IllegalStateException If the run's slot in the save file is corrupted
+     */
+    public RunSummary getSummary(int runNumber) {
+        return RunSummary.of(savedRun(runNumber));
+    }
+
+    /**
+     * Returns a field of a run as text.
+     *
+     * @param runNumber The run number
+     * @param index The {@link DataParser} index of the field
+     * @return The field's value as of the snapshot
+     * @throws IllegalStateException If the run's slot in the save file is corrupted
+     */
+    public String getField(int runNumber, int index) {
+        return savedRun(runNumber).getField(index);
+    }
+
+    private RunRecord savedRun(int runNumber) {
+        assert runNumber >= 0 && runNumber < runs.length : "Run number must exist in snapshot";
+        RunRecord run = runs[runNumber];
+        return run != null ? run : stored.get(runNumber);
+    }
+
+    /**
+     * The runs of a run store as of one compaction, or as it was opened. Each run is read once,
+     * when first needed by a snapshot or before its slot is first overwritten, and kept unchanged
+     * for as long as the view is.
+     */
+    static final class StoredRuns {
+        private final MappedRunStore store;
+        /** Number of runs the store held when it was opened. */
+        private final int runCount;
+        private final Map<Integer, RunRecord> originals = new ConcurrentHashMap<>();
+
+        /**
+         * Creates the view of a run store as it is now.
+         *
+         * @param store The run store, or null if there is none
+         * @param runCount The number of runs in the store
+         */
+        StoredRuns(MappedRunStore store, int runCount) {
+            this.store = store;
+            this.runCount = runCount;
+        }
+
+        /**
+         * Keeps the original record of a run before its slot is overwritten.
+         *
+         * @param runNumber The run whose slot is about to change
+         */
+        void preserve(int runNumber) {
+            if (runNumber >= runCount) {
+                return;
+            }
+            try {
+                get(runNumber);
+            } catch (IllegalStateException e) {
+                // A corrupted record cannot be kept, and must not stop the slot being repaired
+            }
+        }
+
+        private RunRecord get(int runNumber) {
+            assert runNumber < runCount : "Run must be in the store as it was opened";
+            return originals.computeIfAbsent(
+                    runNumber,
+                    slot -> {
+                        try {
+                            return store.readRun(slot);
+                        } catch (IOException e) {
+                            throw new IllegalStateException(
+                                    "Run " + slot + " could not be read: " + e.getMessage(), e);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package javatro.storage;
+
+import javatro.core.Ante;
+import javatro.core.Deck;
+
+/**
+ * The fields of a saved run shown by the run selection screens: everything before the holding
+ * hand. A summary can be read from a run's slot without decoding its cards and jokers.
+ */
+public final class RunSummary {
+
+    private final int runNumber;
+    private final int roundNumber;
+    private final long roundScore;
+    private final int hands;
+    private final int discards;
+    private final int anteNumber;
+    private final Ante.Blind blind;
+    private final int wins;
+    private final int losses;
+    private final Deck.DeckType deck;
+
+    RunSummary(
+            int runNumber,
+            int roundNumber,
+            long roundScore,
+            int hands,
+            int discards,
+            int anteNumber,
+            Ante.Blind blind,
+            int wins,
+            int losses,
+            Deck.DeckType deck) {
+        this.runNumber = runNumber;
+        this.roundNumber = roundNumber;
+        this.roundScore = roundScore;
+        this.hands = hands;
+        this.discards = discards;
+        this.anteNumber = anteNumber;
+        this.blind = blind;
+        this.wins = wins;
+        this.losses = losses;
+        this.deck = deck;
+    }
+
+    /**
+     * Returns the summary of a run held in memory.
+     *
+     * @param run The run
+     * @return The run's summary
+     */
+    public static RunSummary of(RunRecord run) {
+        assert run != null : "Run should not be null";
+        return new RunSummary(
+                run.getRunNumber(),
+                run.getRoundNumber(),
+                run.getRoundScore(),
+                run.getHands(),
+                run.getDiscards(),
+                run.getAnteNumber(),
+                run.getBlind(),
+                run.getWins(),
+                run.getLosses(),
+                run.getDeck());
+    }
+
+    /**
+     * Returns whether a field is part of a summary.
+     *
+     * @param index The {@link DataParser} index of the field
+     * @return {@code true} if {@link #getField} can return the field
+     */
+    public static boolean hasField(int index) {
+        return index >= 0 && index < DataParser.HOLDING_HAND_START_INDEX;
+    }
+
+    public int getRunNumber() {
+        return runNumber;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public long getRoundScore() {
+        return roundScore;
+    }
+
+    public int getHands() {
+        return hands;
+    }
+
+    public int getDiscards() {
+        return discards;
+    }
+
+    public int getAnteNumber() {
+        return anteNumber;
+    }
+
+    public Ante.Blind getBlind() {
+        return blind;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public Deck.DeckType getDeck() {
+        return deck;
+    }
+
+    /**
+     * Returns whether the run is over, as {@link RunRecord#isFinished} does.
+     *
+     * @return {@code true} if the run is finished
+     */
+    public boolean isFinished() {
+        return losses > 0 || anteNumber > RunRecord.FINAL_ANTE;
+    }
+
+    /**
+     * Returns a field as text, in the same form as {@link RunRecord#getField}.
+     *
+     * @param index The {@link DataParser} index of the field
+     * @return The field's value, or {@code "NA"} if it is empty
+     */
+    public String getField(int index) {
+        assert hasField(index) : "Field is not part of a run summary: " + index;
+        return switch (index) {
+            case DataParser.RUN_NUMBER_INDEX -> Integer.toString(runNumber);
+            case DataParser.ROUND_NUMBER_INDEX -> Integer.toString(roundNumber);
+            case DataParser.ROUND_SCORE_INDEX -> Long.toString(roundScore);
+            case DataParser.HAND_INDEX -> Integer.toString(hands);
+            case DataParser.DISCARD_INDEX -> Integer.toString(discards);
+            case DataParser.ANTE_NUMBER_INDEX -> Integer.toString(anteNumber);
+            case DataParser.BLIND_INDEX -> blind == null ? "NA" : blind.getName();
+            case DataParser.WINS_INDEX -> Integer.toString(wins);
+            case DataParser.LOSSES_INDEX -> Integer.toString(losses);
+            default -> deck == null ? "NA" : deck.getName();
+        };
+    }
+}
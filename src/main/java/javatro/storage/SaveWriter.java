@@ -0,0 +1,161 @@
+package javatro.storage;
+
+import java.io.IOException;
+
+/**
+ * Performs save file I/O on a single background thread so the game never waits on the disk.
+ *
+ * <p>Saves are coalesced: if several saves are requested while one is in progress, only the newest
+ * is performed once the current one finishes.
+ */
+public final class SaveWriter {
+
+    /** A save performed on the writer thread. */
+    @FunctionalInterface
+    public interface SaveTask {
+        /**
+         * Performs the save.
+         *
+         * @throws IOException If the save fails
+         */
+        void run() throws IOException;
+    }
+
+    private final Object lock = new Object();
+
+    /** The newest save not yet picked up by the writer thread, or null. */
+    private SaveTask pending;
+    /** Number of saves requested so far. */
+    private long requested;
+    /** Number of requested saves covered by a finished write. */
+    private long written;
+    /** First write error not yet reported, with later ones suppressed in it, or null. */
+    private IOException failure;
+    /** Why the writer thread stopped, or null while it is running. */
+    private Throwable stopped;
+
+    /** Creates a writer that runs submitted tasks and starts its background thread. */
+    public SaveWriter() {
+        Thread writerThread = new Thread(this::writeLoop, "javatro-save-writer");
+        writerThread.setDaemon(true); // Pending saves are flushed explicitly before exiting
+        writerThread.start();
+    }
+
+    /**
+     * Requests a save task and returns immediately. A newer request replaces this task if it has
+     * not started yet, so each task must perform a complete save.
+     *
+     * @param task The save to perform on the writer thread
+     */
+    public void submit(SaveTask task) {
+        assert task != null : "Save task cannot be null";
+        synchronized (lock) {
+            pending = task;
+            requested++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until every save requested so far has been written.
+     *
+     * @throws IOException If a write failed since the last report, the writer thread has stopped
+     *     or the wait was interrupted
+     */
+    public void flush() throws IOException {
+        synchronized (lock) {
+            long flushUpTo = requested;
+            while (written < flushUpTo && stopped == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for save to finish");
+                }
+            }
+            IOException error = failure;
+            failure = null;
+            if (error != null) {
+                throw error;
+            }
+            if (written < flushUpTo) {
+                throw new IOException("Save writer has stopped", stopped);
+            }
+        }
+    }
+
+    /**
+     * Returns and clears the first write error since the last report, so a failure in the
+     * background can be reported on the game thread. A later successful write does not clear it.
+     *
+     * @return The error, or null if every write since the last report succeeded
+     */
+    public IOException takeFailure() {
+        synchronized (lock) {
+            IOException error = failure;
+            failure = null;
+            return error;
+        }
+    }
+
+    /** Writes pending saves until the program exits, or until a task throws an {@link Error}. */
+    private void writeLoop() {
+        while (true) {
+            SaveTask task;
+            long sequence;
+            synchronized (lock) {
+                while (pending == null) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        stop(e);
+                        return;
+                    }
+                }
+                task = pending;
+                pending = null;
+                sequence = requested;
+            }
+
+            IOException error = null;
+            try {
+                task.run();
+            } catch (IOException e) {
+                error = e;
+            } catch (Error e) {
+                // The writer cannot be trusted to keep running; waiting flushes must fail instead
+                stop(e);
+                throw e;
+            } catch (Throwable e) {
+                error = new IOException(e);
+            }
+
+            synchronized (lock) {
+                written = sequence;
+                recordFailure(error);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /** Keeps the first unreported write error, adding later ones to it. */
+    private void recordFailure(IOException error) {
+        if (error == null) {
+            return;
+        }
+        if (failure == null) {
+            failure = error;
+        } else {
+            failure.addSuppressed(error);
+        }
+    }
+
+    /** Marks the writer thread as stopped and wakes every waiting flush. */
+    private void stop(Throwable cause) {
+        synchronized (lock) {
+            stopped = cause;
+            recordFailure(new IOException("Save writer has stopped", cause));
+            lock.notifyAll();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 // @@author flyingapricot
 package javatro.storage;
 
+import javatro.core.Ante;
 import javatro.core.JavatroException;
+import javatro.core.PokerHand;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,7 +40,7 @@ public class Storage {
         try {
             initaliseSaveFile();
         } catch (JavatroException e) {
-            System.out.println("Could not initialize task file");
+            System.out.println("Could not initialize task file: " + e.getMessage());
         }
     }
 
@@ -63,6 +65,16 @@ public class Storage {
         storageManager.updateSaveFile();
     }
 
+    /**
+     * Waits until every queued save has been written, by delegating to the {@link
+     * StorageManager}.
+     *
+     * @throws JavatroException If an error occurs during saving.
+     */
+    public void flushSaveFile() throws JavatroException {
+        storageManager.flushSaveFile();
+    }
+
     /**
      * Initializes the save file by calling {@link StorageManager#initaliseSaveFile()}.
      *
@@ -73,67 +85,65 @@ public class Storage {
     }
 
     /**
-     * Retrieves a deep copy of the serialized run data.
+     * Retrieves an immutable snapshot of every run as of the last save. Taking and reading the
+     * snapshot never blocks the game, so it suits run lists, statistics and exports.
+     *
+     * @return The snapshot of all runs.
+     */
+    public RunSnapshot getRunSnapshot() {
+        RunSnapshot snapshot = storageManager.getSnapshot();
+        assert snapshot != null : "Run snapshot should not be null.";
+        return snapshot;
+    }
+
+    /**
+     * Retrieves the serialized run data as of the last save, read from a {@link RunSnapshot}.
      *
      * @return A {@code TreeMap} containing all serialized run data.
      */
     public TreeMap<Integer, List<String>> getSerializedRunData() {
+        RunSnapshot snapshot = getRunSnapshot();
         TreeMap<Integer, List<String>> copy = new TreeMap<>();
-        for (Map.Entry<Integer, ArrayList<String>> entry :
-                storageManager.getAllRunData().entrySet()) {
-            assert entry != null : "Entry in serializedRunData should not be null.";
-            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        for (int i = 0; i < snapshot.size(); i++) {
+            copy.put(i, snapshot.getRun(i).toFields());
         }
-        assert copy != null : "Copy of serialized run data should not be null.";
         return copy;
     }
 
     /**
-     * Sets the serialized run data by delegating to the {@link StorageManager}.
+     * Sets the serialized run data by parsing each run and delegating to the {@link
+     * StorageManager}.
      *
      * @param serializedRunData The run data to be set.
+     * @throws IllegalArgumentException If a run holds an invalid value.
      */
     public void setSerializedRunData(TreeMap<Integer, ArrayList<String>> serializedRunData) {
         assert serializedRunData != null : "Serialized run data should not be null.";
-        storageManager.setSerializedRunData(serializedRunData);
+        TreeMap<Integer, RunRecord> runs = new TreeMap<>();
+        for (Map.Entry<Integer, ArrayList<String>> entry : serializedRunData.entrySet()) {
+            runs.put(entry.getKey(), RunRecord.fromFields(entry.getValue()));
+        }
+        storageManager.setRuns(runs);
     }
 
     /** Adds a new run to the storage with default values. */
     public void addNewRun() {
-        ArrayList<String> newRun = new ArrayList<>();
         isNewDeck = true;
 
         int arrSize = storageManager.getNumberOfRuns();
         assert arrSize >= 0 : "Array size must be non-negative.";
 
-        newRun.add(String.valueOf(arrSize));
-        newRun.add("1");
-        newRun.add("0");
-        newRun.add("4");
-        newRun.add("3");
-        newRun.add("1");
-        newRun.add("SMALL BLIND");
-        newRun.add("0");
-        newRun.add("0");
-        newRun.add("");
-
-        for (int i = 0; i < 8; i++) {
-            newRun.add("-");
-        }
-        for (int i = 0; i < 5; i++) {
-            newRun.add("-");
-        }
-        for (int i = 0; i < 13; i++) {
-            newRun.add("1");
+        RunRecord newRun = new RunRecord(arrSize);
+        newRun.setRoundNumber(1);
+        newRun.setHands(4);
+        newRun.setDiscards(3);
+        newRun.setAnteNumber(1);
+        newRun.setBlind(Ante.Blind.SMALL_BLIND);
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            newRun.setPlanetLevel(handType, 1);
         }
-        for (int i = 0; i < 44; i++) {
-            newRun.add("-");
-        }
-
-        assert newRun.size() == DataParser.START_OF_REST_OF_DECK + 44
-                : "New run should have the correct size.";
 
-        storageManager.saveRunData(arrSize, newRun);
+        storageManager.saveRun(arrSize, newRun);
         runChosen = storageManager.getNumberOfRuns();
         assert runChosen == arrSize + 1 : "Run chosen should be updated correctly.";
     }
@@ -150,18 +160,64 @@ public class Storage {
     }
 
     /**
-     * Retrieves a specific value from a run.
+     * Returns whether a run cannot be read because its save data is corrupted. Such runs are
+     * reported once and skipped by the run lists.
+     *
+     * @param runNumber The run number.
+     * @return {@code true} if the run cannot be read.
+     */
+    public boolean isRunCorrupted(int runNumber) {
+        return storageManager.isRunCorrupted(runNumber);
+    }
+
+    /**
+     * Returns whether a run is finished, either lost or won. Finished runs are kept in the
+     * archive and cannot be continued.
+     *
+     * @param runNumber The run number.
+     * @return {@code true} if the run is finished.
+     */
+    public boolean isRunFinished(int runNumber) {
+        return storageManager.isRunFinished(runNumber);
+    }
+
+    /**
+     * Finds the first run that can be read, starting from a given run and moving in one
+     * direction, wrapping around at either end.
+     *
+     * @param runChosen The run to start from, counted from 1.
+     * @param step {@code 1} to search forwards or {@code -1} to search backwards.
+     * @return The run found, counted from 1, or 0 if no run can be read.
+     */
+    public int findReadableRun(int runChosen, int step) {
+        assert step == 1 || step == -1 : "Step must be 1 or -1.";
+        int numberOfRuns = getNumberOfRuns();
+        for (int i = 0; i < numberOfRuns; i++) {
+            int runIndex = Math.floorMod(runChosen - 1 + i * step, numberOfRuns);
+            if (!isRunCorrupted(runIndex)) {
+                return runIndex + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves a specific value from a run. Summary fields, such as the deck or round, are read
+     * without loading the rest of the run.
      *
      * @param runNumber The run number.
      * @param idx The index of the value to retrieve.
      * @return The value as a {@code String}.
      */
     public String getValue(int runNumber, int idx) {
-        ArrayList<String> runData = storageManager.getRunData(runNumber);
-        assert runData != null : "Run data should not be null.";
-        assert idx >= 0 && idx < runData.size() : "Index must be within valid range.";
+        if (RunSummary.hasField(idx)) {
+            return storageManager.getRunSummary(runNumber).getField(idx);
+        }
+        RunRecord run = storageManager.getRun(runNumber);
+        assert run != null : "Run data should not be null.";
+        assert idx >= 0 && idx < RunRecord.FIELD_COUNT : "Index must be within valid range.";
 
-        return runData.get(idx);
+        return run.getField(idx);
     }
 
     /**
@@ -170,15 +226,13 @@ public class Storage {
      * @param runNumber The run number.
      * @param idx The index of the value to set.
      * @param value The value to be set.
+     * @throws IllegalArgumentException If the value is not valid for the field.
      */
     public void setValue(int runNumber, int idx, String value) {
-        ArrayList<String> runData = storageManager.getRunData(runNumber);
-        assert runData != null : "Run data should not be null.";
-        assert idx >= 0 && idx < runData.size() : "Index must be within valid range.";
+        assert idx >= 0 && idx < RunRecord.FIELD_COUNT : "Index must be within valid range.";
         assert value != null : "Value to set should not be null.";
 
-        runData.set(idx, value);
-        storageManager.saveRunData(runNumber, runData);
+        storageManager.updateRun(runNumber, run -> run.setField(idx, value));
     }
 
     /**
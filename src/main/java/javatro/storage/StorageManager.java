@@ -1,41 +1,164 @@
 package javatro.storage;
 
 import javatro.core.JavatroException;
-import javatro.storage.utils.HashUtil;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The {@code StorageManager} class is responsible for managing the storage of game data, including
  * reading from and writing to a save file. This class handles the serialization and deserialization
  * of game data.
  *
+ * <p>Runs are kept in a {@link MappedRunStore}. Only the runs that are used are read into memory.
+ * Changes are appended to a {@link RunJournal} as the fields that changed, and are compacted into
+ * the run store by the background writer once the journal grows past {@link
+ * #COMPACTION_THRESHOLD}. Finished runs are moved
+ * to a compressed {@link RunArchive} when they are compacted, and are read back only when used.
+ *
+ * <p>New save files are checked with the {@link IntegrityMode} named by the {@code
+ * javatro.integrity} system property, or {@link IntegrityMode#DEFAULT} if it is not set. The key
+ * for {@link IntegrityMode#HMAC_SHA256} is kept in a key file next to the save file. A key is only
+ * created for save files without runs; if the key of saved runs is missing, the save files are
+ * left untouched and not opened.
+ *
+ * <p>The manager may be used from several threads. Operations on one run lock only that run's
+ * stripe, so runs on different stripes are read and changed in parallel, while operations on
+ * every run, such as saving, wait for them and run alone. Changes made with {@link #updateRun}
+ * are applied atomically.
+ *
  * <p>This class follows the Singleton pattern to ensure only one instance of the manager exists
  * throughout the application.
  */
 public class StorageManager {
 
-    private static final String SAVEFILE_LOCATION = "./savefile.csv";
-    private static final Path saveFilePath = Paths.get(SAVEFILE_LOCATION);
+    /** Size in bytes past which the journal is compacted into the run store. */
+    static final long COMPACTION_THRESHOLD = 64 * 1024;
+
+    /** Legacy CSV save file, read once to migrate its runs to the run store. */
+    private static final String SAVEFILE_LOCATION = "savefile.csv";
+    /** Legacy binary save file, read once to migrate its runs to the run store. */
+    private static final String BINARY_SAVEFILE_LOCATION = "savefile.bin";
+    private static final String RUN_STORE_LOCATION = "savefile.runs";
+    private static final String JOURNAL_LOCATION = "savefile.journal";
+    private static final String ARCHIVE_LOCATION = "savefile.archive";
+    private static final String KEY_LOCATION = "savefile.key";
+    /** Added to the name of a save file that cannot be read, which is kept for recovery. */
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    /** Added to the name of a legacy save file once its runs are in the run store. */
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    /** Added to the name of the run store while legacy runs are written to it. */
+    private static final String MIGRATING_SUFFIX = ".tmp";
+    private static final int KEY_BYTES = 32;
+    /** System property naming the integrity mode of new save files. */
+    private static final String INTEGRITY_PROPERTY = "javatro.integrity";
+    /** Number of locks the runs are spread over. Must be a power of two. */
+    private static final int LOCK_STRIPES = 16;
     private static StorageManager instance;
-    private TreeMap<Integer, ArrayList<String>> serializedRunData = new TreeMap<>();
+
+    /** Directory holding the save files. */
+    private Path saveDirectory = Paths.get(".");
+
+    /** Runs read into memory so far, by run number. */
+    private final NavigableMap<Integer, RunRecord> runs = new ConcurrentSkipListMap<>();
+
+    /** Store holding the compacted runs, or null until the save file is initialised. */
+    private MappedRunStore runStore;
+
+    /** Log of changes not yet compacted into the run store, or null until initialised. */
+    private RunJournal journal;
+
+    /** Number of runs, including runs not read into memory yet. */
+    private final AtomicInteger runCount = new AtomicInteger();
+
+    /** Number of runs as of the last save. */
+    private int savedRunCount;
+
+    /** Runs below this number that are not in memory can be read from the run store. */
+    private int storedRunLimit;
+
+    /** Runs changed since they were last saved. */
+    private final Set<Integer> dirtyRuns = new ConcurrentSkipListSet<>();
+
+    /** Copy of every run in memory as of its last save, used to journal only what changed. */
+    private final Map<Integer, RunRecord> savedRuns = new ConcurrentHashMap<>();
+
+    /** Runs whose slot could not be read and that have been reported, by run number. */
+    private final Set<Integer> corruptedRuns = new ConcurrentSkipListSet<>();
+
+    /** Summaries read from the run store for runs not held in memory, by run number. */
+    private final Map<Integer, RunSummary> summaries = new ConcurrentHashMap<>();
+
+    /** The runs of the run store as of the last compaction, shared by the latest snapshots. */
+    private RunSnapshot.StoredRuns storedRuns = new RunSnapshot.StoredRuns(null, 0);
+
+    /**
+     * Views of the run store as of earlier compactions, kept only while an older snapshot still
+     * reads from them.
+     */
+    private final List<WeakReference<RunSnapshot.StoredRuns>> olderStoredRuns =
+            new ArrayList<>();
+
+    /** Snapshot of every run as of the last save. */
+    private volatile RunSnapshot snapshot = RunSnapshot.EMPTY;
+
+    /** Record of every run whose latest save is in the journal but not yet in its slot. */
+    private final Map<Integer, byte[]> uncompactedRecords = new TreeMap<>();
+
+    /** Background writer that commits and compacts the journal without blocking the game. */
+    private final SaveWriter saveWriter = new SaveWriter();
+
+    /** Held while the journal is compacted, so compactions happen one at a time. */
+    private final Object compactionLock = new Object();
+
+    /** Run after a compaction has queued its entries and before it commits them, for tests. */
+    Runnable beforeCompactionCommit = () -> {};
+
+    /**
+     * Shared by operations on a single run, which also lock the run's stripe, and held
+     * exclusively by operations on every run.
+     */
+    private final ReentrantReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    /** Locks of the run stripes. Run {@code n} uses {@code runLocks[n % LOCK_STRIPES]}. */
+    private final Object[] runLocks = new Object[LOCK_STRIPES];
 
     /** Private constructor to prevent instantiation. */
-    private StorageManager() {}
+    private StorageManager() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            runLocks[i] = new Object();
+        }
+        // Write any pending save if the program exits without flushing
+        Runtime.getRuntime()
+                .addShutdownHook(new Thread(this::flushQuietly, "javatro-save-flush"));
+    }
 
     /**
      * Returns the single instance of {@code StorageManager}.
      *
      * @return The singleton instance of {@code StorageManager}.
      */
-    public static StorageManager getInstance() {
+    public static synchronized StorageManager getInstance() {
         if (instance == null) {
             instance = new StorageManager();
         }
@@ -43,214 +166,889 @@ public class StorageManager {
     }
 
     /**
-     * Saves a run's data in the storage map.
+     * Runs an operation on a single run while holding that run's lock.
+     *
+     * @param runNumber The run the operation uses.
+     * @param operation The operation.
+     * @return The result of the operation.
+     */
+    private <T> T withRunLock(int runNumber, Supplier<T> operation) {
+        storeLock.readLock().lock();
+        try {
+            synchronized (runLocks[runNumber & (LOCK_STRIPES - 1)]) {
+                return operation.get();
+            }
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves a copy of a run in the storage map, to be written on the next save. Later changes to
+     * the given run are not saved unless it is saved again.
      *
      * @param runNumber The run number serving as the key.
-     * @param runData The run data to be saved.
+     * @param run The run to be saved.
      */
-    public void saveRunData(int runNumber, ArrayList<String> runData) {
-        assert runData != null : "Run data should not be null.";
+    public void saveRun(int runNumber, RunRecord run) {
+        assert run != null : "Run should not be null.";
         assert runNumber >= 0 : "Run number should be non-negative.";
-        serializedRunData.put(runNumber, runData);
+        RunRecord copy = run.copy();
+        withRunLock(
+                runNumber,
+                () -> {
+                    runs.put(runNumber, copy);
+                    dirtyRuns.add(runNumber);
+                    runCount.accumulateAndGet(runNumber + 1, Math::max);
+                    return null;
+                });
+    }
+
+    /**
+     * Changes several fields of a run atomically: no other thread sees the run part way through
+     * the update, and updates of the same run are applied one after another.
+     *
+     * @param runNumber The run number to update.
+     * @param update Changes the run. It must not keep the run after returning.
+     * @throws IllegalStateException if the run's slot in the save file is corrupted.
+     */
+    public void updateRun(int runNumber, Consumer<RunRecord> update) {
+        assert update != null : "Update should not be null.";
+        withRunLock(
+                runNumber,
+                () -> {
+                    update.accept(liveRun(runNumber));
+                    dirtyRuns.add(runNumber);
+                    return null;
+                });
+    }
+
+    /**
+     * Stores a run read from a save file as already saved, so it is only written again once it
+     * changes.
+     *
+     * @param runNumber The run number serving as the key.
+     * @param run The run that was read.
+     */
+    private void loadRun(int runNumber, RunRecord run) {
+        runs.put(runNumber, run);
+        summaries.remove(runNumber);
+        savedRuns.put(runNumber, run.copy());
+        runCount.accumulateAndGet(runNumber + 1, Math::max);
     }
 
     /**
-     * Retrieves the run data for a given run number.
+     * Retrieves a copy of the run with a given run number, reading only that run from the save
+     * file if it is not in memory yet. Changes made to the returned run must be committed with
+     * {@link #saveRun} so the run is written on the next save.
      *
      * @param runNumber The run number for which data is requested.
-     * @return The list of strings representing the run data.
+     * @return A copy of the run.
+     * @throws IllegalStateException if the run's slot in the save file is corrupted.
      */
-    public ArrayList<String> getRunData(int runNumber) {
+    public RunRecord getRun(int runNumber) {
         assert runNumber >= 0 : "Run number should be non-negative.";
-        ArrayList<String> runData = serializedRunData.get(runNumber);
-        assert runData != null : "Retrieved run data should not be null.";
-        return runData;
+        return withRunLock(runNumber, () -> liveRun(runNumber).copy());
+    }
+
+    /**
+     * Returns the run held in memory, reading it from the save file if needed. The caller must
+     * hold the run's lock or the store lock.
+     *
+     * @param runNumber The run number.
+     * @return The run in memory.
+     */
+    private RunRecord liveRun(int runNumber) {
+        RunRecord run = runs.get(runNumber);
+        if (run == null && runNumber < storedRunLimit) {
+            run = readStoredRun(runNumber);
+        }
+        assert run != null : "Retrieved run should not be null.";
+        return run;
+    }
+
+    /**
+     * Reads a single run from the run store into memory.
+     *
+     * @param runNumber The run number to read.
+     * @return The run that was read.
+     */
+    private RunRecord readStoredRun(int runNumber) {
+        try {
+            RunRecord run = runStore.readRun(runNumber);
+            loadRun(runNumber, run);
+            return run;
+        } catch (IOException e) {
+            throw corruptedRun(runNumber, e);
+        }
     }
 
     /**
-     * Retrieves all run data stored in memory.
+     * Reports a run whose slot cannot be read, the first time it is found.
      *
-     * @return A {@code TreeMap} containing all serialized run data.
+     * @param runNumber The run number.
+     * @param cause Why the slot cannot be read.
+     * @return The exception to throw.
      */
-    public TreeMap<Integer, ArrayList<String>> getAllRunData() {
-        assert serializedRunData != null : "Serialized run data map should not be null.";
-        return serializedRunData;
+    private IllegalStateException corruptedRun(int runNumber, IOException cause) {
+        if (corruptedRuns.add(runNumber)) {
+            System.out.println(
+                    "Run #" + (runNumber + 1) + " is corrupted and was skipped: "
+                            + cause.getMessage());
+        }
+        return new IllegalStateException(
+                "Run " + runNumber + " could not be read: " + cause.getMessage(), cause);
     }
 
     /**
-     * Deletes the data associated with a specific run number.
+     * Returns whether a run cannot be read because its slot in the save file is corrupted. The run
+     * is reported the first time it is found, and is left in place so later runs keep their
+     * numbers. Run lists skip such runs instead of reading them.
+     *
+     * @param runNumber The run number to check.
+     * @return {@code true} if the run cannot be read.
+     */
+    public boolean isRunCorrupted(int runNumber) {
+        assert runNumber >= 0 && runNumber < runCount.get() : "Run number must exist.";
+        return withRunLock(
+                runNumber,
+                () -> {
+                    try {
+                        readSummary(runNumber);
+                        return false;
+                    } catch (IllegalStateException e) {
+                        return true;
+                    }
+                });
+    }
+
+    /**
+     * Returns whether a run is finished, so it can no longer be continued.
+     *
+     * @param runNumber The run number to check.
+     * @return {@code true} if the run is lost or won.
+     * @throws IllegalStateException if the run's slot in the save file is corrupted.
+     */
+    public boolean isRunFinished(int runNumber) {
+        return getRunSummary(runNumber).isFinished();
+    }
+
+    /**
+     * Retrieves the summary of a run, as shown by the run selection screens. A run not in memory
+     * is not loaded: only its summary fields are read from its slot, and kept for later calls.
+     *
+     * @param runNumber The run number for which the summary is requested.
+     * @return The run's summary.
+     * @throws IllegalStateException if the run's slot in the save file is corrupted.
+     */
+    public RunSummary getRunSummary(int runNumber) {
+        assert runNumber >= 0 && runNumber < runCount.get() : "Run number must exist.";
+        return withRunLock(runNumber, () -> readSummary(runNumber));
+    }
+
+    private RunSummary readSummary(int runNumber) {
+        RunRecord run = runs.get(runNumber);
+        if (run != null) {
+            return RunSummary.of(run);
+        }
+        RunSummary summary = summaries.get(runNumber);
+        if (summary == null) {
+            try {
+                summary = runStore.readSummary(runNumber);
+            } catch (IOException e) {
+                throw corruptedRun(runNumber, e);
+            }
+            summaries.put(runNumber, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Retrieves a copy of every run, reading every run not yet in memory from the save file.
+     *
+     * @return A {@code TreeMap} containing a copy of every run by run number.
+     */
+    public TreeMap<Integer, RunRecord> getAllRuns() {
+        storeLock.writeLock().lock();
+        try {
+            for (int i = 0; i < storedRunLimit; i++) {
+                if (!runs.containsKey(i)) {
+                    readStoredRun(i);
+                }
+            }
+            TreeMap<Integer, RunRecord> copy = new TreeMap<>();
+            runs.forEach((runNumber, run) -> copy.put(runNumber, run.copy()));
+            return copy;
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the data associated with a specific run number. Later runs move down by one so run
+     * numbers stay contiguous.
      *
      * @param runNumber The run number whose data is to be deleted.
      */
-    public void deleteRunData(int runNumber) {
+    public void deleteRun(int runNumber) {
         assert runNumber >= 0 : "Run number should be non-negative.";
-        assert serializedRunData.containsKey(runNumber) : "Run number must exist in the data.";
-        serializedRunData.remove(runNumber);
+        storeLock.writeLock().lock();
+        try {
+            assert runNumber < runCount.get() : "Run number must exist in the data.";
+            TreeMap<Integer, RunRecord> remaining = new TreeMap<>();
+            for (Map.Entry<Integer, RunRecord> entry : getAllRuns().entrySet()) {
+                int key = entry.getKey();
+                if (key != runNumber) {
+                    remaining.put(key < runNumber ? key : key - 1, entry.getValue());
+                }
+            }
+            setRuns(remaining);
+        } finally {
+            storeLock.writeLock().unlock();
+        }
     }
 
     /**
-     * Returns the number of runs stored in memory.
+     * Returns the number of runs, including runs not read into memory yet.
      *
      * @return The total number of runs.
      */
     public int getNumberOfRuns() {
-        return serializedRunData.size();
+        return runCount.get();
     }
 
     /**
-     * Sets the entire serialized run data map.
+     * Sets the entire run map, replacing every saved run on the next save.
      *
-     * @param serializedRunData The {@code TreeMap} containing serialized run data.
+     * @param runs The {@code TreeMap} containing every run by run number.
      */
-    public void setSerializedRunData(TreeMap<Integer, ArrayList<String>> serializedRunData) {
-        assert serializedRunData != null : "Serialized run data map should not be null.";
-        this.serializedRunData = serializedRunData;
+    public void setRuns(TreeMap<Integer, RunRecord> runs) {
+        assert runs != null : "Run map should not be null.";
+        storeLock.writeLock().lock();
+        try {
+            this.runs.clear();
+            this.runs.putAll(runs);
+            savedRuns.clear();
+            summaries.clear();
+            corruptedRuns.clear();
+            dirtyRuns.clear();
+            dirtyRuns.addAll(runs.keySet());
+            runCount.set(runs.isEmpty() ? 0 : runs.lastKey() + 1);
+            storedRunLimit = 0;
+        } finally {
+            storeLock.writeLock().unlock();
+        }
     }
 
     /**
-     * Creates a new save file if it does not exist.
+     * Opens the run store and journal, creating new, empty save files if they do not exist.
      *
-     * @throws JavatroException if the file cannot be created.
+     * @throws JavatroException if the files cannot be created.
      */
     public void createSaveFile() throws JavatroException {
+        if (runStore != null) {
+            return;
+        }
         try {
-            Files.createFile(saveFilePath);
-            assert Files.exists(saveFilePath) : "Save file should be created successfully.";
+            openSaveFiles();
+            assert Files.exists(savePath(RUN_STORE_LOCATION))
+                    : "Save file should be created successfully.";
         } catch (IOException e) {
             throw new JavatroException("Save File could not be created.");
         }
     }
 
     /**
-     * Converts all serialized run data into a byte array formatted for saving.
+     * Opens the run store with its archive and journal, loading the key if the store is checked
+     * with {@link IntegrityMode#HMAC_SHA256}. A file that cannot be opened is renamed with {@link
+     * #CORRUPT_SUFFIX} and replaced by an empty one, so only the runs it held are lost: the
+     * journal's changes since the last compaction, the archive's finished runs, or, for the run
+     * store, every run along with its journal and archive. If the key of saved runs is missing,
+     * no file is set aside or changed.
      *
-     * @return A byte array representing the serialized run data.
+     * @throws IOException if the files cannot be opened or set aside.
      */
-    private byte[] convertSerializedDataIntoString() {
-        assert serializedRunData != null : "Serialized run data should not be null.";
+    private void openSaveFiles() throws IOException {
+        MappedRunStore store = openRunStore();
+        RunArchive archive = null;
+        RunJournal runJournal = null;
+        try {
+            Path archivePath = savePath(ARCHIVE_LOCATION);
+            try {
+                archive = RunArchive.open(archivePath);
+            } catch (IOException e) {
+                setAside(archivePath);
+                archive = RunArchive.open(archivePath);
+            }
+            store.setArchive(archive);
+            IntegrityMode mode = store.getIntegrityMode();
+            Path journalPath = savePath(JOURNAL_LOCATION);
+            if (mode == IntegrityMode.HMAC_SHA256) {
+                boolean holdsRuns =
+                        store.getRunCount() > 0
+                                || Files.exists(journalPath) && Files.size(journalPath) > 0;
+                IntegrityMode.setHmacKey(readOrCreateKey(holdsRuns));
+            }
 
-        StringBuilder saveData = new StringBuilder();
-        for (Integer key : serializedRunData.keySet()) {
-            List<String> runInfo = serializedRunData.get(key);
-            assert runInfo != null : "Run data list should not be null.";
+            runJournal = RunJournal.open(journalPath, mode);
+            try {
+                useSaveFiles(store, runJournal);
+            } catch (IOException e) {
+                runJournal.close();
+                setAside(journalPath);
+                runJournal = RunJournal.open(journalPath, mode);
+                useSaveFiles(store, runJournal);
+            }
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            if (archive != null) {
+                archive.close();
+            }
+            if (runJournal != null) {
+                runJournal.close();
+            }
+            throw e;
+        }
+    }
 
-            List<String> sanitizedRunInfo = new ArrayList<>();
+    /**
+     * Opens the run store, setting it aside with its journal and archive if it cannot be opened,
+     * since their entries refer to its slots.
+     *
+     * @return The opened store.
+     * @throws IOException if no store can be opened.
+     */
+    private MappedRunStore openRunStore() throws IOException {
+        Path runStorePath = savePath(RUN_STORE_LOCATION);
+        try {
+            return MappedRunStore.open(runStorePath, configuredIntegrityMode());
+        } catch (IOException e) {
+            setAside(runStorePath);
+            setAside(savePath(JOURNAL_LOCATION));
+            setAside(savePath(ARCHIVE_LOCATION));
+            return MappedRunStore.open(runStorePath, configuredIntegrityMode());
+        }
+    }
 
-            for (int i = 0; i < DataParser.START_OF_REST_OF_DECK + 44; i++) {
-                String runAttribute = runInfo.get(i).trim();
+    /**
+     * Returns the path of a save file in the save directory.
+     *
+     * @param location The name of the save file.
+     * @return The path of the file.
+     */
+    private Path savePath(String location) {
+        return saveDirectory.resolve(location);
+    }
 
-                if (runAttribute.equals("-") || runAttribute.isEmpty()) {
-                    runAttribute = "NA";
-                }
+    /**
+     * Returns the integrity mode for new save files, falling back to the default if the
+     * configured mode is unknown.
+     *
+     * @return The integrity mode.
+     */
+    private static IntegrityMode configuredIntegrityMode() {
+        String name = System.getProperty(INTEGRITY_PROPERTY);
+        if (name == null) {
+            return IntegrityMode.DEFAULT;
+        }
+        try {
+            return IntegrityMode.fromName(name);
+        } catch (IllegalArgumentException e) {
+            System.out.println(
+                    "Unknown integrity mode " + name + ", using " + IntegrityMode.DEFAULT);
+            return IntegrityMode.DEFAULT;
+        }
+    }
 
-                sanitizedRunInfo.add(runAttribute);
-                saveData.append(runAttribute);
+    /**
+     * Reads the key of the save file, creating a random one if none exists and no runs were saved
+     * yet. Runs saved with a key that is lost cannot be checked any more, so they are never
+     * checked against a new key, which would make every run fail and be dropped.
+     *
+     * @param holdsRuns Whether the save files hold runs checked with the key.
+     * @return The key.
+     * @throws IOException if the key file cannot be read or created, or is missing while the
+     *     save files hold runs.
+     */
+    private byte[] readOrCreateKey(boolean holdsRuns) throws IOException {
+        Path keyPath = savePath(KEY_LOCATION);
+        if (Files.exists(keyPath)) {
+            byte[] key = Files.readAllBytes(keyPath);
+            if (key.length == 0) {
+                throw new IOException("Save file key is empty");
+            }
+            return key;
+        }
+        if (holdsRuns) {
+            throw new IOException(
+                    "Save file key "
+                            + KEY_LOCATION
+                            + " is missing, restore it to load the saved runs");
+        }
+        byte[] key = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(key);
+        Files.write(keyPath, key);
+        return key;
+    }
 
-                if (i < DataParser.START_OF_REST_OF_DECK + 44 - 1) {
-                    saveData.append(",");
-                }
+    /**
+     * Makes the manager use the given save files, forgetting runs read from the previous ones.
+     * The journal is replayed over the run store, so only runs it changed are read into memory.
+     *
+     * @param store The run store to use, or null to detach from any save files.
+     * @param runJournal The journal of changes to the run store.
+     * @throws IOException if the journal cannot be read or holds an invalid run.
+     */
+    void useSaveFiles(MappedRunStore store, RunJournal runJournal) throws IOException {
+        storeLock.writeLock().lock();
+        try {
+            runStore = store;
+            journal = runJournal;
+            runs.clear();
+            savedRuns.clear();
+            summaries.clear();
+            corruptedRuns.clear();
+            dirtyRuns.clear();
+            uncompactedRecords.clear();
+            runCount.set(store == null ? 0 : store.getRunCount());
+            storedRunLimit = runCount.get();
+            storedRuns = new RunSnapshot.StoredRuns(store, storedRunLimit);
+            olderStoredRuns.clear();
+            if (store == null) {
+                savedRunCount = 0;
+                snapshot = RunSnapshot.EMPTY;
+                return;
             }
 
-            String hash = HashUtil.generateHash(sanitizedRunInfo);
-            saveData.append(",").append(hash).append("\n");
+            Set<Integer> replayedRuns = new TreeSet<>();
+            // Runs whose slot was torn by a crash during compaction, until a whole-run entry
+            // written before the slots restores them
+            Set<Integer> tornRuns = new TreeSet<>();
+            journal.replay(
+                    new RunJournal.Replayer() {
+                        @Override
+                        public void setField(int runNumber, int fieldIndex, String value) {
+                            RunRecord run = runs.get(runNumber);
+                            if (run == null && !tornRuns.contains(runNumber)) {
+                                try {
+                                    run = store.readRun(runNumber);
+                                    loadRun(runNumber, run);
+                                } catch (IOException e) {
+                                    tornRuns.add(runNumber);
+                                }
+                            }
+                            if (run == null) {
+                                return;
+                            }
+                            run.setField(fieldIndex, value);
+                            savedRuns.put(runNumber, run.copy());
+                            replayedRuns.add(runNumber);
+                        }
+
+                        @Override
+                        public void setRun(int runNumber, byte[] record) throws IOException {
+                            tornRuns.remove(runNumber);
+                            loadRun(
+                                    runNumber,
+                                    BinarySaveFormat.decodeRun(record, store.getIntegrityMode()));
+                            replayedRuns.add(runNumber);
+                        }
+
+                        @Override
+                        public void setRunCount(int count) {
+                            runCount.set(count);
+                            storedRunLimit = Math.min(storedRunLimit, count);
+                            runs.tailMap(count).clear();
+                            savedRuns.keySet().removeIf(runNumber -> runNumber >= count);
+                            replayedRuns.removeIf(runNumber -> runNumber >= count);
+                            tornRuns.removeIf(runNumber -> runNumber >= count);
+                        }
+                    });
+            for (int runNumber : replayedRuns) {
+                uncompactedRecords.put(
+                        runNumber,
+                        BinarySaveFormat.encodeRun(runs.get(runNumber), store.getIntegrityMode()));
+            }
+            savedRunCount = runCount.get();
+            snapshot = RunSnapshot.of(savedRunCount, savedRuns, storedRuns);
+        } finally {
+            storeLock.writeLock().unlock();
         }
+    }
 
-        assert !saveData.isEmpty() : "Serialized data should not be empty.";
+    /**
+     * Returns a snapshot of every run as of the last save. Taking or reading a snapshot never
+     * blocks, so it may be done from any thread.
+     *
+     * @return The snapshot.
+     */
+    public RunSnapshot getSnapshot() {
+        return snapshot;
+    }
 
-        saveData.deleteCharAt(saveData.length() - 1);
-        return saveData.toString().getBytes();
+    /**
+     * Returns the run store in use.
+     *
+     * @return The run store, or null if the save file is not initialised.
+     */
+    MappedRunStore getRunStore() {
+        return runStore;
     }
 
     /**
-     * Updates the save file by writing the serialized run data to disk.
+     * Returns the journal in use.
      *
-     * @throws JavatroException if the file cannot be written.
+     * @return The journal, or null if the save file is not initialised.
      */
-    public void updateSaveFile() throws JavatroException {
+    RunJournal getRunJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns whether a run has been read into memory.
+     *
+     * @param runNumber The run number to check.
+     * @return {@code true} if the run is held in memory.
+     */
+    boolean isRunLoaded(int runNumber) {
+        return runs.containsKey(runNumber);
+    }
+
+    /**
+     * Returns whether a run has changed since it was last saved.
+     *
+     * @param runNumber The run number to check.
+     * @return {@code true} if the run will be written on the next save.
+     */
+    boolean isRunDirty(int runNumber) {
+        return dirtyRuns.contains(runNumber);
+    }
+
+    /**
+     * Queues a journal entry for every field that changed in a dirty run, and marks those runs
+     * clean. Runs with nothing saved to compare against are journaled whole.
+     *
+     * @throws IllegalArgumentException if a dirty run holds a value the save format cannot store.
+     */
+    void journalDirtyRuns() {
+        storeLock.writeLock().lock();
         try {
-            Files.write(
-                    saveFilePath,
-                    convertSerializedDataIntoString(),
-                    StandardOpenOption.WRITE,
-                    StandardOpenOption.TRUNCATE_EXISTING);
-            assert Files.exists(saveFilePath) : "Save file should exist after updating.";
-        } catch (IOException e) {
-            throw new JavatroException("Saving issue: " + e.getMessage());
+            int count = runCount.get();
+            if (dirtyRuns.isEmpty() && count == savedRunCount) {
+                return;
+            }
+            Map<Integer, RunRecord> changedRuns = new HashMap<>();
+            for (int runNumber : new ArrayList<>(dirtyRuns)) {
+                RunRecord run = runs.get(runNumber);
+                // Encoding checks every field can be stored before anything is journaled
+                byte[] record = BinarySaveFormat.encodeRun(run, runStore.getIntegrityMode());
+                RunRecord saved = savedRuns.get(runNumber);
+                if (saved == null) {
+                    journal.appendRun(runNumber, record);
+                } else {
+                    for (int fieldIndex : run.changedFields(saved)) {
+                        journal.appendField(runNumber, fieldIndex, run.getField(fieldIndex));
+                    }
+                }
+                RunRecord savedCopy = run.copy();
+                savedRuns.put(runNumber, savedCopy);
+                changedRuns.put(runNumber, savedCopy);
+                uncompactedRecords.put(runNumber, record);
+                dirtyRuns.remove(runNumber);
+            }
+
+            if (count != savedRunCount) {
+                journal.appendRunCount(count);
+                uncompactedRecords.keySet().removeIf(runNumber -> runNumber >= count);
+                savedRunCount = count;
+            }
+            snapshot = snapshot.withRuns(changedRuns, savedRunCount);
+        } finally {
+            storeLock.writeLock().unlock();
         }
     }
 
     /**
-     * Initializes the save file by loading existing data or creating a new file if none exists.
+     * Writes the latest record of every journaled run into its slot and empties the journal.
+     * Finished runs are moved to the archive instead and dropped from memory unless they changed
+     * again. Runs may be changed and journaled meanwhile, and only the waits for the disk happen
+     * outside the store lock, so compaction can run on the background writer.
      *
-     * @throws JavatroException if the file cannot be read or created.
+     * <p>Every run is first journaled whole and committed, so a slot torn by a crash part way is
+     * restored from the journal when it is replayed. Changes journaled meanwhile apply on top of
+     * the compacted records, so they are not committed with them but stay queued until the
+     * journal is emptied, which happens once the slots and archive are on the disk.
+     *
+     * @throws IOException if the save files cannot be written.
      */
-    public void initaliseSaveFile() throws JavatroException {
-        if (Files.exists(saveFilePath)) {
+    void compactJournal() throws IOException {
+        synchronized (compactionLock) {
+            Map<Integer, byte[]> records;
+            int count;
+            RunJournal runJournal;
+            MappedRunStore store;
+            long mark;
+            storeLock.writeLock().lock();
             try {
-                String csvRawData = String.join("\n", Files.readAllLines(saveFilePath));
+                if (runStore == null) {
+                    return;
+                }
+                records = new TreeMap<>(uncompactedRecords);
+                count = savedRunCount;
+                runJournal = journal;
+                store = runStore;
+                for (Map.Entry<Integer, byte[]> entry : records.entrySet()) {
+                    runJournal.appendRun(entry.getKey(), entry.getValue());
+                }
+                runJournal.appendRunCount(count);
+                mark = runJournal.mark();
+            } finally {
+                storeLock.writeLock().unlock();
+            }
+            beforeCompactionCommit.run();
+            runJournal.commit(mark);
 
-                if (!csvRawData.trim().isEmpty()) {
-                    assert DataParser.isCSVDataValid(csvRawData) : "CSV data should be valid.";
-                    DataParser.loadCSVData(csvRawData);
+            storeLock.writeLock().lock();
+            try {
+                Set<Integer> compactedRuns = new TreeSet<>();
+                for (Map.Entry<Integer, byte[]> entry : records.entrySet()) {
+                    if (writeSlot(store, entry.getKey(), entry.getValue())) {
+                        compactedRuns.add(entry.getKey());
+                    }
                 }
-            } catch (Exception e) {
-                createSaveFile();
-                System.out.println("Creating new save file..");
+                store.setRunCount(count);
+                // Every saved run is now in its slot or held in memory
+                storedRunLimit = count;
+
+                // Later snapshots read the compacted runs from their slots instead of memory, and
+                // the originals kept for earlier snapshots go once those snapshots do
+                olderStoredRuns.add(new WeakReference<>(storedRuns));
+                storedRuns = new RunSnapshot.StoredRuns(store, count);
+                snapshot = snapshot.withStoredRuns(storedRuns, compactedRuns);
+            } finally {
+                storeLock.writeLock().unlock();
+            }
+            store.force();
+            runJournal.truncate();
+        }
+    }
+
+    /**
+     * Writes a compacted run into its slot, or moves it to the archive if it is finished. The
+     * caller must hold the store lock.
+     *
+     * @param store The run store.
+     * @param runNumber The run number.
+     * @param record The run's record as of the compaction.
+     * @return {@code true} if the record is the run's latest save.
+     * @throws IOException if the run store cannot grow or the archive cannot be written.
+     */
+    private boolean writeSlot(MappedRunStore store, int runNumber, byte[] record)
+            throws IOException {
+        preserveStoredRun(runNumber);
+        // The run may have been saved again since the compaction started
+        boolean isLatest = uncompactedRecords.get(runNumber) == record;
+        RunRecord saved = savedRuns.get(runNumber);
+        if (saved != null && saved.isFinished() && store.hasArchive()) {
+            store.archiveRecord(runNumber, record);
+            if (isLatest && !dirtyRuns.contains(runNumber)) {
+                runs.remove(runNumber);
+                savedRuns.remove(runNumber);
             }
         } else {
-            createSaveFile();
+            store.writeRecord(runNumber, record);
         }
+        if (isLatest) {
+            uncompactedRecords.remove(runNumber);
+        }
+        return isLatest;
     }
 
-    public void updateRoundData(int runIndex, List<String> roundData) {
-        assert roundData != null : "Round data cannot be null";
-        assert runIndex >= 0 : "Run index cannot be negative";
+    /**
+     * Keeps a run as it is in its slot for every snapshot that may still read it, before the slot
+     * is overwritten. The caller must hold the store lock.
+     *
+     * @param runNumber The run whose slot is about to change.
+     */
+    private void preserveStoredRun(int runNumber) {
+        storedRuns.preserve(runNumber);
+        olderStoredRuns.removeIf(reference -> reference.get() == null);
+        for (WeakReference<RunSnapshot.StoredRuns> reference : olderStoredRuns) {
+            RunSnapshot.StoredRuns older = reference.get();
+            if (older != null) {
+                older.preserve(runNumber);
+            }
+        }
+    }
 
-        ArrayList<String> existingData = getRunData(runIndex);
+    /**
+     * Journals the fields that changed since the last save and returns without waiting for the
+     * disk. The background writer commits all entries queued so far with a single write, and
+     * compacts the journal into the run store once it passes {@link #COMPACTION_THRESHOLD}.
+     *
+     * @throws JavatroException if the save file is not open, a run cannot be stored or an
+     *     earlier background write failed.
+     */
+    public void updateSaveFile() throws JavatroException {
+        RunJournal runJournal;
+        storeLock.writeLock().lock();
+        try {
+            if (runStore == null) {
+                throw new JavatroException("Saving issue: save file is not open.");
+            }
+            journalDirtyRuns();
+            runJournal = journal;
+        } catch (IllegalArgumentException e) {
+            throw new JavatroException("Saving issue: " + e.getMessage());
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+        saveWriter.submit(
+                () -> {
+                    runJournal.commit();
+                    if (runJournal.size() > COMPACTION_THRESHOLD) {
+                        compactJournal();
+                    }
+                });
 
-        if (existingData != null) {
-            // Update relevant indexes based on DataParser constants
-            existingData.set(DataParser.ROUND_NUMBER_INDEX, roundData.get(0));
-            existingData.set(DataParser.ANTE_NUMBER_INDEX, roundData.get(1));
-            existingData.set(DataParser.BLIND_INDEX, roundData.get(2));
+        IOException failure = saveWriter.takeFailure();
+        if (failure != null) {
+            throw new JavatroException("Saving issue: " + failure.getMessage());
+        }
+    }
 
-            // Update holding hands (assuming holding hands come next in the list)
-            for (int i = 0; i < 8; i++) {
-                existingData.set(DataParser.HOLDING_HAND_START_INDEX + i, roundData.get(3 + i));
-            }
+    /**
+     * Waits until every queued save has been written to disk. Used at the end of a round and
+     * before exiting.
+     *
+     * @throws JavatroException if the file cannot be written.
+     */
+    public void flushSaveFile() throws JavatroException {
+        try {
+            saveWriter.flush();
+        } catch (IOException e) {
+            throw new JavatroException("Saving issue: " + e.getMessage());
+        }
+    }
 
-            // Save back to storage
-            saveRunData(runIndex, existingData);
-        } else {
-            throw new IllegalArgumentException(
-                    "Run data for index " + runIndex + " does not exist.");
+    /** Flushes pending saves, ignoring errors since there is nowhere left to report them. */
+    private void flushQuietly() {
+        try {
+            saveWriter.flush();
+        } catch (IOException e) {
+            // The program is exiting
         }
     }
 
     /**
-     * Updates round-specific data for a new round in the storage.
+     * Initializes the save file by opening the run store and replaying its journal, or creating
+     * new save files if none exist. Only the store's header and the journal are read, so startup
+     * does not depend on the number of saved runs. When the store is first created, runs found in
+     * a legacy binary or CSV save file are migrated to it.
      *
-     * @param runIndex The index of the current run being updated.
-     * @param roundData A list containing the updated round data in the following order: - Remaining
-     *     plays (HAND_INDEX) - Remaining discards (DISCARD_INDEX) - Current round score
-     *     (ROUND_SCORE_INDEX)
+     * @throws JavatroException if the file cannot be read or created.
      */
-    public void updateNewRoundData(int runIndex, List<String> roundData) {
-        assert roundData.size() == 3 : "Round data must contain exactly 3 elements";
-        assert runIndex >= 0 : "Run index cannot be negative";
+    public void initaliseSaveFile() throws JavatroException {
+        initaliseSaveFile(Paths.get("."));
+    }
 
-        ArrayList<String> existingData = getRunData(runIndex);
-        if (existingData != null) {
-            // Update relevant indices
-            existingData.set(DataParser.HAND_INDEX, roundData.get(0));
-            existingData.set(DataParser.DISCARD_INDEX, roundData.get(1));
-            existingData.set(DataParser.ROUND_SCORE_INDEX, roundData.get(2));
+    /**
+     * Initializes the save files kept in a directory, as {@link #initaliseSaveFile()} does. Save
+     * files that cannot be read are never deleted: they are renamed with {@link #CORRUPT_SUFFIX}
+     * so their runs can be recovered.
+     *
+     * @param directory The directory holding the save files.
+     * @throws JavatroException if the file cannot be read or created.
+     */
+    void initaliseSaveFile(Path directory) throws JavatroException {
+        saveDirectory = directory;
+        try {
+            // Forget the save files of any earlier directory
+            useSaveFiles(null, null);
+            // Once the run store exists, legacy save files are never read again
+            if (!Files.exists(savePath(RUN_STORE_LOCATION))) {
+                migrateLegacySaveFile();
+            }
+            openSaveFiles();
+        } catch (IOException | RuntimeException e) {
+            throw new JavatroException("Save File could not be opened: " + e.getMessage(), e);
+        }
+    }
 
-            // Save updated data to storage
-            saveRunData(runIndex, existingData);
+    /**
+     * Moves the runs of a legacy binary or CSV save file into a new run store. The store is
+     * written under a temporary name and renamed once complete, so a crash part way leaves no run
+     * store and the migration runs again on the next start. The legacy files are then renamed
+     * with {@link #MIGRATED_SUFFIX}.
+     *
+     * <p>A binary save file that cannot be read is renamed with {@link #CORRUPT_SUFFIX} and no
+     * runs are migrated; the CSV file it replaced is not read in its place, since its runs are
+     * older.
+     *
+     * @throws IOException if the run store cannot be written.
+     * @throws IllegalArgumentException if a legacy run holds a value the save format cannot store.
+     */
+    private void migrateLegacySaveFile() throws IOException {
+        Path binarySaveFilePath = savePath(BINARY_SAVEFILE_LOCATION);
+        Path saveFilePath = savePath(SAVEFILE_LOCATION);
+        TreeMap<Integer, RunRecord> legacyRuns;
+        if (Files.exists(binarySaveFilePath)) {
+            try {
+                legacyRuns = BinarySaveFormat.readFile(Files.readAllBytes(binarySaveFilePath));
+            } catch (IOException | RuntimeException e) {
+                setAside(binarySaveFilePath);
+                return;
+            }
+        } else if (Files.exists(saveFilePath)) {
+            legacyRuns = DataParser.readCSVFile(saveFilePath);
         } else {
-            throw new IllegalArgumentException(
-                    "Run data for index " + runIndex + " does not exist.");
+            return;
+        }
+
+        IntegrityMode mode = configuredIntegrityMode();
+        if (mode == IntegrityMode.HMAC_SHA256) {
+            IntegrityMode.setHmacKey(readOrCreateKey(false));
+        }
+        Path migratingPath = savePath(RUN_STORE_LOCATION + MIGRATING_SUFFIX);
+        Files.deleteIfExists(migratingPath);
+        MappedRunStore store = MappedRunStore.open(migratingPath, mode);
+        try {
+            for (Map.Entry<Integer, RunRecord> entry : legacyRuns.entrySet()) {
+                store.writeRecord(
+                        entry.getKey(), BinarySaveFormat.encodeRun(entry.getValue(), mode));
+            }
+        } finally {
+            store.close();
+        }
+        Files.move(migratingPath, savePath(RUN_STORE_LOCATION), StandardCopyOption.ATOMIC_MOVE);
+
+        for (Path legacyPath : List.of(binarySaveFilePath, saveFilePath)) {
+            if (Files.exists(legacyPath)) {
+                Files.move(
+                        legacyPath,
+                        legacyPath.resolveSibling(legacyPath.getFileName() + MIGRATED_SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Renames a save file that cannot be read, so it is kept for recovery but never read again.
+     *
+     * @param path The save file, which may not exist.
+     * @throws IOException if the file cannot be renamed.
+     */
+    private static void setAside(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
         }
+        Path corrupt = path.resolveSibling(path.getFileName() + CORRUPT_SUFFIX);
+        Files.move(path, corrupt, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println(
+                "Save file "
+                        + path.getFileName()
+                        + " is corrupted, its runs were kept in "
+                        + corrupt.getFileName()
+                        + "..");
     }
 }
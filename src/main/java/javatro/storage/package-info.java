@@ -10,8 +10,26 @@
  *       system, following the Singleton pattern.
  *   <li>{@link javatro.storage.StorageManager} - Handles low-level storage operations, including
  *       saving, loading, and initializing game data.
+ *   <li>{@link javatro.storage.RunRecord} - Holds one saved run as typed fields, with text
+ *       access by {@link javatro.storage.DataParser} index for the legacy formats and screens.
+ *   <li>{@link javatro.storage.RunSummary} - The fields of a run shown by the run selection
+ *       screens, read without loading the whole run.
+ *   <li>{@link javatro.storage.RunSnapshot} - An immutable view of every run as of a save,
+ *       readable from any thread.
+ *   <li>{@link javatro.storage.MappedRunStore} - Keeps each run in a fixed-size slot of a
+ *       memory-mapped file, so single runs are read and written without touching the others.
+ *   <li>{@link javatro.storage.RunArchive} - Keeps finished runs compressed outside the run
+ *       store, read back only when a run is opened from the run list.
+ *   <li>{@link javatro.storage.RunJournal} - Logs changed run fields as small checksummed
+ *       entries, replayed over the run store on startup until they are compacted into it.
+ *   <li>{@link javatro.storage.IntegrityMode} - The checksum or keyed hash protecting saved runs,
+ *       recorded in the run store's header.
+ *   <li>{@link javatro.storage.BinarySaveFormat} - Encodes the compact, checksummed run records
+ *       and reads the legacy binary save file.
+ *   <li>{@link javatro.storage.SaveWriter} - Performs saves on a background thread, merging
+ *       bursts of saves into one write.
  *   <li>{@link javatro.storage.DataParser} - Provides static utility methods for parsing and
- *       validating CSV data, ensuring data integrity before loading.
+ *       validating legacy CSV data, ensuring data integrity before loading.
  *   <li>{@link javatro.storage.utils} - A sub-package containing utility classes such as:
  *       <ul>
  *         <li>{@link javatro.storage.utils.CardUtils} - Utility functions for card and joker
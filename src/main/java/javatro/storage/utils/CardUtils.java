@@ -9,6 +9,7 @@ import static javatro.display.DeckArt.RED_DECK;
 
 import javatro.core.Ante;
 import javatro.core.Card;
+import javatro.core.CardCodec;
 import javatro.core.Deck;
 import javatro.core.jokers.*;
 import javatro.core.jokers.addchip.OddToddJoker;
@@ -78,7 +79,8 @@ public class CardUtils {
     }
 
     /**
-     * Parses a card string into a {@code Card} object.
+     * Parses a card string into a {@code Card} object. The lookup is table driven and returns the
+     * shared {@code Card} instance, so no allocation happens.
      *
      * @param cardString The card string to parse.
      * @return The corresponding {@code Card}.
@@ -86,39 +88,7 @@ public class CardUtils {
      */
     public static Card parseCardString(String cardString) {
         assert cardString != null : "Card string cannot be null";
-        assert cardString.length() >= 2 : "Card string is too short";
-
-        String rankStr = cardString.substring(0, cardString.length() - 1);
-        char suitChar = cardString.charAt(cardString.length() - 1);
-
-        Card.Rank rank =
-                switch (rankStr) {
-                    case "2" -> Card.Rank.TWO;
-                    case "3" -> Card.Rank.THREE;
-                    case "4" -> Card.Rank.FOUR;
-                    case "5" -> Card.Rank.FIVE;
-                    case "6" -> Card.Rank.SIX;
-                    case "7" -> Card.Rank.SEVEN;
-                    case "8" -> Card.Rank.EIGHT;
-                    case "9" -> Card.Rank.NINE;
-                    case "10" -> Card.Rank.TEN;
-                    case "J" -> Card.Rank.JACK;
-                    case "Q" -> Card.Rank.QUEEN;
-                    case "K" -> Card.Rank.KING;
-                    case "A" -> Card.Rank.ACE;
-                    default -> throw new IllegalArgumentException("Invalid rank: " + rankStr);
-                };
-
-        Card.Suit suit =
-                switch (Character.toUpperCase(suitChar)) {
-                    case 'H' -> Card.Suit.HEARTS;
-                    case 'C' -> Card.Suit.CLUBS;
-                    case 'S' -> Card.Suit.SPADES;
-                    case 'D' -> Card.Suit.DIAMONDS;
-                    default -> throw new IllegalArgumentException("Invalid suit: " + suitChar);
-                };
-
-        return new Card(rank, suit);
+        return CardCodec.parse(cardString);
     }
 
     /**
@@ -129,13 +99,7 @@ public class CardUtils {
      */
     public static String cardToString(Card card) {
         assert card != null : "Card cannot be null";
-        return card.rank().getSymbol()
-                + switch (card.suit()) {
-                    case HEARTS -> "H";
-                    case CLUBS -> "C";
-                    case SPADES -> "S";
-                    case DIAMONDS -> "D";
-                };
+        return CardCodec.toCardString(card);
     }
 
     /**
@@ -146,26 +110,7 @@ public class CardUtils {
      */
     public static boolean isValidCardString(String cardString) {
         assert cardString != null : "Card string cannot be null";
-        if (cardString.length() < 2) {
-            return false;
-        }
-
-        String rankStr = cardString.substring(0, cardString.length() - 1);
-        char suitChar = cardString.charAt(cardString.length() - 1);
-
-        boolean isValidRank =
-                switch (rankStr) {
-                    case "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A" -> true;
-                    default -> false;
-                };
-
-        boolean isValidSuit =
-                switch (Character.toUpperCase(suitChar)) {
-                    case 'H', 'C', 'S', 'D' -> true;
-                    default -> false;
-                };
-
-        return isValidRank && isValidSuit;
+        return CardCodec.parseCode(cardString) != CardCodec.INVALID;
     }
 
     /**
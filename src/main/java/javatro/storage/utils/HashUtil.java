@@ -4,6 +4,7 @@ package javatro.storage.utils;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 /**
@@ -15,6 +16,17 @@ import java.util.List;
  */
 public class HashUtil {
 
+    /** One digest per thread, so rows can be hashed in parallel without locking. */
+    private static final ThreadLocal<MessageDigest> DIGEST =
+            ThreadLocal.withInitial(
+                    () -> {
+                        try {
+                            return MessageDigest.getInstance("SHA-256");
+                        } catch (NoSuchAlgorithmException e) {
+                            throw new RuntimeException(e);
+                        }
+                    });
+
     /**
      * Generates a SHA-256 hash from a list of strings representing run data. This method ensures
      * consistency by trimming whitespace, replacing empty or placeholder values with "NA", and
@@ -39,51 +51,36 @@ public class HashUtil {
         assert runData != null : "Input data list cannot be null";
         assert !runData.isEmpty() : "Input data list cannot be empty";
 
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            StringBuilder dataString = new StringBuilder();
+        StringBuilder dataString = new StringBuilder();
 
-            for (int i = 0; i < runData.size(); i++) {
-                String data = runData.get(i);
-                assert data != null : "Data entries cannot be null";
+        for (int i = 0; i < runData.size(); i++) {
+            String data = runData.get(i);
+            assert data != null : "Data entries cannot be null";
 
-                data = data.trim(); // Trim whitespace for consistency
+            data = data.trim(); // Trim whitespace for consistency
 
-                if (data.isEmpty() || data.equals("-")) {
-                    data = "NA"; // Normalize empty entries to a consistent value
-                }
+            if (data.isEmpty() || data.equals("-")) {
+                data = "NA"; // Normalize empty entries to a consistent value
+            }
 
-                assert !data.contains(",") : "Data entries should not contain commas";
+            assert !data.contains(",") : "Data entries should not contain commas";
 
-                dataString.append(data);
+            dataString.append(data);
 
-                // Avoid adding a trailing comma at the end
-                if (i < runData.size() - 1) {
-                    dataString.append(",");
-                }
+            // Avoid adding a trailing comma at the end
+            if (i < runData.size() - 1) {
+                dataString.append(",");
             }
+        }
 
-            assert !dataString.isEmpty() : "Data string cannot be empty before hashing";
-
-            byte[] hash = digest.digest(dataString.toString().getBytes(StandardCharsets.UTF_8));
-            assert hash.length > 0 : "Generated hash cannot be empty";
-
-            StringBuilder hexString = new StringBuilder();
+        assert !dataString.isEmpty() : "Data string cannot be empty before hashing";
 
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
+        byte[] hash = DIGEST.get().digest(dataString.toString().getBytes(StandardCharsets.UTF_8));
+        assert hash.length > 0 : "Generated hash cannot be empty";
 
-            String result = hexString.toString();
-            assert result.length() == 64 : "SHA-256 hash must be 64 characters long";
+        String result = HexFormat.of().formatHex(hash);
+        assert result.length() == 64 : "SHA-256 hash must be 64 characters long";
 
-            return result;
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+        return result;
     }
 }
@@ -0,0 +1,108 @@
+package javatro.core;
+
+import static javatro.core.Card.Rank.ACE;
+import static javatro.core.Card.Rank.EIGHT;
+import static javatro.core.Card.Rank.FOUR;
+import static javatro.core.Card.Rank.JACK;
+import static javatro.core.Card.Rank.KING;
+import static javatro.core.Card.Rank.QUEEN;
+import static javatro.core.Card.Rank.TEN;
+import static javatro.core.Card.Rank.TWO;
+import static javatro.core.Card.Suit.CLUBS;
+import static javatro.core.Card.Suit.DIAMONDS;
+import static javatro.core.Card.Suit.HEARTS;
+import static javatro.core.Card.Suit.SPADES;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javatro.core.jokers.HeldJokers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Tests for {@link BestPlayFinder}. */
+class BestPlayFinderTest {
+
+    private List<Card> holdingHand;
+    private HeldJokers heldJokers;
+
+    @BeforeEach
+    void init() {
+        heldJokers = new HeldJokers();
+        holdingHand =
+                List.of(
+                        new Card(ACE, SPADES),
+                        new Card(KING, SPADES),
+                        new Card(QUEEN, SPADES),
+                        new Card(JACK, SPADES),
+                        new Card(TEN, SPADES),
+                        new Card(TWO, HEARTS),
+                        new Card(FOUR, CLUBS),
+                        new Card(EIGHT, DIAMONDS));
+    }
+
+    /** The royal flush in hand should be the top suggestion. */
+    @Test
+    void findBestPlays_royalFlushInHand_isBestPlay() throws JavatroException {
+        List<BestPlayFinder.Play> plays =
+                BestPlayFinder.findBestPlays(holdingHand, heldJokers, BossType.NONE, 1, 5, 3);
+
+        assertEquals(3, plays.size());
+        assertEquals(PokerHand.HandType.ROYAL_FLUSH, plays.get(0).handType());
+        assertEquals(List.of(0, 1, 2, 3, 4), plays.get(0).cardIndices());
+        assertTrue(plays.get(0).score() >= plays.get(1).score());
+        assertTrue(plays.get(1).score() >= plays.get(2).score());
+    }
+
+    /** The best play must score exactly what a brute-force search with {@link Score} finds. */
+    @Test
+    void findBestPlays_bossBlind_matchesBruteForce() throws JavatroException {
+        BossType bossType = BossType.THE_GOAD;
+        long bestScore = 0;
+        for (int mask = 1; mask < (1 << holdingHand.size()); mask++) {
+            if (Integer.bitCount(mask) > 5) {
+                continue;
+            }
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < holdingHand.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    cards.add(holdingHand.get(i));
+                }
+            }
+            long score =
+                    new Score(bossType)
+                            .getScore(HandResult.evaluateHand(cards), cards, heldJokers);
+            bestScore = Math.max(bestScore, score);
+        }
+
+        List<BestPlayFinder.Play> plays =
+                BestPlayFinder.findBestPlays(holdingHand, heldJokers, bossType, 1, 5, 1);
+        assertEquals(bestScore, plays.get(0).score());
+    }
+
+    /** The Psychic forces every suggestion to use exactly five cards. */
+    @Test
+    void findBestPlays_fixedHandSize_onlyReturnsFiveCardPlays() throws JavatroException {
+        List<BestPlayFinder.Play> plays =
+                BestPlayFinder.findBestPlays(
+                        holdingHand, heldJokers, BossType.THE_PSYCHIC, 5, 5, 10);
+
+        assertEquals(10, plays.size());
+        for (BestPlayFinder.Play play : plays) {
+            assertEquals(5, play.cards().size());
+        }
+    }
+
+    /** A hand smaller than the minimum play size yields no suggestions. */
+    @Test
+    void findBestPlays_tooFewCards_returnsEmpty() throws JavatroException {
+        List<BestPlayFinder.Play> plays =
+                BestPlayFinder.findBestPlays(
+                        holdingHand.subList(0, 3), heldJokers, BossType.THE_PSYCHIC, 5, 5, 3);
+        assertTrue(plays.isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package javatro.core;
+
+import static javatro.core.Card.Rank.ACE;
+import static javatro.core.Card.Rank.TEN;
+import static javatro.core.Card.Rank.TWO;
+import static javatro.core.Card.Suit.DIAMONDS;
+import static javatro.core.Card.Suit.HEARTS;
+import static javatro.core.Card.Suit.SPADES;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Tests for {@link CardCodec} and the shared card table in {@link Card}. */
+class CardCodecTest {
+
+    /** Every card face has exactly one shared instance, equal to a newly built card. */
+    @Test
+    void of_allCards_returnsSharedInstances() {
+        for (Card.Rank rank : Card.Rank.values()) {
+            for (Card.Suit suit : Card.Suit.values()) {
+                Card card = Card.of(rank, suit);
+                assertEquals(new Card(rank, suit), card);
+                assertSame(card, Card.of(rank, suit));
+                assertSame(card, Card.fromIndex(card.getIndex()));
+            }
+        }
+    }
+
+    /** Cards survive a round trip through the byte codec as the shared instances. */
+    @Test
+    void encodeAll_roundTrip_returnsSharedInstances() {
+        List<Card> cards =
+                List.of(new Card(ACE, SPADES), new Card(TEN, HEARTS), Card.of(TWO, DIAMONDS));
+        byte[] codes = CardCodec.encodeAll(cards);
+        assertEquals(cards.size(), codes.length);
+
+        List<Card> decoded = new ArrayList<>();
+        CardCodec.decodeAll(codes, 0, codes.length, decoded);
+        assertEquals(cards, decoded);
+        for (Card card : decoded) {
+            assertSame(Card.of(card.rank(), card.suit()), card);
+        }
+    }
+
+    /** Every card string parses back to its card, in either suit case. */
+    @Test
+    void parse_allCardStrings_roundTrip() {
+        for (int index = 0; index < Card.DISTINCT_CARDS; index++) {
+            Card card = Card.fromIndex(index);
+            String cardString = CardCodec.toCardString(card);
+            assertSame(card, CardCodec.parse(cardString));
+            String lowerSuit =
+                    cardString.substring(0, cardString.length() - 1)
+                            + Character.toLowerCase(cardString.charAt(cardString.length() - 1));
+            assertSame(card, CardCodec.parse(lowerSuit));
+            assertEquals(index, CardCodec.parseCode(cardString));
+        }
+        assertEquals("10H", CardCodec.toCardString(Card.of(TEN, HEARTS)));
+    }
+
+    /** Malformed card strings are rejected. */
+    @Test
+    void parse_invalidCardStrings_rejected() {
+        for (String invalid : List.of("1H", "11H", "0H", "1", "XH", "AX", "jH", "100H")) {
+            assertEquals(CardCodec.INVALID, CardCodec.parseCode(invalid), invalid);
+        }
+        assertThrows(IllegalArgumentException.class, () -> CardCodec.parse("ZH"));
+        assertThrows(IllegalArgumentException.class, () -> CardCodec.parse("AZ"));
+    }
+}
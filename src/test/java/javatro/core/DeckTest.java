@@ -2,11 +2,14 @@ package javatro.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 /**
  * This class contains unit tests for the {@link Deck} class. It tests the initialisation and
@@ -63,4 +66,48 @@ public class DeckTest {
             assertNotEquals(Card.Rank.JACK, card.suit());
         }
     }
+
+    /** Test that drawing past the bottom of the deck throws. */
+    @Test
+    void testDrawEmptyDeck() throws JavatroException {
+        for (int i = 0; i < 52; i++) {
+            deck.draw();
+        }
+        assertEquals(0, deck.getRemainingCards());
+        assertThrows(JavatroException.class, () -> deck.draw());
+    }
+
+    /** Test that a copied deck holds the undrawn cards and is independent of the original. */
+    @Test
+    void testCopyDeck() throws JavatroException {
+        deck.draw();
+        List<Card> remaining = deck.getWholeDeck();
+
+        Deck copy = new Deck(deck);
+        assertEquals(remaining, copy.getWholeDeck());
+
+        copy.draw();
+        copy.shuffle();
+        assertEquals(remaining, deck.getWholeDeck());
+    }
+
+    /** Test that the remaining cards view is live and cannot be modified. */
+    @Test
+    void testRemainingCardsView() throws JavatroException {
+        List<Card> view = deck.getRemainingCardsView();
+        Card top = view.get(0);
+        assertEquals(top, deck.draw());
+        assertEquals(51, view.size());
+        assertEquals(deck.getWholeDeck(), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+    }
+
+    /** Test that shuffling with the same seed gives the same order. */
+    @Test
+    void testSeededShuffle() {
+        Deck other = new Deck(deck);
+        deck.shuffle(new Random(42));
+        other.shuffle(new Random(42));
+        assertEquals(deck.getWholeDeck(), other.getWholeDeck());
+    }
 }
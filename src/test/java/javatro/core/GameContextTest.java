@@ -0,0 +1,77 @@
+package javatro.core;
+
+import static javatro.core.Card.Rank.KING;
+import static javatro.core.Card.Suit.CLUBS;
+import static javatro.core.Card.Suit.HEARTS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import javatro.core.jokers.addmult.HalfJoker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/** Tests that headless {@link GameContext}s hold independent run state. */
+class GameContextTest {
+
+    /** Headless contexts are never saved and start from default state. */
+    @Test
+    void newContext_isHeadlessWithDefaultState() {
+        GameContext context = new GameContext();
+        assertFalse(context.isPersistent());
+        assertEquals(1, context.getAnte().getAnteCount());
+        assertSame(context, context.getHeldJokers().getContext());
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            assertEquals(1, context.getPlanetLevel(handType));
+            assertEquals(0, context.getPlayCount(handType));
+        }
+    }
+
+    /** Changing one game's ante, planets, jokers or play counts leaves another game untouched. */
+    @Test
+    void twoContexts_stateIsIndependent() throws JavatroException {
+        GameContext first = new GameContext();
+        GameContext second = new GameContext();
+
+        first.getAnte().setAnteCount(5);
+        PlanetCard.getForHand(PokerHand.HandType.PAIR).apply(first);
+        first.getHeldJokers().add(new HalfJoker());
+        first.incrementPlayCount(PokerHand.HandType.PAIR);
+
+        assertEquals(5, first.getAnte().getAnteCount());
+        assertEquals(1, second.getAnte().getAnteCount());
+        assertEquals(2, first.getPlanetLevel(PokerHand.HandType.PAIR));
+        assertEquals(1, second.getPlanetLevel(PokerHand.HandType.PAIR));
+        assertEquals(1, first.getHeldJokers().getJokers().size());
+        assertEquals(0, second.getHeldJokers().getJokers().size());
+        assertEquals(1, first.getPlayCount(PokerHand.HandType.PAIR));
+        assertEquals(0, second.getPlayCount(PokerHand.HandType.PAIR));
+        assertNotSame(first.getHeldJokers(), second.getHeldJokers());
+    }
+
+    /** Scoring uses the planet levels of the game the jokers belong to. */
+    @Test
+    void getScore_usesPlanetLevelsOfJokersGame() throws JavatroException {
+        GameContext levelled = new GameContext();
+        GameContext fresh = new GameContext();
+        PlanetCard mercury = PlanetCard.getForHand(PokerHand.HandType.PAIR);
+        mercury.apply(levelled);
+
+        List<Card> pair = List.of(new Card(KING, HEARTS), new Card(KING, CLUBS));
+        PokerHand pokerHand = HandResult.evaluateHand(pair);
+        Score score = new Score();
+        long freshScore = score.getScore(pokerHand, pair, fresh.getHeldJokers());
+        long levelledScore = score.getScore(pokerHand, pair, levelled.getHeldJokers());
+
+        long chips = pokerHand.getChips(1) + 20;
+        assertEquals(chips * pokerHand.getMultiplier(1), freshScore);
+        assertEquals(
+                (chips + mercury.getChipIncrement())
+                        * (pokerHand.getMultiplier(1) + mercury.getMultiIncrement()),
+                levelledScore);
+    }
+}
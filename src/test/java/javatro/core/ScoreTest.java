@@ -11,13 +11,20 @@ import static javatro.core.Card.Suit.HEARTS;
 import static javatro.core.Card.Suit.SPADES;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import javatro.core.jokers.HeldJokers;
+import javatro.core.jokers.addmult.AbstractJoker;
+import javatro.core.jokers.addmult.HalfJoker;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ScoreTest {
     private static List<Card> playedCardList;
@@ -33,7 +40,8 @@ public class ScoreTest {
     /** Initialize a test run. */
     @BeforeEach
     void init() throws JavatroException {
-        heldJokers = new HeldJokers();
+        // Jokers of a headless game, so adding them does not touch the save file
+        heldJokers = new HeldJokers(new GameContext());
         playedCardList =
                 List.of(
                         new Card(NINE, DIAMONDS),
@@ -51,4 +59,47 @@ public class ScoreTest {
         long finalScore = scoreObject.getScore(result, playedCardList, heldJokers);
         assertEquals(316, finalScore);
     }
+
+    /** Test that hands scored concurrently with a shared Score do not affect each other. */
+    @Test
+    void testScoreConcurrent() throws Exception {
+        heldJokers.add(new HalfJoker());
+        heldJokers.add(new AbstractJoker());
+        Score scoreObject = new Score();
+
+        // Half Joker only triggers for small hands, so a shared played hand would be visible
+        List<List<Card>> hands = List.of(playedCardList, playedCardList.subList(0, 2));
+        long[] expected = new long[hands.size()];
+        for (int i = 0; i < hands.size(); i++) {
+            List<Card> hand = hands.get(i);
+            expected[i] = scoreObject.getScore(HandResult.evaluateHand(hand), hand, heldJokers);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 64; task++) {
+                int handIndex = task % hands.size();
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    List<Card> hand = hands.get(handIndex);
+                                    PokerHand pokerHand = HandResult.evaluateHand(hand);
+                                    for (int i = 0; i < 2000; i++) {
+                                        long score =
+                                                scoreObject.getScore(pokerHand, hand, heldJokers);
+                                        if (score != expected[handIndex]) {
+                                            return false;
+                                        }
+                                    }
+                                    return true;
+                                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package javatro.core;
+
+import static javatro.core.Card.Rank.ACE;
+import static javatro.core.Card.Rank.KING;
+import static javatro.core.Card.Rank.QUEEN;
+import static javatro.core.Card.Rank.THREE;
+import static javatro.core.Card.Suit.CLUBS;
+import static javatro.core.Card.Suit.DIAMONDS;
+import static javatro.core.Card.Suit.HEARTS;
+import static javatro.core.Card.Suit.SPADES;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javatro.core.jokers.HeldJokers;
+import javatro.core.jokers.Joker;
+import javatro.core.jokers.addchip.OddToddJoker;
+import javatro.core.jokers.addchip.ScaryFaceJoker;
+import javatro.core.jokers.addmult.AbstractJoker;
+import javatro.core.jokers.addmult.GreedyJoker;
+import javatro.core.jokers.addmult.HalfJoker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/** Tests for {@link ScoringPlan} and its use by {@link Score}. */
+class ScoringPlanTest {
+
+    private HeldJokers heldJokers;
+
+    @BeforeEach
+    void init() throws JavatroException {
+        // Jokers of a headless game, so adding them does not touch the save file
+        heldJokers = new HeldJokers(new GameContext());
+        heldJokers.add(new ScaryFaceJoker());
+        heldJokers.add(new OddToddJoker());
+        heldJokers.add(new GreedyJoker());
+        heldJokers.add(new HalfJoker());
+        heldJokers.add(new AbstractJoker());
+    }
+
+    /** Per-card tables fold the card's chips and every on-card joker together. */
+    @Test
+    void compile_onCardJokers_foldedIntoCardTables() {
+        ScoringPlan plan = ScoringPlan.compile(heldJokers.getJokers(), BossType.NONE);
+
+        // King of Diamonds: 10 chips, Scary Face +30 chips, Greedy +3 mult
+        int king = new Card(KING, DIAMONDS).getIndex();
+        assertEquals(40, plan.getCardChips(king));
+        assertEquals(3, plan.getCardMultiplier(king));
+
+        // Three of Hearts: 3 chips, Odd Todd +31 chips
+        int three = new Card(THREE, HEARTS).getIndex();
+        assertEquals(34, plan.getCardChips(three));
+        assertEquals(0, plan.getCardMultiplier(three));
+
+        List<Joker> afterHand = plan.getAfterHandSteps();
+        assertEquals(2, afterHand.size());
+        assertEquals(HalfJoker.class, afterHand.get(0).getClass());
+        assertEquals(AbstractJoker.class, afterHand.get(1).getClass());
+    }
+
+    /** Cards disabled by the boss blind contribute nothing, not even their own chips. */
+    @Test
+    void compile_bossBlind_zeroesDisabledCards() {
+        ScoringPlan plan = ScoringPlan.compile(heldJokers.getJokers(), BossType.THE_PLANT);
+        assertEquals(0, plan.getCardChips(new Card(QUEEN, DIAMONDS).getIndex()));
+        assertEquals(0, plan.getCardMultiplier(new Card(QUEEN, DIAMONDS).getIndex()));
+        assertEquals(11 + 31, plan.getCardChips(new Card(ACE, CLUBS).getIndex()));
+    }
+
+    /** Plans are reused until the jokers or the boss change. */
+    @Test
+    void getScoringPlan_cachedUntilJokersOrBossChange() throws JavatroException {
+        ScoringPlan plan = heldJokers.getScoringPlan(BossType.NONE);
+        assertSame(plan, heldJokers.getScoringPlan(BossType.NONE));
+
+        ScoringPlan clubPlan = heldJokers.getScoringPlan(BossType.THE_CLUB);
+        assertNotSame(plan, clubPlan);
+        assertEquals(BossType.THE_CLUB, clubPlan.getBossType());
+
+        // Removing Scary Face drops its +30 chips from face cards
+        heldJokers.remove(0);
+        ScoringPlan rebuilt = heldJokers.getScoringPlan(BossType.THE_CLUB);
+        assertNotSame(clubPlan, rebuilt);
+        assertEquals(10, rebuilt.getCardChips(new Card(KING, SPADES).getIndex()));
+
+        // The jokers cannot be changed behind the cache's back
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> heldJokers.getJokers().add(new GreedyJoker()));
+    }
+
+    /** The compiled pipeline scores a hand exactly like applying each joker in turn. */
+    @Test
+    void getScore_withJokers_matchesStepByStepScoring() throws JavatroException {
+        List<Card> played =
+                List.of(new Card(KING, DIAMONDS), new Card(KING, SPADES), new Card(THREE, HEARTS));
+        PokerHand pokerHand = HandResult.evaluateHand(played);
+
+        // Cards 10 + 30 + 10 + 30 + 3 + 31 chips, Greedy +3 mult;
+        // Half Joker +20 mult (3 cards), Abstract Joker +3 mult per joker (5 jokers)
+        double chips = pokerHand.getChips() + 40 + 40 + 34;
+        double mult = pokerHand.getMultiplier() + 3 + 20 + 15;
+        long expected = (long) Math.ceil(Math.round(chips) * Math.round(mult));
+
+        assertEquals(expected, new Score().getScore(pokerHand, played, heldJokers));
+    }
+}
@@ -0,0 +1,99 @@
+package javatro.core;
+
+import static javatro.core.Card.Rank.ACE;
+import static javatro.core.Card.Rank.FIVE;
+import static javatro.core.Card.Rank.FOUR;
+import static javatro.core.Card.Rank.THREE;
+import static javatro.core.Card.Rank.TWO;
+import static javatro.core.Card.Suit.HEARTS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link TableHandEvaluator}. The table engine is checked against the classic map-based
+ * engine of {@link HandResult} for every multiset of 1 to 5 card faces, which also covers the
+ * duplicate cards found in Checkered decks.
+ */
+class TableHandEvaluatorTest {
+
+    private static final Card[] ALL_CARDS = new Card[Card.DISTINCT_CARDS];
+
+    static {
+        for (Card.Rank rank : Card.Rank.values()) {
+            for (Card.Suit suit : Card.Suit.values()) {
+                Card card = new Card(rank, suit);
+                ALL_CARDS[card.getIndex()] = card;
+            }
+        }
+    }
+
+    @AfterEach
+    void restoreEngine() {
+        HandResult.setEngine(HandResult.Engine.TABLE);
+    }
+
+    /** Verifies that both engines agree on every 1 to 5 card multiset. */
+    @Test
+    void evaluate_allMultisets_matchesClassicEngine() throws JavatroException {
+        int[] packed = new int[5];
+        List<Card> hand = new ArrayList<>(5);
+        for (int size = 1; size <= 5; size++) {
+            assertAllMultisets(packed, hand, size, 0, 0);
+        }
+    }
+
+    /** Verifies that the list and packed array entry points agree. */
+    @Test
+    void evaluate_listAndPackedInputs_agree() {
+        List<Card> wheel =
+                List.of(
+                        new Card(ACE, HEARTS),
+                        new Card(TWO, HEARTS),
+                        new Card(THREE, HEARTS),
+                        new Card(FOUR, HEARTS),
+                        new Card(FIVE, HEARTS));
+        int[] packed = new int[wheel.size()];
+        for (int i = 0; i < wheel.size(); i++) {
+            packed[i] = wheel.get(i).getIndex();
+        }
+
+        assertEquals(PokerHand.HandType.STRAIGHT_FLUSH, TableHandEvaluator.evaluate(wheel));
+        assertEquals(
+                PokerHand.HandType.STRAIGHT_FLUSH,
+                TableHandEvaluator.evaluate(packed, packed.length));
+    }
+
+    /** Verifies that the table engine hands out cached poker hands. */
+    @Test
+    void evaluateHand_tableEngine_returnsCachedPokerHand() throws JavatroException {
+        List<Card> hand = List.of(new Card(ACE, HEARTS));
+        assertSame(HandResult.evaluateHand(hand), HandResult.evaluateHand(hand));
+        assertSame(PokerHand.of(PokerHand.HandType.HIGH_CARD), HandResult.evaluateHand(hand));
+    }
+
+    private void assertAllMultisets(int[] packed, List<Card> hand, int size, int depth, int from)
+            throws JavatroException {
+        if (depth == size) {
+            HandResult.setEngine(HandResult.Engine.CLASSIC);
+            PokerHand.HandType expected = HandResult.evaluateHand(hand).handType();
+            HandResult.setEngine(HandResult.Engine.TABLE);
+
+            assertEquals(expected, TableHandEvaluator.evaluate(packed, size), hand::toString);
+            assertEquals(expected, HandResult.evaluateHand(hand).handType(), hand::toString);
+            return;
+        }
+        for (int index = from; index < Card.DISTINCT_CARDS; index++) {
+            packed[depth] = index;
+            hand.add(ALL_CARDS[index]);
+            assertAllMultisets(packed, hand, size, depth + 1, index);
+            hand.remove(depth);
+        }
+    }
+}
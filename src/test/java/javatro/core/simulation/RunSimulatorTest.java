@@ -0,0 +1,86 @@
+package javatro.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javatro.core.Deck;
+import javatro.core.PokerHand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/** Tests for {@link RunSimulator} and the reports it produces. */
+class RunSimulatorTest {
+
+    private static final int RUNS = 40;
+    private static final long SEED = 2025L;
+
+    /** The same seed gives the same report however many threads play the runs. */
+    @Test
+    void simulate_sameSeed_sameReportForAnyPoolSize() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            SimulationReport first =
+                    new RunSimulator(new GreedyPlayPolicy(), single)
+                            .simulate(Deck.DeckType.RED, RUNS, SEED);
+            SimulationReport second =
+                    new RunSimulator(new GreedyPlayPolicy(), parallel)
+                            .simulate(Deck.DeckType.RED, RUNS, SEED);
+
+            assertEquals(first.getWins(), second.getWins());
+            assertEquals(first.getHandTypeCounts(), second.getHandTypeCounts());
+            assertArrayEquals(anteCounts(first), anteCounts(second));
+            for (double percentile : new double[] {0, 25, 50, 75, 100}) {
+                assertEquals(
+                        first.getScorePercentile(percentile),
+                        second.getScorePercentile(percentile));
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    /** Every run is counted once in the ante histogram, and played hands are recorded. */
+    @Test
+    void simulateAllDecks_reportsAreConsistent() {
+        Map<Deck.DeckType, SimulationReport> reports =
+                new RunSimulator(new GreedyPlayPolicy()).simulateAllDecks(RUNS, SEED);
+
+        assertFalse(reports.containsKey(Deck.DeckType.DEFAULT));
+        assertEquals(Deck.DeckType.values().length - 1, reports.size());
+        for (SimulationReport report : reports.values()) {
+            assertEquals(RUNS, report.getRuns());
+            long[] anteCounts = anteCounts(report);
+            long totalRuns = 0;
+            for (long count : anteCounts) {
+                totalRuns += count;
+            }
+            assertEquals(RUNS, totalRuns);
+            assertTrue(report.getWins() <= anteCounts[RunSimulator.FINAL_ANTE]);
+            assertTrue(report.getWinRate() >= 0 && report.getWinRate() <= 1);
+
+            long handsPlayed = 0;
+            for (long count : report.getHandTypeCounts().values()) {
+                handsPlayed += count;
+            }
+            assertTrue(handsPlayed >= RUNS);
+            assertTrue(report.getScorePercentile(0) <= report.getScorePercentile(50));
+            assertTrue(report.getScorePercentile(50) <= report.getScorePercentile(100));
+            assertTrue(report.getHandTypeCounts().containsKey(PokerHand.HandType.HIGH_CARD));
+        }
+    }
+
+    private static long[] anteCounts(SimulationReport report) {
+        long[] counts = new long[RunSimulator.FINAL_ANTE + 1];
+        for (int ante = 1; ante <= RunSimulator.FINAL_ANTE; ante++) {
+            counts[ante] = report.getAnteReachedCount(ante);
+        }
+        return counts;
+    }
+}
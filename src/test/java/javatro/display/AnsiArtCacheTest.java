@@ -0,0 +1,50 @@
+package javatro.display;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/** Tests the reading and keeping of ANSI art by {@link AnsiArtCache}. */
+class AnsiArtCacheTest {
+
+    /** The preload reads jokers, planet cards, the logo and the end screen in the background. */
+    @Test
+    void preload_readsEveryArtFile() throws InterruptedException {
+        List<String> fileNames =
+                List.of(
+                        "javatro_logo.txt",
+                        "end_screen.txt",
+                        "joker_greedy.txt",
+                        "planet_planet_x.txt");
+        AnsiArtCache.preload();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!fileNames.stream().allMatch(AnsiArtCache::isLoaded)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(fileNames.stream().allMatch(AnsiArtCache::isLoaded));
+    }
+
+    /** A file is read once, and its bytes are the resource's bytes. */
+    @Test
+    void get_returnsSameBytesEachTime() throws IOException {
+        byte[] art = AnsiArtCache.get("jimbo.txt");
+        try (InputStream resource = AnsiArtCacheTest.class.getResourceAsStream("/ansi/jimbo.txt")) {
+            assertArrayEquals(resource.readAllBytes(), art);
+        }
+        assertSame(art, AnsiArtCache.get("jimbo.txt"));
+    }
+
+    /** A missing file has no art, so the caller can fall back. */
+    @Test
+    void get_missingFile_returnsNull() {
+        assertNull(AnsiArtCache.get("nonexistent.txt"));
+    }
+}
@@ -7,6 +7,7 @@ import static javatro.display.UI.PURPLE;
 import static javatro.display.UI.RED;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -127,4 +128,26 @@ public class CardRendererTest {
                 cardArt[0].contains(BOLD) && cardArt[0].contains(PURPLE),
                 "Spades card should use PURPLE color.");
     }
+
+    @Test
+    public void testRenderCardEveryCardPrerendered() {
+        for (Card.Suit suit : Card.Suit.values()) {
+            for (Card.Rank rank : Card.Rank.values()) {
+                String[] cardArt = CardRenderer.renderCard(new Card(rank, suit));
+                assertTrue(
+                        cardArt[0].contains(rank.getSymbol()),
+                        "Top line should contain the rank of " + rank + " of " + suit);
+            }
+        }
+    }
+
+    @Test
+    public void testRenderCardReturnsCopy() {
+        String[] cardArt = CardRenderer.renderCard(heartsCard);
+        cardArt[0] = "changed";
+        assertNotEquals(
+                "changed",
+                CardRenderer.renderCard(heartsCard)[0],
+                "Changing rendered art should not change the cached art.");
+    }
 }
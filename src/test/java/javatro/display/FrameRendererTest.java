@@ -0,0 +1,156 @@
+package javatro.display;
+
+import static javatro.display.UI.BLACK_B;
+import static javatro.display.UI.END;
+import static javatro.display.UI.YELLOW;
+import static javatro.display.UI.centerText;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javatro.core.Ante;
+import javatro.core.Card;
+import javatro.core.Deck;
+import javatro.core.GameContext;
+import javatro.core.JavatroException;
+import javatro.display.screens.GameScreen;
+
+import org.junit.jupiter.api.Test;
+
+import java.beans.PropertyChangeEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/** Tests the frame diffing and byte counting of {@link FrameRenderer}. */
+class FrameRendererTest {
+
+    private static final String BORDER = BLACK_B + "═".repeat(UI.BORDER_WIDTH) + END;
+
+    /** Full mode sends every frame whole, only without its redundant style codes. */
+    @Test
+    void encode_fullMode_sendsWholeFrame() {
+        FrameRenderer renderer = new FrameRenderer(FrameRenderer.Mode.FULL, 50, false);
+        String frame = frame(100);
+        assertEquals(SgrEmitter.minimize(frame), renderer.encode(frame));
+        assertEquals(SgrEmitter.minimize(frame), renderer.encode(frame));
+        assertTrue(renderer.getTotalStats().savedBytes() > 0);
+    }
+
+    /** Only the cursor move and changed characters of a changed line are sent. */
+    @Test
+    void encode_diffMode_sendsChangedSpan() {
+        FrameRenderer renderer = new FrameRenderer(FrameRenderer.Mode.DIFF, 50, false);
+        String first = renderer.encode(frame(100));
+        assertTrue(first.startsWith("\033[H\033[2J"));
+
+        String unchanged = renderer.encode(frame(100));
+        assertEquals("\033[4;1H\033[0m\033[J", unchanged);
+
+        String changed = renderer.encode(frame(250));
+        String row = centerText(YELLOW + "Round Score: 100" + END, UI.BORDER_WIDTH);
+        int column = UI.getDisplayLength(row.substring(0, row.indexOf("100")));
+        String expected =
+                "\033[2;" + (column + 1) + "H\033[0m" + BLACK_B + YELLOW + "25" + "\033[4;1H";
+        assertTrue(changed.startsWith(expected), changed);
+        assertFalse(changed.contains("═"));
+        assertTrue(
+                renderer.getLastFrameStats().sentBytes()
+                        < renderer.getLastFrameStats().frameBytes() / 10);
+    }
+
+    /** A line changing width is sent to its end and the rest of the old line is cleared. */
+    @Test
+    void encode_diffMode_clearsShorterLine() {
+        FrameRenderer renderer = new FrameRenderer(FrameRenderer.Mode.DIFF, 50, false);
+        renderer.encode("abc def\n");
+        assertEquals(
+                "\033[1;5H\033[0mx\033[0m\033[K\033[2;1H\033[0m\033[J",
+                renderer.encode("abc x\n"));
+    }
+
+    /** Frames that do not fit the terminal, or follow a clear, are redrawn in full. */
+    @Test
+    void encode_diffMode_redrawsWhenFrameCannotStay() {
+        FrameRenderer renderer = new FrameRenderer(FrameRenderer.Mode.DIFF, 3, false);
+        renderer.encode(frame(100));
+        assertTrue(renderer.encode(frame(250)).startsWith("\033[H\033[2J"));
+
+        FrameRenderer tall = new FrameRenderer(FrameRenderer.Mode.DIFF, 50, false);
+        tall.encode(frame(100));
+        tall.invalidate();
+        assertTrue(tall.encode(frame(100)).startsWith("\033[H\033[2J"));
+    }
+
+    /** A game screen fits the default terminal height, so a new score only redraws its line. */
+    @Test
+    void encode_diffMode_gameScreenSendsChangedLine() throws JavatroException {
+        GameContext context = GameContext.getDefault();
+        Ante ante = context.getAnte();
+        Deck deck = context.getDeck();
+        PrintStream out = System.out;
+        try {
+            context.setAnte(new Ante());
+            context.setDeck(new Deck(Deck.DeckType.RED));
+            GameScreen screen = new GameScreen();
+            screen.propertyChange(event(screen, "roundName", "SMALL BLIND"));
+            screen.propertyChange(event(screen, "blindScore", 300));
+            screen.propertyChange(event(screen, "currentScore", 100L));
+            screen.propertyChange(
+                    event(
+                            screen,
+                            "holdingHand",
+                            List.of(
+                                    new Card(Card.Rank.ACE, Card.Suit.SPADES),
+                                    new Card(Card.Rank.KING, Card.Suit.HEARTS),
+                                    new Card(Card.Rank.QUEEN, Card.Suit.DIAMONDS),
+                                    new Card(Card.Rank.JACK, Card.Suit.CLUBS),
+                                    new Card(Card.Rank.TEN, Card.Suit.SPADES),
+                                    new Card(Card.Rank.NINE, Card.Suit.HEARTS),
+                                    new Card(Card.Rank.EIGHT, Card.Suit.DIAMONDS),
+                                    new Card(Card.Rank.SEVEN, Card.Suit.CLUBS))));
+            FrameRenderer renderer =
+                    new FrameRenderer(FrameRenderer.Mode.DIFF, FrameRenderer.DEFAULT_ROWS, false);
+
+            String first = drawGameScreen(renderer, screen);
+            assertTrue(first.startsWith("\033[H\033[2J"));
+            screen.propertyChange(event(screen, "currentScore", 250L));
+            String changed = drawGameScreen(renderer, screen);
+
+            assertFalse(changed.contains("\033[2J"), changed);
+            assertTrue(changed.contains("25"), changed);
+            assertEquals(2, changed.split("H", -1).length - 1, changed);
+            assertTrue(
+                    renderer.getLastFrameStats().sentBytes()
+                            < renderer.getLastFrameStats().frameBytes() / 20);
+        } finally {
+            System.setOut(out);
+            context.setAnte(ante);
+            context.setDeck(deck);
+        }
+    }
+
+    /** Returns what the renderer sends to show a game screen with its options. */
+    private static String drawGameScreen(FrameRenderer renderer, GameScreen screen) {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(frame, true, StandardCharsets.UTF_8));
+        screen.displayScreen();
+        screen.displayOptions();
+        return renderer.encode(frame.toString(StandardCharsets.UTF_8));
+    }
+
+    private static PropertyChangeEvent event(Object source, String name, Object value) {
+        return new PropertyChangeEvent(source, name, null, value);
+    }
+
+    private static String frame(int score) {
+        return BORDER
+                + "\n"
+                + centerText(YELLOW + "Round Score: " + score + END, UI.BORDER_WIDTH)
+                + "\n"
+                + BORDER
+                + "\n";
+    }
+}
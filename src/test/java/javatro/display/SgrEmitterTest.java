@@ -0,0 +1,162 @@
+package javatro.display;
+
+import static javatro.display.UI.BLACK_B;
+import static javatro.display.UI.BOLD;
+import static javatro.display.UI.END;
+import static javatro.display.UI.ORANGE;
+import static javatro.display.UI.RED;
+import static javatro.display.UI.YELLOW;
+import static javatro.display.UI.centerText;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javatro.core.Card;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Tests the removal of redundant style codes by {@link SgrEmitter}. */
+class SgrEmitterTest {
+
+    /** A colour set again after a reset is merged into the code before the first character. */
+    @Test
+    void minimize_repeatedBackground_isSentOnce() {
+        String text = BLACK_B + "a" + END + BLACK_B + "b" + END;
+        assertEquals("\033[0;40mab\033[0m", SgrEmitter.minimize(text));
+    }
+
+    /** Switching one attribute off is sent without resetting the others. */
+    @Test
+    void minimize_singleAttributeOff_keepsOthers() {
+        String text = BLACK_B + BOLD + RED + "x" + END + BLACK_B + RED + "y" + END;
+        assertEquals("\033[0;1;91;40mx\033[22my\033[0m", SgrEmitter.minimize(text));
+        assertSameCells(text, SgrEmitter.minimize(text));
+    }
+
+    /** Text without codes, and codes without text, are left as they are. */
+    @Test
+    void minimize_nothingToMerge_isUnchanged() {
+        assertEquals("plain\n", SgrEmitter.minimize("plain\n"));
+        assertEquals(BLACK_B + END, SgrEmitter.minimize(BLACK_B + END));
+    }
+
+    /** Erasing uses the background in effect, so it is sent after the codes setting it. */
+    @Test
+    void minimize_eraseSequence_getsCurrentBackground() {
+        String text = BLACK_B + "a" + END + ORANGE + "\033[K" + END;
+        assertEquals(
+                "\033[0;40ma\033[0;38;2;255;165;0m\033[K\033[0m", SgrEmitter.minimize(text));
+    }
+
+    /** A bordered row of cards keeps every styled character while sending fewer bytes. */
+    @Test
+    void minimize_cardRows_sendFewerBytes() {
+        List<Card> hand =
+                List.of(
+                        new Card(Card.Rank.ACE, Card.Suit.HEARTS),
+                        new Card(Card.Rank.KING, Card.Suit.DIAMONDS),
+                        new Card(Card.Rank.QUEEN, Card.Suit.CLUBS),
+                        new Card(Card.Rank.JACK, Card.Suit.SPADES),
+                        new Card(Card.Rank.TEN, Card.Suit.HEARTS));
+        StringBuilder before = new StringBuilder();
+        for (String row : rawCardRows(hand)) {
+            before.append(centerText(row, UI.BORDER_WIDTH)).append('\n');
+        }
+        before.append(centerText(YELLOW + "Round Score: 100" + END, UI.BORDER_WIDTH)).append('\n');
+        String after = SgrEmitter.minimize(before.toString());
+
+        assertSameCells(before.toString(), after);
+        int beforeBytes = before.toString().getBytes(StandardCharsets.UTF_8).length;
+        int afterBytes = after.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(afterBytes < beforeBytes * 0.9, beforeBytes + " -> " + afterBytes);
+    }
+
+    /** Card rows joined by the UI look the same, and print shorter, once minimized. */
+    @Test
+    void getCardArtLines_minimizeToSameRows() {
+        List<Card> hand =
+                List.of(
+                        new Card(Card.Rank.ACE, Card.Suit.SPADES),
+                        new Card(Card.Rank.TWO, Card.Suit.DIAMONDS));
+        List<String> raw = rawCardRows(hand);
+        List<String> rows = UI.getCardArtLines(hand);
+        for (int i = 0; i < rows.size(); i++) {
+            String minimized = SgrEmitter.minimize(rows.get(i));
+            assertSameCells(raw.get(i), minimized);
+            assertTrue(minimized.length() < raw.get(i).length());
+        }
+    }
+
+    /** Joins card art the way the UI does. */
+    private static List<String> rawCardRows(List<Card> hand) {
+        List<String> rows = new ArrayList<>();
+        for (int line = 0; line < 5; line++) {
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < hand.size(); i++) {
+                row.append(CardRenderer.renderCard(hand.get(i))[line]);
+                if (i < hand.size() - 1) {
+                    row.append(BLACK_B).append("  ").append(END);
+                }
+            }
+            rows.add(row.toString());
+        }
+        return rows;
+    }
+
+    private static void assertSameCells(String expected, String actual) {
+        assertEquals(cells(expected), cells(actual));
+    }
+
+    /** Decodes text into its characters, each with the attributes it is drawn in. */
+    private static List<String> cells(String text) {
+        Map<String, String> attributes = new TreeMap<>();
+        List<String> cells = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            if (text.startsWith("\033[", i)) {
+                int end = i + 2;
+                while (!Character.isLetter(text.charAt(end))) {
+                    end++;
+                }
+                if (text.charAt(end) == 'm') {
+                    applyCode(attributes, text.substring(i + 2, end).split(";"));
+                }
+                i = end + 1;
+            } else {
+                cells.add(text.charAt(i) + " " + attributes);
+                i++;
+            }
+        }
+        cells.add("end " + attributes);
+        return cells;
+    }
+
+    private static void applyCode(Map<String, String> attributes, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            int code = values[i].isEmpty() ? 0 : Integer.parseInt(values[i]);
+            if (code == 0) {
+                attributes.clear();
+            } else if (code == 1 || code == 3 || code == 4) {
+                attributes.put("style" + code, "on");
+            } else if (code == 22 || code == 23 || code == 24) {
+                attributes.remove("style" + (code == 22 ? 1 : code - 20));
+            } else if (code == 38 || code == 48) {
+                String key = code == 38 ? "fg" : "bg";
+                attributes.put(key, String.join(";", List.of(values).subList(i + 1, i + 5)));
+                i += 4;
+            } else if (code == 39 || code == 49) {
+                attributes.remove(code == 39 ? "fg" : "bg");
+            } else if (code % 10 <= 7 && (code / 10 == 3 || code / 10 == 9)) {
+                attributes.put("fg", values[i]);
+            } else {
+                attributes.put("bg", values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package javatro.display;
+
+import static javatro.display.UI.BLACK_B;
+import static javatro.display.UI.BOLD;
+import static javatro.display.UI.END;
+import static javatro.display.UI.ORANGE;
+import static javatro.display.UI.VERTICAL;
+import static javatro.display.UI.YELLOW;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/** Tests the text measuring and layout helpers of {@link UI}. */
+class UILayoutTest {
+
+    private static final List<String> SAMPLES =
+            List.of(
+                    "",
+                    "plain text",
+                    YELLOW + "Round Score: " + BOLD + "1200" + END,
+                    ORANGE + "Joker" + END + "    card",
+                    "Chips 🂡 and 🃏",
+                    "\u200A\u200A\u2009A\u200A\u200A\u200A",
+                    "not a colour \033[2J code \033[m",
+                    "unfinished \033[12;4",
+                    "\033[");
+
+    /** The single pass scanner measures text exactly as stripping colour codes did. */
+    @Test
+    void getDisplayLength_matchesStrippedLength() {
+        for (String sample : SAMPLES) {
+            assertEquals(strippedLength(sample), UI.getDisplayLength(sample), sample);
+            // A second lookup is served from the remembered lengths
+            assertEquals(strippedLength(sample), UI.getDisplayLength(sample), sample);
+        }
+    }
+
+    /** Centred lines are built as they were with a format string. */
+    @Test
+    void centerText_matchesFormattedLine() {
+        for (String sample : SAMPLES) {
+            for (int width : new int[] {3, 20, UI.BORDER_WIDTH}) {
+                int displayLength = strippedLength(sample);
+                String expected;
+                if (width <= displayLength + 2) {
+                    expected = BLACK_B + VERTICAL + " " + sample + " " + VERTICAL + END;
+                } else {
+                    int padding = (width - displayLength - 2) / 2;
+                    int extra = (width - displayLength - 2) % 2;
+                    expected =
+                            String.format(
+                                    "%s%s%s%s%s%s%s%s",
+                                    BLACK_B,
+                                    VERTICAL,
+                                    " ".repeat(padding),
+                                    sample,
+                                    BLACK_B,
+                                    " ".repeat(padding + extra),
+                                    VERTICAL,
+                                    END);
+                }
+                assertEquals(expected, UI.centerText(sample, width));
+            }
+        }
+    }
+
+    /** Padding fills to the width in characters and truncates text that is too wide. */
+    @Test
+    void padToWidth_matchesFormattedText() {
+        assertEquals("Ante 1    ", UI.padToWidth("Ante 1", 10));
+        assertEquals("Round", UI.padToWidth("Round 12", 5));
+        String styled = YELLOW + "12" + END;
+        assertEquals(String.format("%-12s", styled), UI.padToWidth(styled, 12));
+    }
+
+    /** Measures text the way the display length was measured before it had its own scanner. */
+    private static int strippedLength(String text) {
+        String stripped = text.replaceAll("\033\\[[;\\d]*m", "");
+        double length = 0;
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (c == '\u200A') {
+                length += 0.3;
+            } else if (c == '\u2009') {
+                length += 0.5;
+            } else if (c >= '\uD800' && c <= '\uDFFF') {
+                length += 2;
+                i++;
+            } else {
+                length += 1;
+            }
+        }
+        return (int) Math.round(length);
+    }
+}
@@ -29,7 +29,7 @@ public class DeckViewScreenTest {
         testDeck = new Deck(Deck.DeckType.DEFAULT);
         ArrayList<Card> cards = new ArrayList<>();
 
-        JavatroCore.deck = testDeck;
+        JavatroCore.setDeck(testDeck);
     }
 
     @Test
@@ -77,7 +77,7 @@ public class DeckViewScreenTest {
 
     @Test
     public void testDisplayScreenWithNullDeck() {
-        JavatroCore.deck = null;
+        JavatroCore.setDeck(null);
         assertThrows(
                 NullPointerException.class,
                 () -> deckViewScreen.displayScreen(),
@@ -41,6 +41,7 @@ public class PlayCardScreenTest extends ScreenTest {
         expectedCommands.add(SortByRankOption.class);
         expectedCommands.add(PokerHandOption.class);
         expectedCommands.add(DeckViewOption.class);
+        expectedCommands.add(HintOption.class);
         expectedCommands.add(ResumeGameOption.class);
 
         compareCommandListTypes(expectedCommands, actualCommands);
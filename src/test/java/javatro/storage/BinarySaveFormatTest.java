@@ -0,0 +1,82 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/** Tests for {@link BinarySaveFormat}. */
+class BinarySaveFormatTest {
+
+    /** A run saved in the CSV format, followed by its hash. */
+    private static final String CSV_RUN =
+            "0,1,0,4,5,1,SMALL BLIND,0,0,RED,3H,5H,8H,10H,4H,JD,JH,10D,"
+                    + "ODDTODDJOKER,NA,NA,NA,NA,1,1,2,1,1,1,1,1,1,1,1,1,3,9D,10C,AC,6H,AS,2C,"
+                    + "3C,AD,6C,JC,5D,6S,3S,7C,5C,QH,QS,10S,KD,7H,QC,7D,8S,QD,"
+                    + "KS,2D,3D,9H,2H,JS,2S,4C,8C,9C,AH,4D,4S,KH,9S,6D,8D,"
+                    + "7S,5S,KC,1cdb399415e1c91d8ef8b7bd443598dd014c2dc996e65e8b6c93f703f4001437";
+
+    /** Runs survive a round trip through the binary file with every CSV field intact. */
+    @Test
+    void writeFile_readFile_roundTrip() throws IOException {
+        List<String> csvFields = csvFields();
+        List<String> negativeScore = new ArrayList<>(csvFields);
+        negativeScore.set(DataParser.HAND_INDEX, "-1");
+        negativeScore.set(DataParser.ROUND_SCORE_INDEX, "123456789012");
+        negativeScore.set(DataParser.DECK_INDEX, "-");
+
+        byte[] file =
+                BinarySaveFormat.writeFile(
+                        List.of(
+                                BinarySaveFormat.encodeRun(RunRecord.fromFields(csvFields)),
+                                BinarySaveFormat.encodeRun(RunRecord.fromFields(negativeScore))));
+        TreeMap<Integer, RunRecord> runs = BinarySaveFormat.readFile(file);
+
+        assertEquals(2, runs.size());
+        assertEquals(csvFields, runs.get(0).toFields());
+        negativeScore.set(DataParser.DECK_INDEX, "NA");
+        assertEquals(negativeScore, runs.get(1).toFields());
+    }
+
+    /** A binary run is several times smaller than the same run in the CSV file. */
+    @Test
+    void encodeRun_isSmallerThanCsvLine() {
+        byte[] record = BinarySaveFormat.encodeRun(RunRecord.fromFields(csvFields()));
+        assertTrue(record.length * 3 < CSV_RUN.length(), "record is " + record.length + " bytes");
+    }
+
+    /** Corrupted records and files are rejected. */
+    @Test
+    void readFile_corruptedData_throws() {
+        byte[] file =
+                BinarySaveFormat.writeFile(
+                        List.of(BinarySaveFormat.encodeRun(RunRecord.fromFields(csvFields()))));
+
+        byte[] flipped = file.clone();
+        flipped[flipped.length - 10] ^= 0x01;
+        assertThrows(IOException.class, () -> BinarySaveFormat.readFile(flipped));
+
+        byte[] truncated = Arrays.copyOf(file, file.length - 3);
+        assertThrows(IOException.class, () -> BinarySaveFormat.readFile(truncated));
+
+        byte[] wrongVersion = file.clone();
+        wrongVersion[4] = (byte) (BinarySaveFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> BinarySaveFormat.readFile(wrongVersion));
+
+        assertThrows(IOException.class, () -> BinarySaveFormat.readFile(CSV_RUN.getBytes()));
+    }
+
+    private static List<String> csvFields() {
+        List<String> fields = new ArrayList<>(Arrays.asList(CSV_RUN.split(",")));
+        fields.remove(fields.size() - 1);
+        assertEquals(RunRecord.FIELD_COUNT, fields.size());
+        return fields;
+    }
+}
@@ -0,0 +1,84 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javatro.storage.utils.HashUtil;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/** Tests the validation and streaming loading of CSV save files by {@link DataParser}. */
+class DataParserTest {
+
+    @TempDir Path tempDir;
+
+    /**
+     * Corrupted rows are skipped one by one while the valid runs around them are kept, renumbered
+     * to match their new positions.
+     */
+    @Test
+    void readCSVFile_skipsOnlyCorruptedRows() throws IOException {
+        String tampered = csvRow(1).replaceFirst("^1,1,0,", "1,1,999,");
+        RunRecord third = StorageManagerTest.newRun(2);
+        third.setRoundScore(222);
+        Path path = tempDir.resolve("savefile.csv");
+        Files.writeString(
+                path, csvRow(0) + "\n" + tampered + "\n\n" + withHash(third.toFields()) + "\n");
+
+        TreeMap<Integer, RunRecord> runs = DataParser.readCSVFile(path);
+        assertEquals(2, runs.size());
+        assertEquals(0, runs.get(0).getRunNumber());
+        assertEquals(1, runs.get(1).getRunNumber());
+        assertEquals(222, runs.get(1).getRoundScore());
+    }
+
+    /** Files spanning many chunks keep their rows in file order. */
+    @Test
+    void readCSVFile_largeFileKeepsOrder() throws IOException {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            rows.add(csvRow(i));
+        }
+        Path path = tempDir.resolve("savefile.csv");
+        Files.write(path, rows);
+
+        TreeMap<Integer, RunRecord> runs = DataParser.readCSVFile(path);
+        assertEquals(3000, runs.size());
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(i, runs.get(i).getRunNumber());
+        }
+    }
+
+    /** Rows with a matching hash but invalid values are still rejected. */
+    @Test
+    void parseRow_invalidValues_throw() {
+        List<String> fields = StorageManagerTest.newRun(0).toFields();
+        fields.set(DataParser.ANTE_NUMBER_INDEX, "9");
+        assertThrows(IllegalArgumentException.class, () -> DataParser.parseRow(withHash(fields)));
+
+        fields.set(DataParser.ANTE_NUMBER_INDEX, "1");
+        fields.set(DataParser.DECK_INDEX, "GREEN");
+        assertThrows(IllegalArgumentException.class, () -> DataParser.parseRow(withHash(fields)));
+
+        assertTrue(DataParser.isCSVDataValid(csvRow(0)));
+        assertFalse(DataParser.isCSVDataValid(csvRow(0).replace(",RED,", ",BLUE,")));
+    }
+
+    private static String csvRow(int runNumber) {
+        return withHash(StorageManagerTest.newRun(runNumber).toFields());
+    }
+
+    private static String withHash(List<String> fields) {
+        return String.join(",", fields) + "," + HashUtil.generateHash(fields);
+    }
+}
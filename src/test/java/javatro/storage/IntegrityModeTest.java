@@ -0,0 +1,51 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+/** Tests the checksums of every {@link IntegrityMode}. */
+class IntegrityModeTest {
+
+    /** Every mode accepts its own checksum and rejects a changed byte. */
+    @Test
+    void matches_detectsChangedBytes() {
+        IntegrityMode.setHmacKey(new byte[] {1, 2, 3, 4});
+        for (IntegrityMode mode : IntegrityMode.values()) {
+            byte[] record = BinarySaveFormat.encodeRun(StorageManagerTest.newRun(3), mode);
+            int bodyLength = record.length - mode.getChecksumBytes();
+            assertTrue(mode.matches(record, 0, bodyLength), mode.name());
+
+            record[5] ^= 0x01;
+            assertFalse(mode.matches(record, 0, bodyLength), mode.name());
+        }
+    }
+
+    /** A keyed checksum made with another key is rejected. */
+    @Test
+    void hmac_otherKeyRejected() throws IOException {
+        IntegrityMode.setHmacKey(new byte[] {1, 2, 3, 4});
+        IntegrityMode mode = IntegrityMode.HMAC_SHA256;
+        byte[] record = BinarySaveFormat.encodeRun(StorageManagerTest.newRun(3), mode);
+        assertEquals(3, BinarySaveFormat.decodeRun(record, mode).getRunNumber());
+
+        IntegrityMode.setHmacKey(new byte[] {4, 3, 2, 1});
+        assertThrows(IOException.class, () -> BinarySaveFormat.decodeRun(record, mode));
+    }
+
+    /** Modes are found by their header identifier and by name. */
+    @Test
+    void fromId_fromName_findModes() throws IOException {
+        for (IntegrityMode mode : IntegrityMode.values()) {
+            assertEquals(mode, IntegrityMode.fromId(mode.getId()));
+        }
+        assertEquals(IntegrityMode.HMAC_SHA256, IntegrityMode.fromName(" hmac_sha256 "));
+        assertThrows(IOException.class, () -> IntegrityMode.fromId(0));
+        assertThrows(IllegalArgumentException.class, () -> IntegrityMode.fromName("md5"));
+    }
+}
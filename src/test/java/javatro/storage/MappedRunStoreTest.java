@@ -0,0 +1,134 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** Tests the slot layout and integrity checks of {@link MappedRunStore}. */
+class MappedRunStoreTest {
+
+    @TempDir Path tempDir;
+
+    /** Runs written to their slots are read back after the store is reopened. */
+    @Test
+    void writeRecord_runsSurviveReopen() throws IOException {
+        Path path = tempDir.resolve("savefile.runs");
+        MappedRunStore store = MappedRunStore.open(path);
+        store.writeRecord(0, encode(store, newRun(0, "0")));
+        store.writeRecord(1, encode(store, newRun(1, "0")));
+        store.writeRecord(0, encode(store, newRun(0, "250")));
+        store.close();
+
+        MappedRunStore reopened = MappedRunStore.open(path);
+        assertEquals(2, reopened.getRunCount());
+        assertEquals("250", reopened.readRun(0).getField(DataParser.ROUND_SCORE_INDEX));
+        assertEquals("1", reopened.readRun(1).getField(DataParser.RUN_NUMBER_INDEX));
+        reopened.close();
+    }
+
+    /** The file grows once more runs are written than the initial mapping holds. */
+    @Test
+    void writeRecord_growsPastInitialCapacity() throws IOException {
+        Path path = tempDir.resolve("savefile.runs");
+        MappedRunStore store = MappedRunStore.open(path);
+        for (int i = 0; i < 40; i++) {
+            store.writeRecord(i, encode(store, newRun(i, "0")));
+        }
+        store.close();
+
+        MappedRunStore reopened = MappedRunStore.open(path);
+        assertEquals(40, reopened.getRunCount());
+        assertEquals("39", reopened.readRun(39).getField(DataParser.RUN_NUMBER_INDEX));
+        reopened.close();
+    }
+
+    /** Records larger than a slot are rejected instead of overwriting the next slot. */
+    @Test
+    void writeRecord_oversizedRecordRejected() throws IOException {
+        MappedRunStore store = MappedRunStore.open(tempDir.resolve("savefile.runs"));
+        byte[] record = new byte[MappedRunStore.MAX_RECORD_SIZE + 1];
+        assertThrows(IllegalArgumentException.class, () -> store.writeRecord(0, record));
+        assertEquals(0, store.getRunCount());
+        store.close();
+    }
+
+    /** A damaged slot fails its checksum without affecting the other runs. */
+    @Test
+    void readRun_corruptedSlotDetected() throws IOException {
+        Path path = tempDir.resolve("savefile.runs");
+        MappedRunStore store = MappedRunStore.open(path);
+        store.writeRecord(0, encode(store, newRun(0, "0")));
+        store.writeRecord(1, encode(store, newRun(1, "0")));
+        store.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            // Flip a byte inside the record of the second slot
+            long position = MappedRunStore.HEADER_SIZE + MappedRunStore.SLOT_SIZE + 10;
+            file.seek(position);
+            int value = file.read();
+            file.seek(position);
+            file.write(value ^ 0xFF);
+        }
+
+        MappedRunStore reopened = MappedRunStore.open(path);
+        assertEquals("0", reopened.readRun(0).getField(DataParser.RUN_NUMBER_INDEX));
+        assertThrows(IOException.class, () -> reopened.readRun(1));
+        reopened.close();
+    }
+
+    /** Files that are not run stores are refused. */
+    @Test
+    void open_invalidHeaderRejected() throws IOException {
+        Path path = tempDir.resolve("savefile.runs");
+        Files.write(path, new byte[] {'J', 'V', 'T', 'R', 0, 0, 0, 1});
+        assertThrows(IOException.class, () -> MappedRunStore.open(path));
+    }
+
+    /** A store keeps the integrity mode it was created with when reopened. */
+    @Test
+    void open_keepsIntegrityModeOfExistingStore() throws IOException {
+        Path path = tempDir.resolve("savefile.runs");
+        MappedRunStore store = MappedRunStore.open(path, IntegrityMode.CRC32);
+        store.writeRecord(0, encode(store, newRun(0, "0")));
+        store.close();
+
+        MappedRunStore reopened = MappedRunStore.open(path, IntegrityMode.CRC32C);
+        assertEquals(IntegrityMode.CRC32, reopened.getIntegrityMode());
+        assertEquals("0", reopened.readRun(0).getField(DataParser.RUN_NUMBER_INDEX));
+        reopened.close();
+    }
+
+    /** Stores written before the integrity mode was recorded are read as CRC32. */
+    @Test
+    void open_version1StoreReadAsCrc32() throws IOException {
+        byte[] record = BinarySaveFormat.encodeRun(newRun(0, "75"), IntegrityMode.CRC32);
+        ByteBuffer file = ByteBuffer.allocate(16 + MappedRunStore.SLOT_SIZE);
+        file.put(new byte[] {'J', 'V', 'T', 'S'}).putInt(1).putInt(MappedRunStore.SLOT_SIZE);
+        file.putInt(1).putShort((short) record.length).put(record);
+        Path path = tempDir.resolve("savefile.runs");
+        Files.write(path, file.array());
+
+        MappedRunStore store = MappedRunStore.open(path);
+        assertEquals(IntegrityMode.CRC32, store.getIntegrityMode());
+        assertEquals("75", store.readRun(0).getField(DataParser.ROUND_SCORE_INDEX));
+        store.close();
+    }
+
+    private static byte[] encode(MappedRunStore store, RunRecord run) {
+        return BinarySaveFormat.encodeRun(run, store.getIntegrityMode());
+    }
+
+    private static RunRecord newRun(int runNumber, String score) {
+        RunRecord run = StorageManagerTest.newRun(runNumber);
+        run.setField(DataParser.ROUND_SCORE_INDEX, score);
+        return run;
+    }
+}
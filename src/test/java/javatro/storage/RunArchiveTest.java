@@ -0,0 +1,99 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Tests the compressed storage of finished runs by {@link RunArchive}. */
+class RunArchiveTest {
+
+    @TempDir Path tempDir;
+
+    /** Records read back unchanged after reopening, and a later entry replaces an earlier one. */
+    @Test
+    void append_readRecord_roundTripAfterReopen() throws IOException {
+        Path path = tempDir.resolve("savefile.archive");
+        byte[] first = BinarySaveFormat.encodeRun(finishedRun(0));
+        RunRecord replaced = finishedRun(1);
+        replaced.setWins(3);
+        RunArchive archive = RunArchive.open(path);
+        archive.append(0, first);
+        archive.append(1, BinarySaveFormat.encodeRun(finishedRun(1)));
+        archive.append(1, BinarySaveFormat.encodeRun(replaced));
+        archive.close();
+
+        RunArchive reopened = RunArchive.open(path);
+        assertArrayEquals(first, reopened.readRecord(0));
+        assertEquals(replaced, BinarySaveFormat.decodeRun(reopened.readRecord(1)));
+        assertFalse(reopened.contains(2));
+        assertThrows(IOException.class, () -> reopened.readRecord(2));
+        reopened.close();
+    }
+
+    /** The preset dictionary compresses a finished run well below its record size. */
+    @Test
+    void append_compressesFinishedRuns() throws IOException {
+        byte[] record = BinarySaveFormat.encodeRun(finishedRun(5));
+        RunArchive archive = RunArchive.open(tempDir.resolve("savefile.archive"));
+        long before = archive.size();
+        archive.append(5, record);
+        assertTrue(archive.size() - before < record.length / 2);
+        archive.close();
+    }
+
+    /** A partly written last entry is cut off, keeping the entries before it. */
+    @Test
+    void open_truncatedEntry_isDropped() throws IOException {
+        Path path = tempDir.resolve("savefile.archive");
+        RunArchive archive = RunArchive.open(path);
+        archive.append(0, BinarySaveFormat.encodeRun(finishedRun(0)));
+        archive.append(1, BinarySaveFormat.encodeRun(finishedRun(1)));
+        archive.close();
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        RunArchive reopened = RunArchive.open(path);
+        assertTrue(reopened.contains(0));
+        assertFalse(reopened.contains(1));
+        assertEquals(reopened.size(), Files.size(path));
+        reopened.close();
+    }
+
+    /** An entry naming another preset dictionary is reported as corrupted. */
+    @Test
+    void readRecord_wrongDictionary_throwsIoException() throws IOException {
+        Path path = tempDir.resolve("savefile.archive");
+        RunArchive archive = RunArchive.open(path);
+        archive.append(0, BinarySaveFormat.encodeRun(finishedRun(0)));
+        archive.close();
+        // Change the dictionary ID that follows the 2 byte zlib header of the first entry
+        byte[] file = Files.readAllBytes(path);
+        file[8 + Integer.BYTES + Short.BYTES + 2] ^= 0x01;
+        Files.write(path, file);
+
+        RunArchive reopened = RunArchive.open(path);
+        assertThrows(IOException.class, () -> reopened.readRecord(0));
+        reopened.close();
+    }
+
+    static RunRecord finishedRun(int runNumber) {
+        RunRecord run = StorageManagerTest.newRun(runNumber);
+        run.setHands(-1);
+        run.setDiscards(-1);
+        run.setLosses(1);
+        return run;
+    }
+}
@@ -0,0 +1,146 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Tests the entry format and crash recovery of {@link RunJournal}. */
+class RunJournalTest {
+
+    @TempDir Path tempDir;
+
+    /** Records every replayed entry as a line of text. */
+    private static class RecordingReplayer implements RunJournal.Replayer {
+        private final List<String> entries = new ArrayList<>();
+
+        @Override
+        public void setField(int runNumber, int fieldIndex, String value) {
+            entries.add("field " + runNumber + " " + fieldIndex + " " + value);
+        }
+
+        @Override
+        public void setRun(int runNumber, byte[] record) {
+            entries.add("run " + runNumber + " " + record.length);
+        }
+
+        @Override
+        public void setRunCount(int count) {
+            entries.add("count " + count);
+        }
+    }
+
+    /** Committed entries are replayed in order after reopening. */
+    @Test
+    void commit_entriesReplayedInOrder() throws IOException {
+        Path path = tempDir.resolve("savefile.journal");
+        RunJournal journal = RunJournal.open(path);
+        journal.appendRun(0, new byte[] {1, 2, 3});
+        journal.appendField(0, DataParser.ROUND_SCORE_INDEX, "150");
+        journal.commit();
+        journal.appendRunCount(1);
+        journal.commit();
+        journal.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        RunJournal reopened = RunJournal.open(path);
+        reopened.replay(replayer);
+        assertEquals(List.of("run 0 3", "field 0 2 150", "count 1"), replayer.entries);
+        reopened.close();
+    }
+
+    /** A partly written last entry is ignored and cut off so later entries follow intact ones. */
+    @Test
+    void replay_tornTailIgnored() throws IOException {
+        Path path = tempDir.resolve("savefile.journal");
+        RunJournal journal = RunJournal.open(path);
+        journal.appendField(0, DataParser.ROUND_SCORE_INDEX, "150");
+        journal.appendField(0, DataParser.ROUND_SCORE_INDEX, "300");
+        journal.commit();
+        journal.close();
+        long fullSize = Files.size(path);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(fullSize - 3);
+        }
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        RunJournal reopened = RunJournal.open(path);
+        reopened.replay(replayer);
+        assertEquals(List.of("field 0 2 150"), replayer.entries);
+
+        reopened.appendRunCount(1);
+        reopened.commit();
+        reopened.close();
+        RecordingReplayer second = new RecordingReplayer();
+        RunJournal again = RunJournal.open(path);
+        again.replay(second);
+        assertEquals(List.of("field 0 2 150", "count 1"), second.entries);
+        again.close();
+    }
+
+    /** Truncation empties the file but keeps entries queued since the last commit. */
+    @Test
+    void truncate_keepsQueuedEntries() throws IOException {
+        Path path = tempDir.resolve("savefile.journal");
+        RunJournal journal = RunJournal.open(path);
+        journal.appendField(0, DataParser.ROUND_SCORE_INDEX, "150");
+        journal.commit();
+        journal.appendRunCount(1);
+        journal.truncate();
+        assertEquals(0, Files.size(path));
+
+        journal.commit();
+        journal.close();
+        RecordingReplayer replayer = new RecordingReplayer();
+        RunJournal reopened = RunJournal.open(path);
+        reopened.replay(replayer);
+        assertEquals(List.of("count 1"), replayer.entries);
+        reopened.close();
+    }
+
+    /** A commit up to a mark leaves the entries queued after it for the next commit. */
+    @Test
+    void commit_toMark_keepsLaterEntriesQueued() throws IOException {
+        Path path = tempDir.resolve("savefile.journal");
+        RunJournal journal = RunJournal.open(path);
+        journal.appendRunCount(1);
+        long mark = journal.mark();
+        journal.appendField(0, DataParser.ROUND_SCORE_INDEX, "150");
+        long queued = journal.size();
+        journal.commit(mark);
+        assertEquals(queued, journal.size());
+        journal.truncate();
+        journal.commit();
+        journal.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        RunJournal reopened = RunJournal.open(path);
+        reopened.replay(replayer);
+        assertEquals(List.of("field 0 2 150"), replayer.entries);
+        reopened.close();
+    }
+
+    /** Entries of a commit that fails stay queued for the next commit. */
+    @Test
+    void commit_failedWrite_keepsEntriesQueued() throws IOException {
+        RunJournal journal = RunJournal.open(tempDir.resolve("savefile.journal"));
+        journal.appendField(0, DataParser.ROUND_SCORE_INDEX, "150");
+        long queued = journal.size();
+        journal.close();
+
+        assertThrows(IOException.class, journal::commit);
+        assertEquals(queued, journal.size());
+        journal.appendRunCount(1);
+        long bothQueued = journal.size();
+        assertThrows(IOException.class, journal::commit);
+        assertEquals(bothQueued, journal.size());
+    }
+}
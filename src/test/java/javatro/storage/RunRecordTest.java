@@ -0,0 +1,85 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import javatro.core.Ante;
+import javatro.core.Card;
+import javatro.core.PokerHand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Tests the typed fields and text conversion of {@link RunRecord}. */
+class RunRecordTest {
+
+    /** Text fields read back unchanged, with every empty marker shown as {@code "NA"}. */
+    @Test
+    void fromFields_toFields_roundTrip() {
+        RunRecord run = StorageManagerTest.newRun(2);
+        run.setHoldingCard(0, Card.of(Card.Rank.ACE, Card.Suit.HEARTS));
+        run.setJoker(1, "ODDTODDJOKER");
+        ArrayList<String> fields = run.toFields();
+
+        RunRecord parsed = RunRecord.fromFields(fields);
+        assertEquals(run, parsed);
+        assertEquals(fields, parsed.toFields());
+        assertEquals("AH", parsed.getField(DataParser.HOLDING_HAND_START_INDEX));
+        assertEquals("NA", parsed.getField(DataParser.HOLDING_HAND_START_INDEX + 1));
+        assertEquals("ODDTODDJOKER", parsed.getJoker(1));
+        assertNull(parsed.getJoker(0));
+
+        List<String> dashed = new ArrayList<>(fields);
+        dashed.set(DataParser.JOKER_HAND_START_INDEX, "-");
+        assertEquals(run, RunRecord.fromFields(dashed));
+    }
+
+    /** Only the fields that differ are reported, in index order. */
+    @Test
+    void changedFields_listsDifferingIndexes() {
+        RunRecord run = StorageManagerTest.newRun(0);
+        RunRecord changed = run.copy();
+        changed.setRoundScore(150);
+        changed.setPlanetLevel(PokerHand.HandType.FLUSH, 3);
+        changed.setDeckCard(5, Card.of(Card.Rank.ACE, Card.Suit.HEARTS));
+
+        assertEquals(
+                List.of(
+                        DataParser.ROUND_SCORE_INDEX,
+                        DataParser.planetLevelIndex(PokerHand.HandType.FLUSH),
+                        DataParser.START_OF_REST_OF_DECK + 5),
+                run.changedFields(changed));
+        assertEquals(List.of(), run.changedFields(run.copy()));
+    }
+
+    /** A copy keeps its values when the original changes. */
+    @Test
+    void copy_isIndependent() {
+        RunRecord run = StorageManagerTest.newRun(0);
+        RunRecord copy = run.copy();
+        run.setBlind(Ante.Blind.BOSS_BLIND);
+        run.setHoldingCard(3, Card.of(Card.Rank.ACE, Card.Suit.HEARTS));
+
+        assertEquals(Ante.Blind.SMALL_BLIND, copy.getBlind());
+        assertNull(copy.getHoldingCard(3));
+    }
+
+    /** Invalid text is rejected instead of being stored. */
+    @Test
+    void setField_invalidValue_throws() {
+        RunRecord run = new RunRecord(0);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> run.setField(DataParser.ROUND_NUMBER_INDEX, "abc"));
+        assertThrows(
+                IllegalArgumentException.class, () -> run.setField(DataParser.BLIND_INDEX, "BIG"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> run.setField(DataParser.START_OF_REST_OF_DECK, "ZZ"));
+        assertThrows(
+                IllegalArgumentException.class, () -> RunRecord.fromFields(List.of("0", "1")));
+    }
+}
@@ -0,0 +1,112 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Tests for the background {@link SaveWriter}. */
+class SaveWriterTest {
+
+    /** Flushing waits until the newest task has run. */
+    @Test
+    void flush_runsNewestTask() throws IOException {
+        SaveWriter writer = new SaveWriter();
+        AtomicReference<String> saved = new AtomicReference<>();
+
+        writer.submit(() -> saved.set("first"));
+        writer.submit(() -> saved.set("second"));
+        writer.flush();
+
+        assertEquals("second", saved.get());
+    }
+
+    /** Saves requested while a task is running are merged into a single task. */
+    @Test
+    void submit_duringWrite_coalescesIntoOneWrite() throws Exception {
+        SaveWriter writer = new SaveWriter();
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        AtomicReference<String> saved = new AtomicReference<>();
+
+        writer.submit(
+                () -> {
+                    writes.incrementAndGet();
+                    writeStarted.countDown();
+                    try {
+                        releaseWrite.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    saved.set("slow");
+                });
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 10; i++) {
+            String content = "update " + i;
+            writer.submit(
+                    () -> {
+                        writes.incrementAndGet();
+                        saved.set(content);
+                    });
+        }
+        releaseWrite.countDown();
+        writer.flush();
+
+        assertEquals(2, writes.get());
+        assertEquals("update 9", saved.get());
+    }
+
+    /** A failed task is reported by the next flush. */
+    @Test
+    void flush_failedWrite_throws() {
+        SaveWriter writer = new SaveWriter();
+        writer.submit(
+                () -> {
+                    throw new IOException("disk full");
+                });
+        assertThrows(IOException.class, writer::flush);
+    }
+
+    /** A failure is still reported after a later write succeeds. */
+    @Test
+    void takeFailure_keepsFailureAfterLaterSuccess() throws Exception {
+        SaveWriter writer = new SaveWriter();
+        CountDownLatch failing = new CountDownLatch(1);
+        writer.submit(
+                () -> {
+                    failing.countDown();
+                    throw new IOException("disk full");
+                });
+        assertTrue(failing.await(5, TimeUnit.SECONDS));
+        writer.submit(() -> {});
+        IOException error = assertThrows(IOException.class, writer::flush);
+        assertEquals("disk full", error.getMessage());
+        assertNull(writer.takeFailure());
+    }
+
+    /** Flushing fails instead of waiting forever once an error has stopped the writer thread. */
+    @Test
+    void flush_writerThreadStopped_throws() {
+        SaveWriter writer = new SaveWriter();
+        writer.submit(
+                () -> {
+                    throw new StackOverflowError("test");
+                });
+        assertThrows(IOException.class, writer::flush);
+        writer.submit(() -> {});
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(5), () -> assertThrows(IOException.class, writer::flush));
+    }
+}
@@ -0,0 +1,506 @@
+package javatro.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javatro.core.Ante;
+import javatro.core.Deck;
+import javatro.core.JavatroException;
+import javatro.core.PokerHand;
+import javatro.storage.utils.HashUtil;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests the dirty run tracking, journaling, lazy loading and thread safety of {@link
+ * StorageManager}.
+ */
+class StorageManagerTest {
+
+    private final StorageManager storageManager = StorageManager.getInstance();
+    private MappedRunStore originalStore;
+    private RunJournal originalJournal;
+
+    @TempDir Path tempDir;
+    private MappedRunStore store;
+    private RunJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalStore = storageManager.getRunStore();
+        originalJournal = storageManager.getRunJournal();
+
+        store = MappedRunStore.open(tempDir.resolve("savefile.runs"));
+        for (int i = 0; i < 3; i++) {
+            store.writeRecord(i, BinarySaveFormat.encodeRun(newRun(i), store.getIntegrityMode()));
+        }
+        journal = RunJournal.open(tempDir.resolve("savefile.journal"));
+        storageManager.useSaveFiles(store, journal);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        storageManager.useSaveFiles(originalStore, originalJournal);
+        store.close();
+        journal.close();
+    }
+
+    /** Only the runs that are used are read from the run store. */
+    @Test
+    void getRun_readsOnlyRequestedRun() {
+        assertEquals(3, storageManager.getNumberOfRuns());
+        assertFalse(storageManager.isRunLoaded(1));
+        assertEquals(1, storageManager.getRun(1).getRunNumber());
+        assertTrue(storageManager.isRunLoaded(1));
+        assertFalse(storageManager.isRunLoaded(0));
+        assertFalse(storageManager.isRunLoaded(2));
+    }
+
+    /** Summaries are read from the run store without loading the run, and follow its changes. */
+    @Test
+    void getRunSummary_doesNotLoadRun() {
+        RunSummary summary = storageManager.getRunSummary(2);
+        assertEquals(2, summary.getRunNumber());
+        assertEquals(Deck.DeckType.RED, summary.getDeck());
+        assertEquals("SMALL BLIND", summary.getField(DataParser.BLIND_INDEX));
+        assertFalse(storageManager.isRunLoaded(2));
+
+        RunRecord run = storageManager.getRun(2);
+        run.setWins(5);
+        storageManager.saveRun(2, run);
+        assertEquals(5, storageManager.getRunSummary(2).getWins());
+    }
+
+    /** A change to one field is journaled as that field alone, not as the whole run. */
+    @Test
+    void updateSaveFile_journalsOnlyChangedFields() throws JavatroException {
+        RunRecord run = storageManager.getRun(0);
+        run.setRoundScore(150);
+        storageManager.saveRun(0, run);
+        assertTrue(storageManager.isRunDirty(0));
+
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+        assertFalse(storageManager.isRunDirty(0));
+        long fieldEntrySize = journal.size();
+        assertTrue(fieldEntrySize < 20, "Entry was " + fieldEntrySize + " bytes");
+
+        // Nothing changed, so nothing more is journaled
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+        assertEquals(fieldEntrySize, journal.size());
+    }
+
+    /** Journaled changes are replayed over the run store when the save files are reopened. */
+    @Test
+    void useSaveFiles_replaysJournal() throws IOException, JavatroException {
+        RunRecord run = storageManager.getRun(2);
+        run.setRoundScore(150);
+        storageManager.saveRun(2, run);
+        storageManager.saveRun(3, newRun(3));
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+        assertEquals(0, store.readRun(2).getRoundScore());
+
+        storageManager.useSaveFiles(store, journal);
+        assertEquals(4, storageManager.getNumberOfRuns());
+        assertFalse(storageManager.isRunLoaded(0));
+        assertEquals(150, storageManager.getRun(2).getRoundScore());
+        assertEquals(3, storageManager.getRun(3).getRunNumber());
+    }
+
+    /** Compaction moves journaled changes into their slots and empties the journal. */
+    @Test
+    void compactJournal_writesSlotsAndEmptiesJournal() throws IOException, JavatroException {
+        RunRecord run = storageManager.getRun(1);
+        run.setRoundScore(150);
+        storageManager.saveRun(1, run);
+        storageManager.deleteRun(2);
+        storageManager.journalDirtyRuns();
+        storageManager.compactJournal();
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+
+        assertEquals(0, Files.size(tempDir.resolve("savefile.journal")));
+        assertEquals(2, store.getRunCount());
+        assertEquals(150, store.readRun(1).getRoundScore());
+    }
+
+    /** A save journaled while a compaction writes its slots survives the journal being emptied. */
+    @Test
+    void compactJournal_saveDuringCompaction_keptInJournal() throws IOException, JavatroException {
+        storageManager.updateRun(1, run -> run.setRoundScore(150));
+        storageManager.journalDirtyRuns();
+        storageManager.beforeCompactionCommit =
+                () -> {
+                    storageManager.updateRun(1, run -> run.setRoundScore(250));
+                    storageManager.journalDirtyRuns();
+                };
+        try {
+            storageManager.compactJournal();
+        } finally {
+            storageManager.beforeCompactionCommit = () -> {};
+        }
+        assertEquals(150, store.readRun(1).getRoundScore());
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+
+        storageManager.useSaveFiles(store, journal);
+        assertEquals(250, storageManager.getRun(1).getRoundScore());
+    }
+
+    /** Once the journal passes the compaction threshold, the background writer compacts it. */
+    @Test
+    void updateSaveFile_largeJournal_compactedByWriter() throws IOException, JavatroException {
+        int updates = (int) (StorageManager.COMPACTION_THRESHOLD / 10);
+        for (int i = 1; i <= updates; i++) {
+            int score = i;
+            storageManager.updateRun(0, run -> run.setRoundScore(score));
+            storageManager.updateSaveFile();
+        }
+        storageManager.flushSaveFile();
+
+        assertTrue(store.readRun(0).getRoundScore() > 0);
+        assertTrue(journal.size() < StorageManager.COMPACTION_THRESHOLD);
+        storageManager.useSaveFiles(store, journal);
+        assertEquals(updates, storageManager.getRun(0).getRoundScore());
+    }
+
+    /** A snapshot keeps its runs after later saves and compaction overwrite their slots. */
+    @Test
+    void getSnapshot_unaffectedByLaterSaves() throws IOException, JavatroException {
+        RunSnapshot before = storageManager.getSnapshot();
+        RunRecord run = storageManager.getRun(1);
+        run.setRoundScore(150);
+        storageManager.saveRun(1, run);
+        storageManager.saveRun(3, newRun(3));
+        assertEquals(3, storageManager.getSnapshot().size());
+
+        storageManager.journalDirtyRuns();
+        storageManager.compactJournal();
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+
+        RunSnapshot after = storageManager.getSnapshot();
+        assertEquals(3, before.size());
+        assertEquals(0, before.getRun(1).getRoundScore());
+        assertEquals(4, after.size());
+        assertEquals(150, after.getRun(1).getRoundScore());
+        assertEquals("3", after.getField(3, DataParser.RUN_NUMBER_INDEX));
+
+        // Unchanged runs are read from the store without being loaded
+        assertEquals(2, after.getSummary(2).getRunNumber());
+        assertFalse(storageManager.isRunLoaded(2));
+    }
+
+    /** Snapshots keep their runs across compactions, while later ones read them from the slots. */
+    @Test
+    void getSnapshot_keptAcrossCompactions() throws IOException {
+        RunSnapshot opened = storageManager.getSnapshot();
+        storageManager.updateRun(1, run -> run.setRoundScore(150));
+        storageManager.journalDirtyRuns();
+        storageManager.compactJournal();
+        RunSnapshot compacted = storageManager.getSnapshot();
+        storageManager.updateRun(1, run -> run.setRoundScore(250));
+        storageManager.journalDirtyRuns();
+        storageManager.compactJournal();
+
+        assertEquals(0, opened.getRun(1).getRoundScore());
+        assertEquals(150, compacted.getRun(1).getRoundScore());
+        assertEquals(250, storageManager.getSnapshot().getRun(1).getRoundScore());
+        assertEquals(250, store.readRun(1).getRoundScore());
+    }
+
+    /** Compaction moves finished runs to the archive, from where they are read on demand. */
+    @Test
+    void compactJournal_archivesFinishedRuns() throws IOException, JavatroException {
+        RunArchive archive = RunArchive.open(tempDir.resolve("savefile.archive"));
+        store.setArchive(archive);
+        storageManager.saveRun(1, RunArchiveTest.finishedRun(1));
+        storageManager.updateRun(2, run -> run.setRoundScore(150));
+        storageManager.journalDirtyRuns();
+        storageManager.compactJournal();
+
+        assertTrue(store.isArchived(1));
+        assertFalse(store.isArchived(2));
+        assertFalse(storageManager.isRunLoaded(1));
+        assertEquals(1, storageManager.getRunSummary(1).getLosses());
+        assertFalse(storageManager.isRunLoaded(1));
+        assertEquals(RunArchiveTest.finishedRun(1), storageManager.getRun(1));
+
+        storageManager.flushSaveFile();
+        storageManager.useSaveFiles(store, journal);
+        assertEquals(RunArchiveTest.finishedRun(1), storageManager.getRun(1));
+        assertEquals(150, storageManager.getRun(2).getRoundScore());
+        store.setArchive(null);
+        archive.close();
+    }
+
+    /** A slot torn by a crash during compaction is restored from the whole run journaled first. */
+    @Test
+    void useSaveFiles_tornSlot_restoredFromJournal() throws IOException, JavatroException {
+        storageManager.updateRun(1, run -> run.setRoundScore(150));
+        storageManager.updateRun(2, run -> run.setRoundScore(300));
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+        // Compaction journals run 1 whole, then a crash tears its slot and that of run 2
+        RunRecord compacted = storageManager.getRun(1);
+        journal.appendRun(1, BinarySaveFormat.encodeRun(compacted, store.getIntegrityMode()));
+        journal.commit();
+        tearSlot(1);
+        tearSlot(2);
+
+        storageManager.useSaveFiles(store, journal);
+        assertEquals(compacted, storageManager.getRun(1));
+        assertTrue(storageManager.isRunCorrupted(2));
+        assertFalse(storageManager.isRunCorrupted(0));
+    }
+
+    /** A run whose slot is corrupted is reported and skipped while the other runs stay readable. */
+    @Test
+    void isRunCorrupted_corruptedSlot_otherRunsReadable() throws IOException {
+        tearSlot(1);
+
+        assertTrue(storageManager.isRunCorrupted(1));
+        assertThrows(IllegalStateException.class, () -> storageManager.getRunSummary(1));
+        assertFalse(storageManager.isRunCorrupted(0));
+        assertEquals(2, storageManager.getRunSummary(2).getRunNumber());
+    }
+
+    /** Lost and won runs are finished, while runs still being played are not. */
+    @Test
+    void isRunFinished_lostOrWonRuns() {
+        RunRecord lost = newRun(0);
+        lost.setLosses(1);
+        storageManager.saveRun(0, lost);
+        RunRecord won = newRun(1);
+        won.setAnteNumber(RunRecord.FINAL_ANTE + 1);
+        storageManager.saveRun(1, won);
+
+        assertTrue(storageManager.isRunFinished(0));
+        assertTrue(storageManager.isRunFinished(1));
+        assertFalse(storageManager.isRunFinished(2));
+    }
+
+    /** Runs of a legacy save file are migrated once, after which the file is never read again. */
+    @Test
+    void initaliseSaveFile_legacySave_migratedOnce() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("legacy"));
+        Path binarySave = directory.resolve("savefile.bin");
+        Files.write(
+                binarySave,
+                BinarySaveFormat.writeFile(
+                        List.of(
+                                BinarySaveFormat.encodeRun(newRun(0)),
+                                BinarySaveFormat.encodeRun(newRun(1)))));
+
+        storageManager.initaliseSaveFile(directory);
+        assertEquals(2, storageManager.getNumberOfRuns());
+        assertFalse(storageManager.isRunDirty(1));
+        assertEquals(1, storageManager.getRun(1).getRunNumber());
+        closeInitialisedSaveFiles();
+        assertFalse(Files.exists(binarySave));
+        assertTrue(Files.exists(directory.resolve("savefile.bin.migrated")));
+
+        Files.write(
+                binarySave,
+                BinarySaveFormat.writeFile(List.of(BinarySaveFormat.encodeRun(newRun(0)))));
+        storageManager.initaliseSaveFile(directory);
+        assertEquals(2, storageManager.getNumberOfRuns());
+        closeInitialisedSaveFiles();
+        assertTrue(Files.exists(binarySave));
+    }
+
+    /** A run store that cannot be opened is kept aside with its journal, not deleted. */
+    @Test
+    void initaliseSaveFile_corruptedRunStore_keptAside() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("corrupted"));
+        Files.write(directory.resolve("savefile.runs"), new byte[MappedRunStore.HEADER_SIZE]);
+        Files.write(directory.resolve("savefile.journal"), new byte[] {1, 2, 3});
+        Files.writeString(directory.resolve("savefile.csv"), csvLine(newRun(0)));
+
+        storageManager.initaliseSaveFile(directory);
+        assertEquals(0, storageManager.getNumberOfRuns());
+        closeInitialisedSaveFiles();
+        assertTrue(Files.exists(directory.resolve("savefile.runs.corrupt")));
+        assertTrue(Files.exists(directory.resolve("savefile.journal.corrupt")));
+        assertTrue(Files.exists(directory.resolve("savefile.csv")));
+    }
+
+    /** A corrupted legacy binary save is kept aside, and the older CSV save is not read instead. */
+    @Test
+    void initaliseSaveFile_corruptedBinarySave_keptWithoutReadingCsv() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("legacy"));
+        Files.write(directory.resolve("savefile.bin"), new byte[] {'J', 'V', 'T', 'B', 1});
+        Files.writeString(directory.resolve("savefile.csv"), csvLine(newRun(0)));
+
+        storageManager.initaliseSaveFile(directory);
+        assertEquals(0, storageManager.getNumberOfRuns());
+        closeInitialisedSaveFiles();
+        assertFalse(Files.exists(directory.resolve("savefile.bin")));
+        assertTrue(Files.exists(directory.resolve("savefile.bin.corrupt")));
+    }
+
+    /** Runs checked with a key that is lost fail to open and are left untouched. */
+    @Test
+    void initaliseSaveFile_hmacKeyMissing_fails() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("keyless"));
+        Path runStorePath = directory.resolve("savefile.runs");
+        IntegrityMode.setHmacKey(new byte[] {1, 2, 3, 4});
+        MappedRunStore hmacStore = MappedRunStore.open(runStorePath, IntegrityMode.HMAC_SHA256);
+        hmacStore.writeRecord(
+                0, BinarySaveFormat.encodeRun(newRun(0), IntegrityMode.HMAC_SHA256));
+        hmacStore.close();
+        byte[] runStoreBytes = Files.readAllBytes(runStorePath);
+
+        JavatroException error =
+                assertThrows(
+                        JavatroException.class, () -> storageManager.initaliseSaveFile(directory));
+        assertTrue(error.getMessage().contains("savefile.key"));
+        assertArrayEquals(runStoreBytes, Files.readAllBytes(runStorePath));
+        assertFalse(Files.exists(directory.resolve("savefile.key")));
+        assertFalse(Files.exists(directory.resolve("savefile.runs.corrupt")));
+    }
+
+    /** Updates from many threads are neither lost nor torn while saves and reads run alongside. */
+    @Test
+    void updateRun_concurrentUpdatesAreAtomic() throws Exception {
+        int runCount = 40;
+        int threads = 8;
+        int updatesPerThread = 2000;
+        for (int i = 3; i < runCount; i++) {
+            storageManager.saveRun(i, newRun(i));
+        }
+        storageManager.updateSaveFile();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean updating = new AtomicBoolean(true);
+        List<Future<?>> updaters = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            updaters.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                Random random = new Random();
+                                for (int i = 0; i < updatesPerThread; i++) {
+                                    storageManager.updateRun(
+                                            random.nextInt(runCount),
+                                            run -> {
+                                                // Both fields must always change together
+                                                run.setWins(run.getWins() + 1);
+                                                run.setLosses(run.getLosses() + 1);
+                                            });
+                                }
+                                return null;
+                            }));
+        }
+        Future<?> saver =
+                executor.submit(
+                        () -> {
+                            start.await();
+                            while (updating.get()) {
+                                storageManager.updateSaveFile();
+                            }
+                            return null;
+                        });
+        Future<?> reader =
+                executor.submit(
+                        () -> {
+                            start.await();
+                            Random random = new Random();
+                            while (updating.get()) {
+                                int runNumber = random.nextInt(runCount);
+                                RunSummary summary = storageManager.getRunSummary(runNumber);
+                                assertEquals(summary.getWins(), summary.getLosses());
+                                RunRecord run = storageManager.getRun(runNumber);
+                                assertEquals(run.getWins(), run.getLosses());
+                                RunSnapshot snapshot = storageManager.getSnapshot();
+                                assertEquals(runCount, snapshot.size());
+                            }
+                            return null;
+                        });
+
+        start.countDown();
+        for (Future<?> updater : updaters) {
+            updater.get(1, TimeUnit.MINUTES);
+        }
+        updating.set(false);
+        saver.get(1, TimeUnit.MINUTES);
+        reader.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        storageManager.updateSaveFile();
+        storageManager.flushSaveFile();
+        assertEquals(threads * updatesPerThread, totalWins());
+
+        // Every update reached the save files
+        storageManager.useSaveFiles(store, journal);
+        assertEquals(runCount, storageManager.getNumberOfRuns());
+        assertEquals(threads * updatesPerThread, totalWins());
+    }
+
+    private int totalWins() {
+        int wins = 0;
+        for (RunRecord run : storageManager.getAllRuns().values()) {
+            assertEquals(run.getWins(), run.getLosses());
+            wins += run.getWins();
+        }
+        return wins;
+    }
+
+    /** Closes the save files opened by {@link StorageManager#initaliseSaveFile(Path)}. */
+    private void closeInitialisedSaveFiles() throws IOException {
+        MappedRunStore initialisedStore = storageManager.getRunStore();
+        RunJournal initialisedJournal = storageManager.getRunJournal();
+        storageManager.useSaveFiles(store, journal);
+        initialisedStore.close();
+        initialisedJournal.close();
+    }
+
+    /** Flips a bit of the record in a slot, as a crash part way through writing it may. */
+    private void tearSlot(int slot) throws IOException {
+        byte[] record = store.readRecord(slot);
+        record[record.length - 1] ^= 0x01;
+        store.writeRecord(slot, record);
+    }
+
+    private static String csvLine(RunRecord run) {
+        List<String> fields = run.toFields();
+        return String.join(",", fields) + "," + HashUtil.generateHash(fields) + "\n";
+    }
+
+    static RunRecord newRun(int runNumber) {
+        RunRecord run = new RunRecord(runNumber);
+        run.setRoundNumber(1);
+        run.setHands(4);
+        run.setDiscards(3);
+        run.setAnteNumber(1);
+        run.setBlind(Ante.Blind.SMALL_BLIND);
+        run.setDeck(Deck.DeckType.RED);
+        for (PokerHand.HandType handType : PokerHand.HandType.values()) {
+            run.setPlanetLevel(handType, 1);
+        }
+        return run;
+    }
+}